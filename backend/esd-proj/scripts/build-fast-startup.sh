@@ -0,0 +1,43 @@
+#!/usr/bin/env sh
+# Builds the startup-optimized layout in target/fast-startup:
+#   1. the AOT-processed jar (mvn -Pfast-startup)
+#   2. the jar unpacked into application.jar + lib/, since AppCDS only archives classes from
+#      plain jars on the class path
+#   3. application.jsa, an AppCDS archive recorded by a training run that exits as soon as the
+#      application context has refreshed
+#
+# The training run starts the application for real (Flyway and Hibernate connect to the
+# database), so run it with the same environment as production, e.g. DB_PASSWORD,
+# GOOGLE_CLIENT_ID and GOOGLE_CLIENT_SECRET. Extra arguments are passed to the training run.
+#
+# Start the result with:
+#   cd target/fast-startup && java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+#       -jar application.jar --spring.profiles.active=prod,fast-startup
+# The archive is only used by the JDK and class path it was recorded with; rebuild it with
+# every release.
+set -e
+
+cd "$(dirname "$0")/.."
+./mvnw -B -Pfast-startup -DskipTests package
+
+OUT=target/fast-startup
+rm -rf "$OUT"
+mkdir -p "$OUT/exploded"
+unzip -q target/esd-proj-0.0.1-SNAPSHOT.jar -d "$OUT/exploded"
+mv "$OUT/exploded/BOOT-INF/lib" "$OUT/lib"
+
+cd "$OUT"
+# Manifest lines are limited to 72 bytes; longer values continue on lines starting with a space
+{
+    printf 'Class-Path:'
+    for dependency in lib/*.jar; do
+        printf ' %s' "$dependency"
+    done
+} | awk '{ print substr($0, 1, 70); for (i = 71; i <= length($0); i += 69) print " " substr($0, i, 69) }' > manifest.txt
+jar --create --file application.jar --manifest manifest.txt \
+    --main-class com.uttkarsh.esd_proj.EsdProjApplication -C exploded/BOOT-INF/classes .
+rm -rf exploded manifest.txt
+
+java -XX:ArchiveClassesAtExit=application.jsa -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+    -jar application.jar --spring.profiles.active=prod,fast-startup "$@"
+echo "Wrote $(pwd)/application.jsa"
@@ -0,0 +1,71 @@
+#!/usr/bin/env sh
+# Builds the GraalVM native executable (mvn -Pnative) and smoke-tests it against the JVM build
+# of the same commit. Both are started against an embedded H2 database, so no MySQL or Google
+# credentials are needed. Each is considered up once GET /oauth2/authorization/google answers
+# with the redirect to the provider, which needs the schema migrated, the session store and the
+# security filter chain in place. Prints the time to that point and the resident set size
+# afterwards.
+#
+# Needs a GraalVM JDK 17+ with native-image as JAVA_HOME. Pass --skip-build to reuse the
+# artifacts of a previous run.
+set -e
+
+cd "$(dirname "$0")/.."
+if [ "$1" != "--skip-build" ]; then
+    ./mvnw -B -Pnative -DskipTests package native:compile
+fi
+
+JAR=target/esd-proj-0.0.1-SNAPSHOT.jar
+NATIVE=target/esd-proj
+PORT=${PORT:-18080}
+LOGS=target/native-smoke
+mkdir -p "$LOGS"
+
+ARGS="--server.port=$PORT
+--spring.datasource.url=jdbc:h2:mem:smoke;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1
+--spring.datasource.driver-class-name=org.h2.Driver
+--spring.datasource.username=sa
+--spring.datasource.password=
+--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect
+--spring.jpa.show-sql=false
+--spring.security.oauth2.client.registration.google.client-id=smoke
+--spring.security.oauth2.client.registration.google.client-secret=smoke
+--app.avatar.cache-dir=$LOGS/avatars"
+
+now_ms() {
+    date +%s%3N
+}
+
+# smoke <name> <command...>
+smoke() {
+    name=$1
+    shift
+    start=$(now_ms)
+    # shellcheck disable=SC2086
+    "$@" $ARGS > "$LOGS/$name.log" 2>&1 &
+    pid=$!
+    while :; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$name exited during startup, see $LOGS/$name.log" >&2
+            exit 1
+        fi
+        status=$(curl -s -o /dev/null -w '%{http_code}' "http://127.0.0.1:$PORT/oauth2/authorization/google" || true)
+        if [ "$status" = "302" ]; then
+            break
+        elif [ "$status" != "000" ]; then
+            kill "$pid"
+            echo "$name answered $status instead of redirecting to the provider, see $LOGS/$name.log" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    printf '%-8s %10d %10d\n' "$name" "$elapsed" $(( rss / 1024 ))
+}
+
+printf '%-8s %10s %10s\n' build "ready (ms)" "RSS (MB)"
+smoke jvm java -jar "$JAR"
+smoke native "./$NATIVE"
@@ -12,8 +12,9 @@ FLUSH PRIVILEGES;
 -- Use the database
 USE esd_proj;
 
--- Tables will be created automatically by Hibernate, but we can verify the structure
--- The following tables will be created:
+-- Tables are created by the Flyway migrations in src/main/resources/db/migration
+-- when the application starts. The following tables will be created:
 -- 1. users (for OAuth2 authentication)
 -- 2. departments
 -- 3. employees
+-- 4. SPRING_SESSION, SPRING_SESSION_ATTRIBUTES (HTTP sessions)
@@ -0,0 +1,229 @@
+package com.uttkarsh.esd_proj.avatar;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Disk cache of avatar images keyed by their upstream URL, bounded by total size and
+ * evicting the least recently served image first. Files are named
+ * {@code <url hash>-<content hash>.<ext>} so the index, content type and ETag can be
+ * rebuilt from the directory listing after a restart. Files are written to a temporary
+ * name and moved into place, so a reader never sees a partial image.
+ */
+public class AvatarCache {
+    
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/png", "png",
+            "image/jpeg", "jpg",
+            "image/gif", "gif",
+            "image/webp", "webp");
+    
+    private final Path directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, CachedAvatar> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    
+    public AvatarCache(Path directory, long maxBytes, MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create avatar cache directory " + directory, ex);
+        }
+        loadExisting();
+        Gauge.builder("avatar.cache.size.bytes", this, AvatarCache::getTotalBytes)
+                .description("Bytes of avatar images held on disk")
+                .register(meterRegistry);
+        Gauge.builder("avatar.cache.entries", this, AvatarCache::getEntryCount)
+                .description("Avatar images held on disk")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Whether images of this content type can be cached and served
+     */
+    public static boolean isSupported(String contentType) {
+        return EXTENSIONS.containsKey(contentType);
+    }
+    
+    /**
+     * The cached image for a URL, marking it most recently used, or null
+     */
+    public synchronized CachedAvatar get(String url) {
+        CachedAvatar avatar = entries.get(urlKey(url));
+        if (avatar != null && !Files.exists(avatar.file())) {
+            remove(urlKey(url));
+            return null;
+        }
+        return avatar;
+    }
+    
+    /**
+     * Store an image for a URL, replacing any previous image and evicting old entries to fit
+     */
+    public CachedAvatar put(String url, String contentType, byte[] image) {
+        String extension = EXTENSIONS.get(contentType);
+        if (extension == null) {
+            throw new IllegalArgumentException("Unsupported avatar content type " + contentType);
+        }
+        String key = urlKey(url);
+        String contentHash = sha256(image).substring(0, 32);
+        Path file = directory.resolve(key + "-" + contentHash + "." + extension);
+        try {
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, image);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write cached avatar " + file, ex);
+        }
+        CachedAvatar avatar = new CachedAvatar(file, image.length, contentType, "\"" + contentHash + "\"");
+        synchronized (this) {
+            CachedAvatar previous = entries.put(key, avatar);
+            if (previous != null) {
+                totalBytes -= previous.size();
+                if (!previous.file().equals(file)) {
+                    delete(previous.file());
+                }
+            }
+            totalBytes += avatar.size();
+            evictToFit();
+        }
+        return avatar;
+    }
+    
+    /**
+     * Drop the cached image for a URL, e.g. when a user's picture has changed
+     */
+    public synchronized void evict(String url) {
+        remove(urlKey(url));
+    }
+    
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+    
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+    
+    private void evictToFit() {
+        Iterator<CachedAvatar> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            CachedAvatar avatar = eldest.next();
+            eldest.remove();
+            totalBytes -= avatar.size();
+            delete(avatar.file());
+        }
+    }
+    
+    private void remove(String key) {
+        CachedAvatar avatar = entries.remove(key);
+        if (avatar != null) {
+            totalBytes -= avatar.size();
+            delete(avatar.file());
+        }
+    }
+    
+    /**
+     * Index files left by a previous run, oldest first so they are the first evicted
+     */
+    private void loadExisting() {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (file.getFileName().toString().endsWith(".tmp")) {
+                    delete(file);
+                } else {
+                    files.add(file);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read avatar cache directory " + directory, ex);
+        }
+        files.sort(Comparator.comparing(AvatarCache::lastModified));
+        for (Path file : files) {
+            CachedAvatar avatar = fromFileName(file);
+            if (avatar == null) {
+                continue;
+            }
+            String key = file.getFileName().toString().substring(0, file.getFileName().toString().indexOf('-'));
+            CachedAvatar previous = entries.put(key, avatar);
+            if (previous != null) {
+                totalBytes -= previous.size();
+                delete(previous.file());
+            }
+            totalBytes += avatar.size();
+        }
+        evictToFit();
+    }
+    
+    private static CachedAvatar fromFileName(Path file) {
+        String name = file.getFileName().toString();
+        int dash = name.indexOf('-');
+        int dot = name.lastIndexOf('.');
+        if (dash < 0 || dot < dash) {
+            return null;
+        }
+        String extension = name.substring(dot + 1);
+        String contentType = EXTENSIONS.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(extension))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+        if (contentType == null) {
+            return null;
+        }
+        try {
+            return new CachedAvatar(file, Files.size(file), contentType, "\"" + name.substring(dash + 1, dot) + "\"");
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+    
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException ex) {
+            return FileTime.fromMillis(0);
+        }
+    }
+    
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            // Left behind; the next startup scan replaces or evicts it
+        }
+    }
+    
+    private static String urlKey(String url) {
+        return sha256(url.getBytes(StandardCharsets.UTF_8)).substring(0, 32);
+    }
+    
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.uttkarsh.esd_proj.avatar;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the avatar proxy and its disk cache, bound from app.avatar.*
+ */
+@ConfigurationProperties(prefix = "app.avatar")
+public class AvatarProperties {
+    
+    /**
+     * Directory holding cached images; created if missing and reused across restarts
+     */
+    private String cacheDir = System.getProperty("java.io.tmpdir") + "/esd-proj-avatars";
+    
+    /**
+     * Total size of cached images above which the least recently served are deleted
+     */
+    private DataSize maxCacheSize = DataSize.ofMegabytes(64);
+    
+    /**
+     * Largest upstream image accepted
+     */
+    private DataSize maxImageSize = DataSize.ofMegabytes(1);
+    
+    /**
+     * Time allowed to connect to the upstream image host
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    
+    /**
+     * Time allowed for the whole upstream image request
+     */
+    private Duration requestTimeout = Duration.ofSeconds(5);
+    
+    /**
+     * Cache-Control max-age sent with served images
+     */
+    private Duration maxAge = Duration.ofDays(7);
+    
+    // Getters and Setters
+    public String getCacheDir() {
+        return cacheDir;
+    }
+    
+    public void setCacheDir(String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+    
+    public DataSize getMaxCacheSize() {
+        return maxCacheSize;
+    }
+    
+    public void setMaxCacheSize(DataSize maxCacheSize) {
+        this.maxCacheSize = maxCacheSize;
+    }
+    
+    public DataSize getMaxImageSize() {
+        return maxImageSize;
+    }
+    
+    public void setMaxImageSize(DataSize maxImageSize) {
+        this.maxImageSize = maxImageSize;
+    }
+    
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+    
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+    
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+    
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+    
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+    
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+}
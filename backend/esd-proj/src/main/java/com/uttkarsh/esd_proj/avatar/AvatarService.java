@@ -0,0 +1,112 @@
+package com.uttkarsh.esd_proj.avatar;
+
+import com.uttkarsh.esd_proj.cache.Coalesce;
+import com.uttkarsh.esd_proj.entity.User;
+import com.uttkarsh.esd_proj.exception.AvatarUnavailableException;
+import com.uttkarsh.esd_proj.exception.ResourceNotFoundException;
+import com.uttkarsh.esd_proj.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Locale;
+
+/**
+ * Serves users' pictures from the {@link AvatarCache}, fetching each upstream image
+ * once. Concurrent requests for the same user share one fetch through {@link Coalesce}.
+ */
+@Service
+public class AvatarService {
+    
+    private final UserRepository userRepository;
+    private final AvatarCache avatarCache;
+    private final AvatarProperties properties;
+    private final HttpClient httpClient;
+    private final Counter hits;
+    private final Counter misses;
+    
+    public AvatarService(UserRepository userRepository, AvatarCache avatarCache,
+                         AvatarProperties properties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.avatarCache = avatarCache;
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+    }
+    
+    /**
+     * The cached picture of a user, fetched from the user's picture URL on a miss
+     */
+    @Coalesce
+    public CachedAvatar getAvatar(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        String pictureUrl = user.getPictureUrl();
+        if (pictureUrl == null || pictureUrl.isBlank()) {
+            throw new ResourceNotFoundException("User " + userId + " has no picture");
+        }
+        
+        CachedAvatar cached = avatarCache.get(pictureUrl);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        return fetch(pictureUrl);
+    }
+    
+    private CachedAvatar fetch(String pictureUrl) {
+        URI uri = URI.create(pictureUrl);
+        if (!"https".equalsIgnoreCase(uri.getScheme()) && !"http".equalsIgnoreCase(uri.getScheme())) {
+            throw new AvatarUnavailableException("Unsupported picture URL scheme: " + uri.getScheme());
+        }
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(properties.getRequestTimeout())
+                .header("Accept", "image/*")
+                .GET()
+                .build();
+        
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new AvatarUnavailableException("Picture host returned " + response.statusCode());
+                }
+                String contentType = response.headers().firstValue("Content-Type")
+                        .map(value -> value.split(";", 2)[0].trim().toLowerCase(Locale.ROOT))
+                        .orElse("");
+                if (!AvatarCache.isSupported(contentType)) {
+                    throw new AvatarUnavailableException("Picture host returned unsupported content type '" + contentType + "'");
+                }
+                int maxBytes = (int) properties.getMaxImageSize().toBytes();
+                byte[] image = body.readNBytes(maxBytes + 1);
+                if (image.length > maxBytes) {
+                    throw new AvatarUnavailableException("Picture is larger than " + properties.getMaxImageSize());
+                }
+                return avatarCache.put(pictureUrl, contentType, image);
+            }
+        } catch (IOException ex) {
+            throw new AvatarUnavailableException("Picture could not be fetched", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AvatarUnavailableException("Interrupted while fetching picture", ex);
+        }
+    }
+    
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("avatar.requests")
+                .description("Avatar requests served from the disk cache (hit) or fetched upstream (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,9 @@
+package com.uttkarsh.esd_proj.avatar;
+
+import java.nio.file.Path;
+
+/**
+ * An image held in the {@link AvatarCache}; the ETag is derived from the image bytes
+ */
+public record CachedAvatar(Path file, long size, String contentType, String etag) {
+}
@@ -0,0 +1,131 @@
+package com.uttkarsh.esd_proj.bloom;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings, safe for concurrent puts and lookups.
+ * Bits live in an AtomicLongArray; the k bit positions come from two 64-bit hashes
+ * combined as h1 + i * h2 (Kirsch-Mitzenmacher), so each operation hashes the value once.
+ * mightContain never returns false for a value that was put; it may return true
+ * for a value that was not (a false positive).
+ */
+public class BloomFilter {
+    
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+    
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("falsePositiveProbability must be between 0 and 1");
+        }
+        long bits = optimalBitSize(expectedInsertions, falsePositiveProbability);
+        int wordCount = Math.toIntExact((bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitSize = (long) wordCount * 64;
+        this.hashCount = optimalHashCount(expectedInsertions, bitSize);
+    }
+    
+    /**
+     * Bits needed for n insertions at false positive probability p: -n ln p / (ln 2)^2
+     */
+    static long optimalBitSize(long n, double p) {
+        return Math.max(64, (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2))));
+    }
+    
+    /**
+     * Hash functions minimising false positives for n insertions in m bits: (m / n) ln 2
+     */
+    static int optimalHashCount(long n, long m) {
+        return Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+    }
+    
+    /**
+     * Add a value; returns true if any bit changed, i.e. the value was definitely new
+     */
+    public boolean put(String value) {
+        long h1 = hash(value);
+        long h2 = fmix64(h1 + 0x9E3779B97F4A7C15L) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0) {
+                long witness = words.compareAndExchange(word, current, current | mask);
+                if (witness == current) {
+                    changed = true;
+                    break;
+                }
+                current = witness;
+            }
+        }
+        return changed;
+    }
+    
+    /**
+     * False means the value was never put; true means it probably was
+     */
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = fmix64(h1 + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public long getBitSize() {
+        return bitSize;
+    }
+    
+    public int getHashCount() {
+        return hashCount;
+    }
+    
+    /**
+     * Number of bits currently set; scans the whole array
+     */
+    public long getBitCount() {
+        long count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+    
+    /**
+     * False positive probability at the current fill: (bits set / bit size) ^ k
+     */
+    public double getExpectedFalsePositiveProbability() {
+        return Math.pow((double) getBitCount() / bitSize, hashCount);
+    }
+    
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finished with the MurmurHash3 fmix64 mixer
+     */
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return fmix64(h);
+    }
+    
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,140 @@
+package com.uttkarsh.esd_proj.bloom;
+
+import com.uttkarsh.esd_proj.datasource.Workload;
+import com.uttkarsh.esd_proj.datasource.WorkloadType;
+import com.uttkarsh.esd_proj.repository.EmployeeEmail;
+import com.uttkarsh.esd_proj.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+/**
+ * In-memory pre-check for employee email uniqueness.
+ * Emails the filter has never seen skip the existence query; anything it may have seen
+ * is confirmed against the database. The unique constraint on employees.email stays the
+ * source of truth: emails written by another instance, or in the short window while the
+ * filter is loading, can slip past and are rejected at commit instead.
+ * Until {@link #load()} completes every check goes to the database.
+ * Deleted or renamed emails stay in the filter and only cost an extra query.
+ */
+public class EmailBloomFilter {
+    
+    private static final Logger log = LoggerFactory.getLogger(EmailBloomFilter.class);
+    
+    private final EmployeeRepository employeeRepository;
+    private final EmailBloomFilterProperties properties;
+    
+    private volatile BloomFilter filter;
+    private volatile boolean loaded;
+    
+    private final Counter skipped;
+    private final Counter confirmed;
+    private final Counter falsePositives;
+    
+    public EmailBloomFilter(EmployeeRepository employeeRepository,
+                            EmailBloomFilterProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.properties = properties;
+        this.skipped = checkCounter(meterRegistry, "skipped");
+        this.confirmed = checkCounter(meterRegistry, "confirmed");
+        this.falsePositives = checkCounter(meterRegistry, "false_positive");
+        Gauge.builder("email.filter.false.positive.rate", this, EmailBloomFilter::observedFalsePositiveRate)
+                .description("Share of new emails the filter could not rule out: false_positive / (false_positive + skipped)")
+                .register(meterRegistry);
+        Gauge.builder("email.filter.expected.false.positive.probability", this,
+                        bloom -> bloom.filter != null ? bloom.filter.getExpectedFalsePositiveProbability() : Double.NaN)
+                .description("False positive probability predicted from the filter's current fill")
+                .register(meterRegistry);
+        Gauge.builder("email.filter.size.bits", this,
+                        bloom -> bloom.filter != null ? bloom.filter.getBitSize() : 0)
+                .description("Size of the filter in bits")
+                .register(meterRegistry);
+    }
+    
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("email.filter.checks")
+                .description("Email uniqueness checks by outcome: skipped the query, query confirmed a duplicate, or false positive")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Build the filter from every email in the database, reading in keyset-paged batches
+     */
+    @Workload(WorkloadType.SCAN)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long expected = Math.max(properties.getExpectedInsertions(), 2 * employeeRepository.count());
+        BloomFilter building = new BloomFilter(expected, properties.getFalsePositiveProbability());
+        // Publish before scanning so emails written during the load are added too
+        filter = building;
+        
+        long loadedEmails = 0;
+        Long afterId = 0L;
+        List<EmployeeEmail> batch;
+        do {
+            batch = employeeRepository.findEmailsAfter(afterId, Limit.of(properties.getLoadBatchSize()));
+            for (EmployeeEmail row : batch) {
+                building.put(normalize(row.getEmail()));
+                afterId = row.getId();
+            }
+            loadedEmails += batch.size();
+        } while (batch.size() == properties.getLoadBatchSize());
+        
+        loaded = true;
+        log.info("Loaded {} employee emails into a {}-bit filter with {} hashes in {} ms",
+                loadedEmails, building.getBitSize(), building.getHashCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Whether the email is taken; the query runs only when the filter cannot rule the email out
+     */
+    public boolean exists(String email, BooleanSupplier query) {
+        if (loaded && !filter.mightContain(normalize(email))) {
+            skipped.increment();
+            return false;
+        }
+        boolean exists = query.getAsBoolean();
+        if (loaded) {
+            (exists ? confirmed : falsePositives).increment();
+        }
+        return exists;
+    }
+    
+    /**
+     * Record an email that has been written
+     */
+    public void add(String email) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(normalize(email));
+        }
+    }
+    
+    public boolean isLoaded() {
+        return loaded;
+    }
+    
+    private double observedFalsePositiveRate() {
+        double negatives = falsePositives.count() + skipped.count();
+        return negatives == 0 ? 0 : falsePositives.count() / negatives;
+    }
+    
+    /**
+     * Emails compare case-insensitively in MySQL's default collation, so the filter does too
+     */
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
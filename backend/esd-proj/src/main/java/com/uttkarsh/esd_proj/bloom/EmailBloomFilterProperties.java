@@ -0,0 +1,63 @@
+package com.uttkarsh.esd_proj.bloom;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the {@link EmailBloomFilter}, bound from app.email-filter.*
+ */
+@ConfigurationProperties(prefix = "app.email-filter")
+public class EmailBloomFilterProperties {
+    
+    /**
+     * When false every uniqueness check goes to the database
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Emails the filter is sized for; it is sized for twice the current count if that is larger
+     */
+    private long expectedInsertions = 1_000_000;
+    
+    /**
+     * Target false positive probability at expectedInsertions
+     */
+    private double falsePositiveProbability = 0.01;
+    
+    /**
+     * Rows read per query while loading existing emails at startup
+     */
+    private int loadBatchSize = 10_000;
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+    
+    public void setExpectedInsertions(long expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+    }
+    
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+    
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+    
+    public int getLoadBatchSize() {
+        return loadBatchSize;
+    }
+    
+    public void setLoadBatchSize(int loadBatchSize) {
+        this.loadBatchSize = loadBatchSize;
+    }
+}
@@ -0,0 +1,42 @@
+package com.uttkarsh.esd_proj.cache;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Routes {@link Coalesce} methods through the single-flight group. Runs outermost so
+ * callers that join an in-flight call take no bulkhead permit, connection or transaction.
+ */
+@Aspect
+public class CoalescingAspect implements Ordered {
+    
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+    
+    private final SingleFlightGroup singleFlightGroup;
+    
+    public CoalescingAspect(SingleFlightGroup singleFlightGroup) {
+        this.singleFlightGroup = singleFlightGroup;
+    }
+    
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+    
+    @Around("@annotation(com.uttkarsh.esd_proj.cache.Coalesce)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        CallKey key = new CallKey(method, Arrays.asList(joinPoint.getArgs()));
+        return singleFlightGroup.execute(key, joinPoint::proceed);
+    }
+    
+    private record CallKey(Method method, List<Object> args) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.uttkarsh.esd_proj.cache;
+
+import com.uttkarsh.esd_proj.event.DepartmentChangedEvent;
+import com.uttkarsh.esd_proj.event.EmployeeChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Fully encoded response bodies of the employee and department list endpoints, plain and
+ * gzipped, tagged with the data version they were rendered at.
+ * Every committed employee or department change bumps the version, which makes all
+ * entries stale at once: the lists embed headcounts and department names, so a change to
+ * either entity can alter any of them. A body is tagged with the version read before its
+ * queries ran, so a change committing meanwhile can only make it stale, never hide.
+ * The version only sees changes committed on this node; entries also expire after a
+ * max-age, which bounds how long changes made on other nodes stay hidden.
+ */
+public class ResponseBodyCache {
+    
+    /**
+     * @param gzipBody the body gzipped, or null when that would not be smaller
+     */
+    public record Entry(long version, String contentType, byte[] body, byte[] gzipBody) {
+    }
+    
+    /**
+     * @param expiresAt System.nanoTime() after which the entry is stale, or Long.MAX_VALUE
+     */
+    private record Cached(Entry entry, long expiresAt) {
+        
+        boolean isCurrent(long version, long now) {
+            return entry.version() == version && now - expiresAt < 0;
+        }
+    }
+    
+    private final ConcurrentHashMap<String, Cached> entries = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final ResponseBodyCacheProperties properties;
+    
+    public ResponseBodyCache(ResponseBodyCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        Gauge.builder("response.cache.entries", entries, ConcurrentHashMap::size)
+                .description("Response bodies held by the response cache, including stale ones")
+                .register(meterRegistry);
+    }
+    
+    public long currentVersion() {
+        return version.get();
+    }
+    
+    /**
+     * The body cached under {@code key} if it is still current
+     */
+    public Entry get(String key) {
+        Cached cached = entries.get(key);
+        return cached != null && cached.isCurrent(version.get(), System.nanoTime()) ? cached.entry() : null;
+    }
+    
+    /**
+     * Cache a body rendered from the data at {@code renderedAtVersion}, unless that is
+     * already stale or the cache is full
+     */
+    public Entry put(String key, long renderedAtVersion, String contentType, byte[] body) {
+        byte[] gzipBody = body.length >= properties.getMinCompressSize().toBytes() ? gzip(body) : null;
+        Entry entry = new Entry(renderedAtVersion, contentType, body,
+                gzipBody != null && gzipBody.length < body.length ? gzipBody : null);
+        put(key, entry);
+        return entry;
+    }
+    
+    /**
+     * Cache an already encoded entry for the max-age, unless its version is stale or the
+     * cache is full
+     * @return whether the entry was cached
+     */
+    public boolean put(String key, Entry entry) {
+        if (entry.version() != version.get()) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (entries.size() >= properties.getMaxEntries() && !entries.containsKey(key)) {
+            long current = version.get();
+            entries.values().removeIf(existing -> !existing.isCurrent(current, now));
+            if (entries.size() >= properties.getMaxEntries()) {
+                return false;
+            }
+        }
+        long maxAge = properties.getMaxAge().toNanos();
+        entries.put(key, new Cached(entry, maxAge > 0 ? now + maxAge : Long.MAX_VALUE));
+        return true;
+    }
+    
+    /**
+     * The unexpired entries rendered at {@code version}, by key
+     */
+    public Map<String, Entry> entriesAt(long version) {
+        long now = System.nanoTime();
+        Map<String, Entry> current = new HashMap<>();
+        entries.forEach((key, cached) -> {
+            if (cached.isCurrent(version, now)) {
+                current.put(key, cached.entry());
+            }
+        });
+        return current;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        version.incrementAndGet();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        version.incrementAndGet();
+    }
+    
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,111 @@
+package com.uttkarsh.esd_proj.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Answers GET /api/employees, /api/departments and /api/departments/{id}/employees from the
+ * {@link ResponseBodyCache} while the data is unchanged: a hit writes the stored bytes
+ * (gzipped when the client accepts it) without reaching the controller or the database.
+ * A miss runs the request and stores a 200 response body. Entries are keyed by path and
+ * Accept header, so JSON and protobuf bodies are cached separately. Runs after the
+ * security filter chain, so only authenticated requests are answered.
+ */
+public class ResponseBodyCacheFilter extends OncePerRequestFilter {
+    
+    private static final Pattern CACHEABLE_PATHS =
+            Pattern.compile("/api/employees|/api/departments|/api/departments/\\d+/employees");
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+    
+    private final ResponseBodyCache cache;
+    private final ResponseBodyCacheProperties properties;
+    private final Counter hits;
+    private final Counter misses;
+    
+    public ResponseBodyCacheFilter(ResponseBodyCache cache, ResponseBodyCacheProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.properties = properties;
+        this.hits = meterRegistry.counter("response.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("response.cache.requests", "result", "miss");
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"GET".equals(request.getMethod())
+                || !request.getParameterMap().isEmpty()
+                || !CACHEABLE_PATHS.matcher(request.getRequestURI()).matches();
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        String key = accept != null ? request.getRequestURI() + "\n" + accept : request.getRequestURI();
+        boolean acceptsGzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.addHeader(HttpHeaders.VARY, VARY);
+        
+        ResponseBodyCache.Entry cached = cache.get(key);
+        if (cached != null) {
+            hits.increment();
+            write(cached, acceptsGzip, response);
+            return;
+        }
+        
+        misses.increment();
+        long version = cache.currentVersion();
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, cachingResponse);
+        if (cachingResponse.getStatus() == HttpServletResponse.SC_OK
+                && cachingResponse.getContentType() != null
+                && !cachingResponse.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            ResponseBodyCache.Entry entry = cache.put(key, version, cachingResponse.getContentType(),
+                    cachingResponse.getContentAsByteArray());
+            write(entry, acceptsGzip, response);
+        } else {
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+    
+    private static void write(ResponseBodyCache.Entry entry, boolean acceptsGzip,
+                              HttpServletResponse response) throws IOException {
+        byte[] body = entry.body();
+        if (acceptsGzip && entry.gzipBody() != null) {
+            body = entry.gzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(entry.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+    
+    /**
+     * Whether an Accept-Encoding header lists gzip (or *) without q=0
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                boolean refused = parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+                return !refused;
+            }
+        }
+        return false;
+    }
+}
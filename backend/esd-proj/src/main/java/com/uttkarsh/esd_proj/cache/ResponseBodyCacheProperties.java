@@ -0,0 +1,66 @@
+package com.uttkarsh.esd_proj.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the {@link ResponseBodyCache}, bound from app.response-cache.*
+ */
+@ConfigurationProperties(prefix = "app.response-cache")
+public class ResponseBodyCacheProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Cached bodies at most, one per path and Accept header; further bodies are not cached
+     * until stale entries are dropped
+     */
+    private int maxEntries = 256;
+    
+    /**
+     * How long a body is served at most. Changes are only seen when committed on this node,
+     * so with several nodes this bounds how long another node's writes stay hidden; zero
+     * keeps bodies until the next local change, which is only correct on a single node.
+     */
+    private Duration maxAge = Duration.ofSeconds(5);
+    
+    /**
+     * Bodies smaller than this are not stored gzipped as well
+     */
+    private DataSize minCompressSize = DataSize.ofKilobytes(1);
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+    
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+    
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+    
+    public DataSize getMinCompressSize() {
+        return minCompressSize;
+    }
+    
+    public void setMinCompressSize(DataSize minCompressSize) {
+        this.minCompressSize = minCompressSize;
+    }
+}
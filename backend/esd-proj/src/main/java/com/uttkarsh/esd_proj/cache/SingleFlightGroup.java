@@ -0,0 +1,150 @@
+package com.uttkarsh.esd_proj.cache;
+
+import com.uttkarsh.esd_proj.event.DepartmentChangedEvent;
+import com.uttkarsh.esd_proj.event.EmployeeChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Collapses concurrent calls with the same key into a single execution whose result
+ * (or exception) is handed to every caller that arrived while it was running.
+ * Optionally keeps a successful result for a short TTL so calls arriving just after
+ * completion are served without executing again. Committed employee and department
+ * changes drop those results.
+ * At most maxInFlight keys are tracked; beyond that calls run uncoalesced.
+ */
+public class SingleFlightGroup {
+    
+    @FunctionalInterface
+    public interface Call {
+        Object execute() throws Throwable;
+    }
+    
+    private final ConcurrentHashMap<Object, Flight> flights = new ConcurrentHashMap<>();
+    private final int maxInFlight;
+    private final long resultTtlNanos;
+    
+    private final Counter leaders;
+    private final Counter joined;
+    private final Counter cached;
+    private final Counter bypassed;
+    
+    public SingleFlightGroup(int maxInFlight, Duration resultTtl, MeterRegistry meterRegistry) {
+        this.maxInFlight = maxInFlight;
+        this.resultTtlNanos = resultTtl.toNanos();
+        this.leaders = callCounter(meterRegistry, "leader");
+        this.joined = callCounter(meterRegistry, "joined");
+        this.cached = callCounter(meterRegistry, "cached");
+        this.bypassed = callCounter(meterRegistry, "bypassed");
+        Gauge.builder("singleflight.keys", flights, ConcurrentHashMap::size)
+                .description("Keys currently in flight or holding a cached result")
+                .register(meterRegistry);
+    }
+    
+    private static Counter callCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("singleflight.calls")
+                .description("Coalesced read calls by outcome; (joined + cached) / total is the coalescing ratio")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    public Object execute(Object key, Call call) throws Throwable {
+        while (true) {
+            Flight existing = flights.get(key);
+            if (existing != null) {
+                if (!existing.future.isDone()) {
+                    joined.increment();
+                    return await(existing.future);
+                }
+                if (existing.isFresh(System.nanoTime(), resultTtlNanos)) {
+                    cached.increment();
+                    return await(existing.future);
+                }
+                flights.remove(key, existing);
+                continue;
+            }
+            
+            if (flights.size() >= maxInFlight) {
+                evictExpired();
+                if (flights.size() >= maxInFlight) {
+                    bypassed.increment();
+                    return call.execute();
+                }
+            }
+            
+            Flight flight = new Flight();
+            if (flights.putIfAbsent(key, flight) != null) {
+                continue;
+            }
+            
+            leaders.increment();
+            return lead(key, flight, call);
+        }
+    }
+    
+    private Object lead(Object key, Flight flight, Call call) throws Throwable {
+        try {
+            Object result = call.execute();
+            flight.completedAt = System.nanoTime();
+            flight.future.complete(result);
+            if (resultTtlNanos <= 0) {
+                flights.remove(key, flight);
+            }
+            return result;
+        } catch (Throwable ex) {
+            flights.remove(key, flight);
+            flight.future.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+    
+    /**
+     * Drop all cached results, e.g. after a write that affects them. Calls still running may
+     * have read the data from before the write, so they are dropped as well: callers already
+     * waiting get their result, later callers run the call again.
+     */
+    public void invalidateAll() {
+        flights.clear();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        invalidateAll();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        invalidateAll();
+    }
+    
+    private void evictExpired() {
+        long now = System.nanoTime();
+        flights.values().removeIf(flight -> flight.future.isDone() && !flight.isFresh(now, resultTtlNanos));
+    }
+    
+    private static Object await(CompletableFuture<Object> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (ExecutionException | CompletionException ex) {
+            throw ex.getCause();
+        }
+    }
+    
+    private static final class Flight {
+        
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile long completedAt;
+        
+        boolean isFresh(long now, long ttlNanos) {
+            return ttlNanos > 0 && !future.isCompletedExceptionally() && now - completedAt < ttlNanos;
+        }
+    }
+}
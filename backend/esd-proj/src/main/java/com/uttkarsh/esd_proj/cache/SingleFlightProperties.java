@@ -0,0 +1,40 @@
+package com.uttkarsh.esd_proj.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link Coalesce} read coalescing, bound from app.single-flight.*
+ */
+@ConfigurationProperties(prefix = "app.single-flight")
+public class SingleFlightProperties {
+    
+    /**
+     * Maximum number of distinct keys tracked at once
+     */
+    private int maxInFlight = 1_000;
+    
+    /**
+     * How long a completed result is reused; zero only shares results between
+     * calls that overlap in time
+     */
+    private Duration resultTtl = Duration.ZERO;
+    
+    // Getters and Setters
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+    
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+    
+    public Duration getResultTtl() {
+        return resultTtl;
+    }
+    
+    public void setResultTtl(Duration resultTtl) {
+        this.resultTtl = resultTtl;
+    }
+}
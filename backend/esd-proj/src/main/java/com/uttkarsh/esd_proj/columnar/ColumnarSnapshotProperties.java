@@ -0,0 +1,76 @@
+package com.uttkarsh.esd_proj.columnar;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the {@link EmployeeSnapshot}, bound from app.columnar-snapshot.*
+ */
+@ConfigurationProperties(prefix = "app.columnar-snapshot")
+public class ColumnarSnapshotProperties {
+    
+    /**
+     * When false nothing is loaded and the analytics endpoints answer 503
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Rows read per query while loading at startup
+     */
+    private int loadBatchSize = 10_000;
+    
+    /**
+     * Column capacity (in rows) from which columns are allocated off-heap
+     */
+    private int offHeapThreshold = 256 * 1024;
+    
+    /**
+     * Snapshots with fewer rows are scanned on the calling thread
+     */
+    private int parallelThreshold = 100_000;
+    
+    /**
+     * Threads scanning a snapshot in parallel
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getLoadBatchSize() {
+        return loadBatchSize;
+    }
+    
+    public void setLoadBatchSize(int loadBatchSize) {
+        this.loadBatchSize = loadBatchSize;
+    }
+    
+    public int getOffHeapThreshold() {
+        return offHeapThreshold;
+    }
+    
+    public void setOffHeapThreshold(int offHeapThreshold) {
+        this.offHeapThreshold = offHeapThreshold;
+    }
+    
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+    
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+    
+    public int getParallelism() {
+        return parallelism;
+    }
+    
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+}
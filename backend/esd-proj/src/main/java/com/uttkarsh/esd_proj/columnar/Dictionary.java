@@ -0,0 +1,43 @@
+package com.uttkarsh.esd_proj.columnar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense int codes for the distinct values of a column, in order of first appearance.
+ * Codes are never reused, so a value keeps its code while any row refers to it.
+ */
+final class Dictionary<T> {
+    
+    static final int ABSENT = -1;
+    
+    private final Map<T, Integer> codes = new HashMap<>();
+    private final List<T> values = new ArrayList<>();
+    
+    int encode(T value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+    
+    /**
+     * The code of a value, or {@link #ABSENT} if no row has ever held it
+     */
+    int codeOf(T value) {
+        return codes.getOrDefault(value, ABSENT);
+    }
+    
+    T value(int code) {
+        return values.get(code);
+    }
+    
+    int size() {
+        return values.size();
+    }
+}
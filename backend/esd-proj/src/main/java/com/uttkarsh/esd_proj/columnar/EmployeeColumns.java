@@ -0,0 +1,95 @@
+package com.uttkarsh.esd_proj.columnar;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * One row per employee ever seen, split into columns: dictionary-encoded department and
+ * position, salary in cents and hire date in epoch days. Rows of deleted employees are
+ * kept with {@link #REMOVED} as their department code. Not thread-safe; guarded by
+ * {@link EmployeeSnapshot}.
+ */
+final class EmployeeColumns {
+    
+    static final int REMOVED = -1;
+    static final long NO_SALARY = Long.MIN_VALUE;
+    
+    final Dictionary<Long> departments = new Dictionary<>();
+    final Dictionary<String> positions = new Dictionary<>();
+    final IntColumn departmentCodes;
+    final IntColumn positionCodes;
+    final LongColumn salaryCents;
+    final IntColumn hireDays;
+    
+    private final LongIntMap rowsById;
+    private int rows;
+    private int liveRows;
+    private int minHireDay = Integer.MAX_VALUE;
+    private int maxHireDay = Integer.MIN_VALUE;
+    
+    EmployeeColumns(int capacity, int offHeapThreshold) {
+        departmentCodes = new IntColumn(capacity, offHeapThreshold);
+        positionCodes = new IntColumn(capacity, offHeapThreshold);
+        salaryCents = new LongColumn(capacity, offHeapThreshold);
+        hireDays = new IntColumn(capacity, offHeapThreshold);
+        rowsById = new LongIntMap(capacity);
+    }
+    
+    void upsert(long id, long departmentId, String position, BigDecimal salary, LocalDate hireDate) {
+        int row = rowsById.get(id);
+        if (row == LongIntMap.MISSING) {
+            row = rows++;
+            rowsById.put(id, row);
+            liveRows++;
+        } else if (departmentCodes.get(row) == REMOVED) {
+            liveRows++;
+        }
+        int hireDay = Math.toIntExact(hireDate.toEpochDay());
+        departmentCodes.set(row, departments.encode(departmentId));
+        positionCodes.set(row, positions.encode(position));
+        salaryCents.set(row, salary != null ? salary.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : NO_SALARY);
+        hireDays.set(row, hireDay);
+        minHireDay = Math.min(minHireDay, hireDay);
+        maxHireDay = Math.max(maxHireDay, hireDay);
+    }
+    
+    void remove(long id) {
+        int row = rowsById.get(id);
+        if (row != LongIntMap.MISSING && departmentCodes.get(row) != REMOVED) {
+            departmentCodes.set(row, REMOVED);
+            liveRows--;
+        }
+    }
+    
+    /**
+     * Rows to scan, including removed ones
+     */
+    int rows() {
+        return rows;
+    }
+    
+    int liveRows() {
+        return liveRows;
+    }
+    
+    /**
+     * Lower bound of the hire dates held, in epoch days (dates of removed rows included)
+     */
+    int minHireDay() {
+        return minHireDay;
+    }
+    
+    int maxHireDay() {
+        return maxHireDay;
+    }
+    
+    long sizeInBytes() {
+        return departmentCodes.sizeInBytes() + positionCodes.sizeInBytes() + salaryCents.sizeInBytes()
+                + hireDays.sizeInBytes() + rowsById.sizeInBytes();
+    }
+    
+    boolean isOffHeap() {
+        return departmentCodes.isOffHeap();
+    }
+}
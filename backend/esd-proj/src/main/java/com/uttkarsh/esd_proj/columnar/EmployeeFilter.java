@@ -0,0 +1,18 @@
+package com.uttkarsh.esd_proj.columnar;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Conditions a row must meet to be counted by an {@link EmployeeSnapshot} query; null
+ * conditions match everything, the hire date bounds are inclusive
+ */
+public record EmployeeFilter(
+        Long departmentId,
+        String position,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredTo) {
+    
+    public static final EmployeeFilter ALL = new EmployeeFilter(null, null, null, null);
+}
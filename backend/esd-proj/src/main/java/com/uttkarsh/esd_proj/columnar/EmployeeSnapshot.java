@@ -0,0 +1,431 @@
+package com.uttkarsh.esd_proj.columnar;
+
+import com.uttkarsh.esd_proj.datasource.Workload;
+import com.uttkarsh.esd_proj.datasource.WorkloadType;
+import com.uttkarsh.esd_proj.dto.DepartmentSalaryStats;
+import com.uttkarsh.esd_proj.event.EmployeeChangedEvent;
+import com.uttkarsh.esd_proj.exception.SnapshotUnavailableException;
+import com.uttkarsh.esd_proj.repository.EmployeeAttributes;
+import com.uttkarsh.esd_proj.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * In-process columnar copy of the employee attributes analytics group and filter by
+ * (department, position, salary, hire date), so aggregates are scans over primitive
+ * columns instead of queries hydrating entities. Large snapshots are scanned in parallel
+ * chunks whose partial aggregates are merged.
+ * Loaded once at startup by {@link #load()}; afterwards committed employee changes queue
+ * the employee for a single background refresher, which re-reads the queued rows in
+ * batches, off the committing request's thread. Changes committed while the load runs are
+ * re-read once it finishes. Queries fail with {@link SnapshotUnavailableException} until then.
+ */
+public class EmployeeSnapshot implements AutoCloseable {
+    
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSnapshot.class);
+    
+    private final EmployeeRepository employeeRepository;
+    private final ColumnarSnapshotProperties properties;
+    private final ForkJoinPool scanPool;
+    
+    // Column reads and writes
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Orders the upserts of a load and of the refresher, so older rows never overwrite newer ones
+    private final Object refreshLock = new Object();
+    // Employees changed since they were last read
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final ExecutorService refresher;
+    
+    private EmployeeColumns columns;
+    private volatile boolean loaded;
+    
+    public EmployeeSnapshot(EmployeeRepository employeeRepository, ColumnarSnapshotProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.properties = properties;
+        this.scanPool = new ForkJoinPool(properties.getParallelism());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("columnar-refresh-");
+        threadFactory.setDaemon(true);
+        this.refresher = Executors.newSingleThreadExecutor(threadFactory);
+        Gauge.builder("columnar.snapshot.rows", this, snapshot -> snapshot.read(EmployeeColumns::liveRows, 0))
+                .description("Employees held by the columnar snapshot")
+                .register(meterRegistry);
+        Gauge.builder("columnar.snapshot.size.bytes", this, snapshot -> snapshot.read(EmployeeColumns::sizeInBytes, 0L))
+                .description("Memory taken by the columns and the ID index, on- and off-heap")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Read every employee into a new set of columns, in keyset-paged batches
+     */
+    @Workload(WorkloadType.SCAN)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int batchSize = properties.getLoadBatchSize();
+        EmployeeColumns building = new EmployeeColumns(batchSize, properties.getOffHeapThreshold());
+        Long afterId = 0L;
+        List<EmployeeAttributes> batch;
+        do {
+            batch = employeeRepository.findAttributesAfter(afterId, Limit.of(batchSize));
+            for (EmployeeAttributes row : batch) {
+                building.upsert(row.getId(), row.getDepartmentId(), row.getPosition(), row.getSalary(), row.getHireDate());
+                afterId = row.getId();
+            }
+        } while (batch.size() == batchSize);
+        
+        synchronized (refreshLock) {
+            lock.writeLock().lock();
+            try {
+                columns = building;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loaded = true;
+        }
+        if (!pending.isEmpty()) {
+            scheduleRefresh();
+        }
+        log.info("Loaded {} employees into the columnar snapshot ({} KB, {}) in {} ms",
+                building.liveRows(), building.sizeInBytes() / 1024, building.isOffHeap() ? "off-heap" : "heap",
+                (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        pending.add(event.employeeId());
+        if (loaded) {
+            scheduleRefresh();
+        }
+    }
+    
+    private void scheduleRefresh() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            refresher.execute(this::refreshPending);
+        }
+    }
+    
+    /**
+     * Re-read the queued employees. An employee is taken off the queue before its row is
+     * read, so a change committing meanwhile queues it again for the next round.
+     */
+    private void refreshPending() {
+        refreshScheduled.set(false);
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Long> queued = pending.iterator(); queued.hasNext(); ) {
+            ids.add(queued.next());
+            queued.remove();
+        }
+        for (int from = 0; from < ids.size(); from += properties.getLoadBatchSize()) {
+            List<Long> batch = ids.subList(from, Math.min(from + properties.getLoadBatchSize(), ids.size()));
+            try {
+                refresh(batch);
+            } catch (RuntimeException ex) {
+                // Left queued for the round after the next change
+                log.warn("Could not refresh {} employees in the columnar snapshot", batch.size(), ex);
+                pending.addAll(batch);
+            }
+        }
+    }
+    
+    private void refresh(List<Long> employeeIds) {
+        Set<Long> removed = new HashSet<>(employeeIds);
+        List<EmployeeAttributes> rows = employeeRepository.findAttributesByIdIn(employeeIds);
+        synchronized (refreshLock) {
+            lock.writeLock().lock();
+            try {
+                for (EmployeeAttributes employee : rows) {
+                    columns.upsert(employee.getId(), employee.getDepartmentId(), employee.getPosition(),
+                            employee.getSalary(), employee.getHireDate());
+                    removed.remove(employee.getId());
+                }
+                removed.forEach(columns::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+    
+    /**
+     * Wait until the changes queued so far have been applied
+     */
+    void awaitRefresh() throws Exception {
+        refresher.submit(() -> { }).get(10, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Number of employees matching the filter
+     */
+    public long count(EmployeeFilter filter) {
+        return scan(filter, (columns, matcher, from, to) -> {
+            long count = 0;
+            for (int row = from; row < to; row++) {
+                if (matcher.matches(columns, row)) {
+                    count++;
+                }
+            }
+            return count;
+        }, Long::sum, 0L);
+    }
+    
+    /**
+     * Matching employees per position, by position name
+     */
+    public Map<String, Long> countByPosition(EmployeeFilter filter) {
+        return scan(filter, (columns, matcher, from, to) -> {
+            long[] counts = new long[columns.positions.size()];
+            for (int row = from; row < to; row++) {
+                if (matcher.matches(columns, row)) {
+                    counts[columns.positionCodes.get(row)]++;
+                }
+            }
+            Map<String, Long> byPosition = new TreeMap<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    byPosition.put(columns.positions.value(code), counts[code]);
+                }
+            }
+            return byPosition;
+        }, EmployeeSnapshot::sumCounts, new TreeMap<>());
+    }
+    
+    /**
+     * Headcount and salary aggregates of the matching employees per department, by department ID
+     */
+    public List<DepartmentSalaryStats> salaryByDepartment(EmployeeFilter filter) {
+        return scan(filter, (columns, matcher, from, to) -> {
+            int departments = columns.departments.size();
+            long[] employees = new long[departments];
+            long[] salaried = new long[departments];
+            long[] total = new long[departments];
+            long[] min = new long[departments];
+            long[] max = new long[departments];
+            Arrays.fill(min, Long.MAX_VALUE);
+            Arrays.fill(max, Long.MIN_VALUE);
+            for (int row = from; row < to; row++) {
+                if (matcher.matches(columns, row)) {
+                    int department = columns.departmentCodes.get(row);
+                    employees[department]++;
+                    long cents = columns.salaryCents.get(row);
+                    if (cents != EmployeeColumns.NO_SALARY) {
+                        salaried[department]++;
+                        total[department] += cents;
+                        min[department] = Math.min(min[department], cents);
+                        max[department] = Math.max(max[department], cents);
+                    }
+                }
+            }
+            Map<Long, DepartmentSalaryStats> byDepartment = new TreeMap<>();
+            for (int code = 0; code < departments; code++) {
+                if (employees[code] > 0) {
+                    Long departmentId = columns.departments.value(code);
+                    byDepartment.put(departmentId, salaryStats(departmentId, employees[code], salaried[code],
+                            total[code], min[code], max[code]));
+                }
+            }
+            return byDepartment;
+        }, EmployeeSnapshot::mergeSalaryStats, new TreeMap<>()).values().stream().toList();
+    }
+    
+    /**
+     * Matching employees hired per year or month, in chronological order; empty buckets
+     * are left out
+     */
+    public Map<String, Long> hires(EmployeeFilter filter, HireInterval interval) {
+        Map<Integer, Long> perDay = scan(filter, (columns, matcher, from, to) -> {
+            int firstDay = columns.minHireDay();
+            long[] counts = new long[columns.maxHireDay() - firstDay + 1];
+            for (int row = from; row < to; row++) {
+                if (matcher.matches(columns, row)) {
+                    counts[columns.hireDays.get(row) - firstDay]++;
+                }
+            }
+            Map<Integer, Long> byDay = new TreeMap<>();
+            for (int day = 0; day < counts.length; day++) {
+                if (counts[day] > 0) {
+                    byDay.put(firstDay + day, counts[day]);
+                }
+            }
+            return byDay;
+        }, EmployeeSnapshot::sumCounts, new TreeMap<>());
+        
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        perDay.forEach((day, count) -> buckets.merge(interval.label(LocalDate.ofEpochDay(day)), count, Long::sum));
+        return buckets;
+    }
+    
+    /**
+     * Run a chunk scan over every row, in parallel chunks for large snapshots, and merge
+     * the partial results
+     */
+    private <R> R scan(EmployeeFilter filter, ChunkScan<R> chunkScan, BinaryOperator<R> merge, R empty) {
+        if (!loaded) {
+            throw new SnapshotUnavailableException(properties.isEnabled()
+                    ? "Employee analytics are still loading. Please retry later."
+                    : "Employee analytics are disabled");
+        }
+        lock.readLock().lock();
+        try {
+            EmployeeColumns current = columns;
+            RowMatcher matcher = RowMatcher.of(filter, current);
+            int rows = current.rows();
+            if (matcher == null || rows == 0) {
+                return empty;
+            }
+            if (rows < properties.getParallelThreshold()) {
+                return chunkScan.scan(current, matcher, 0, rows);
+            }
+            int chunks = scanPool.getParallelism() * 4;
+            int chunkSize = (rows + chunks - 1) / chunks;
+            List<Callable<R>> tasks = new ArrayList<>(chunks);
+            for (int from = 0; from < rows; from += chunkSize) {
+                int chunkFrom = from;
+                int chunkTo = Math.min(from + chunkSize, rows);
+                tasks.add(() -> chunkScan.scan(current, matcher, chunkFrom, chunkTo));
+            }
+            R result = empty;
+            for (Future<R> partial : scanPool.invokeAll(tasks)) {
+                result = merge.apply(result, partial.get());
+            }
+            return result;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning the employee snapshot", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Employee snapshot scan failed", ex.getCause());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private <T> T read(Function<EmployeeColumns, T> reader, T whenNotLoaded) {
+        lock.readLock().lock();
+        try {
+            return columns != null ? reader.apply(columns) : whenNotLoaded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private static <K> Map<K, Long> sumCounts(Map<K, Long> left, Map<K, Long> right) {
+        Map<K, Long> sum = new TreeMap<>(left);
+        right.forEach((key, count) -> sum.merge(key, count, Long::sum));
+        return sum;
+    }
+    
+    private static Map<Long, DepartmentSalaryStats> mergeSalaryStats(Map<Long, DepartmentSalaryStats> left,
+                                                                     Map<Long, DepartmentSalaryStats> right) {
+        Map<Long, DepartmentSalaryStats> merged = new TreeMap<>(left);
+        right.forEach((departmentId, stats) -> merged.merge(departmentId, stats, (a, b) -> {
+            BigDecimal total = a.totalSalary() == null ? b.totalSalary()
+                    : b.totalSalary() == null ? a.totalSalary() : a.totalSalary().add(b.totalSalary());
+            long salaried = a.salaried() + b.salaried();
+            return new DepartmentSalaryStats(departmentId, a.employees() + b.employees(), salaried, total,
+                    average(total, salaried), minOf(a.minSalary(), b.minSalary()), maxOf(a.maxSalary(), b.maxSalary()));
+        }));
+        return merged;
+    }
+    
+    private static DepartmentSalaryStats salaryStats(Long departmentId, long employees, long salaried,
+                                                     long totalCents, long minCents, long maxCents) {
+        if (salaried == 0) {
+            return new DepartmentSalaryStats(departmentId, employees, 0, null, null, null, null);
+        }
+        BigDecimal total = BigDecimal.valueOf(totalCents, 2);
+        return new DepartmentSalaryStats(departmentId, employees, salaried, total, average(total, salaried),
+                BigDecimal.valueOf(minCents, 2), BigDecimal.valueOf(maxCents, 2));
+    }
+    
+    private static BigDecimal average(BigDecimal total, long count) {
+        return total == null ? null : total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+    
+    private static BigDecimal minOf(BigDecimal a, BigDecimal b) {
+        return a == null ? b : b == null ? a : a.min(b);
+    }
+    
+    private static BigDecimal maxOf(BigDecimal a, BigDecimal b) {
+        return a == null ? b : b == null ? a : a.max(b);
+    }
+    
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+        scanPool.shutdownNow();
+    }
+    
+    @FunctionalInterface
+    private interface ChunkScan<R> {
+        R scan(EmployeeColumns columns, RowMatcher matcher, int from, int to);
+    }
+    
+    /**
+     * A filter translated to dictionary codes and epoch days
+     */
+    private record RowMatcher(int departmentCode, int positionCode, int fromDay, int toDay) {
+        
+        private static final int ANY = -2;
+        
+        /**
+         * Null when the filter names a department or position no row holds
+         */
+        static RowMatcher of(EmployeeFilter filter, EmployeeColumns columns) {
+            int departmentCode = filter.departmentId() != null ? columns.departments.codeOf(filter.departmentId()) : ANY;
+            int positionCode = filter.position() != null ? columns.positions.codeOf(filter.position()) : ANY;
+            if (departmentCode == Dictionary.ABSENT || positionCode == Dictionary.ABSENT) {
+                return null;
+            }
+            int fromDay = filter.hiredFrom() != null ? Math.toIntExact(filter.hiredFrom().toEpochDay()) : Integer.MIN_VALUE;
+            int toDay = filter.hiredTo() != null ? Math.toIntExact(filter.hiredTo().toEpochDay()) : Integer.MAX_VALUE;
+            return new RowMatcher(departmentCode, positionCode, fromDay, toDay);
+        }
+        
+        boolean matches(EmployeeColumns columns, int row) {
+            int department = columns.departmentCodes.get(row);
+            if (department == EmployeeColumns.REMOVED || (departmentCode != ANY && department != departmentCode)) {
+                return false;
+            }
+            if (positionCode != ANY && columns.positionCodes.get(row) != positionCode) {
+                return false;
+            }
+            int hireDay = columns.hireDays.get(row);
+            return hireDay >= fromDay && hireDay <= toDay;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.uttkarsh.esd_proj.columnar;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Bucket size of the hire-date histogram, with the label format of its buckets
+ */
+public enum HireInterval {
+    
+    YEAR(DateTimeFormatter.ofPattern("uuuu")),
+    MONTH(DateTimeFormatter.ofPattern("uuuu-MM"));
+    
+    private final DateTimeFormatter label;
+    
+    HireInterval(DateTimeFormatter label) {
+        this.label = label;
+    }
+    
+    String label(LocalDate date) {
+        return label.format(date);
+    }
+}
@@ -0,0 +1,55 @@
+package com.uttkarsh.esd_proj.columnar;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Growable int column; moves off-heap (a direct buffer) once its capacity reaches the
+ * threshold, so large snapshots add little to the heap the GC has to trace
+ */
+final class IntColumn {
+    
+    private final int offHeapThreshold;
+    private IntBuffer values;
+    
+    IntColumn(int capacity, int offHeapThreshold) {
+        this.offHeapThreshold = offHeapThreshold;
+        this.values = allocate(capacity);
+    }
+    
+    int get(int row) {
+        return values.get(row);
+    }
+    
+    void set(int row, int value) {
+        if (row >= values.capacity()) {
+            grow(row + 1);
+        }
+        values.put(row, value);
+    }
+    
+    boolean isOffHeap() {
+        return values.isDirect();
+    }
+    
+    long sizeInBytes() {
+        return (long) values.capacity() * Integer.BYTES;
+    }
+    
+    private void grow(int minCapacity) {
+        IntBuffer grown = allocate(Math.max(minCapacity, (int) Math.min(Integer.MAX_VALUE / Integer.BYTES,
+                2L * values.capacity())));
+        IntBuffer current = values.duplicate();
+        current.clear();
+        grown.put(current);
+        grown.clear();
+        values = grown;
+    }
+    
+    private IntBuffer allocate(int capacity) {
+        return capacity >= offHeapThreshold
+                ? ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer()
+                : IntBuffer.allocate(capacity);
+    }
+}
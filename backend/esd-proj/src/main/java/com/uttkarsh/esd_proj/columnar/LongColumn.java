@@ -0,0 +1,54 @@
+package com.uttkarsh.esd_proj.columnar;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * Growable long column, see {@link IntColumn}
+ */
+final class LongColumn {
+    
+    private final int offHeapThreshold;
+    private LongBuffer values;
+    
+    LongColumn(int capacity, int offHeapThreshold) {
+        this.offHeapThreshold = offHeapThreshold;
+        this.values = allocate(capacity);
+    }
+    
+    long get(int row) {
+        return values.get(row);
+    }
+    
+    void set(int row, long value) {
+        if (row >= values.capacity()) {
+            grow(row + 1);
+        }
+        values.put(row, value);
+    }
+    
+    boolean isOffHeap() {
+        return values.isDirect();
+    }
+    
+    long sizeInBytes() {
+        return (long) values.capacity() * Long.BYTES;
+    }
+    
+    private void grow(int minCapacity) {
+        LongBuffer grown = allocate(Math.max(minCapacity, (int) Math.min(Integer.MAX_VALUE / Long.BYTES,
+                2L * values.capacity())));
+        LongBuffer current = values.duplicate();
+        current.clear();
+        grown.put(current);
+        grown.clear();
+        values = grown;
+    }
+    
+    private LongBuffer allocate(int capacity) {
+        return capacity >= offHeapThreshold
+                ? ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer()
+                : LongBuffer.allocate(capacity);
+    }
+}
@@ -0,0 +1,20 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.avatar.AvatarCache;
+import com.uttkarsh.esd_proj.avatar.AvatarProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(AvatarProperties.class)
+public class AvatarConfig {
+    
+    @Bean
+    public AvatarCache avatarCache(AvatarProperties properties, MeterRegistry meterRegistry) {
+        return new AvatarCache(Path.of(properties.getCacheDir()), properties.getMaxCacheSize().toBytes(), meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.columnar.ColumnarSnapshotProperties;
+import com.uttkarsh.esd_proj.columnar.EmployeeSnapshot;
+import com.uttkarsh.esd_proj.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ColumnarSnapshotProperties.class)
+public class ColumnarSnapshotConfig {
+    
+    @Bean
+    public EmployeeSnapshot employeeSnapshot(EmployeeRepository employeeRepository,
+                                             ColumnarSnapshotProperties properties,
+                                             MeterRegistry meterRegistry) {
+        return new EmployeeSnapshot(employeeRepository, properties, meterRegistry);
+    }
+    
+    /**
+     * Load the snapshot once the application has started; analytics answer 503 until then
+     */
+    @Bean
+    public ApplicationRunner employeeSnapshotLoader(EmployeeSnapshot employeeSnapshot) {
+        return args -> employeeSnapshot.load();
+    }
+}
@@ -0,0 +1,10 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.service.DashboardProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DashboardProperties.class)
+public class DashboardConfig {
+}
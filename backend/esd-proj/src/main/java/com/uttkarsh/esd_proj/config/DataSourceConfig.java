@@ -0,0 +1,83 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.datasource.DataSourcePoolsProperties;
+import com.uttkarsh.esd_proj.datasource.WorkloadAspect;
+import com.uttkarsh.esd_proj.datasource.WorkloadRoutingDataSource;
+import com.uttkarsh.esd_proj.datasource.WorkloadType;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Separate Hikari pools for writes, short reads and long scans so that slow list
+ * queries cannot take every connection away from transactional writes.
+ * Each pool reports hikaricp.connections.acquire (pool wait time) tagged with its name.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourcePoolsProperties.class)
+public class DataSourceConfig {
+    
+    /**
+     * Settings shared by all pools (spring.datasource.hikari.*)
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariConfig sharedHikariConfig() {
+        return new HikariConfig();
+    }
+    
+    @Bean
+    public WorkloadRoutingDataSource workloadRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                               HikariConfig sharedHikariConfig,
+                                                               DataSourcePoolsProperties poolsProperties,
+                                                               MeterRegistry meterRegistry) {
+        Map<WorkloadType, HikariDataSource> pools = new EnumMap<>(WorkloadType.class);
+        for (WorkloadType workloadType : WorkloadType.values()) {
+            DataSourcePoolsProperties.Pool pool = poolsProperties.getPool(workloadType);
+            
+            HikariConfig config = new HikariConfig();
+            sharedHikariConfig.copyStateTo(config);
+            config.setPoolName("esd-" + workloadType.name().toLowerCase());
+            config.setJdbcUrl(dataSourceProperties.determineUrl());
+            config.setUsername(dataSourceProperties.determineUsername());
+            config.setPassword(dataSourceProperties.determinePassword());
+            config.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            config.setMaximumPoolSize(pool.getMaximumPoolSize());
+            if (config.getMinimumIdle() > pool.getMaximumPoolSize()) {
+                config.setMinimumIdle(pool.getMaximumPoolSize());
+            }
+            config.setConnectionTimeout(pool.getConnectionTimeout().toMillis());
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            
+            pools.put(workloadType, new HikariDataSource(config));
+        }
+        return new WorkloadRoutingDataSource(pools);
+    }
+    
+    /**
+     * The application DataSource; connections are fetched lazily so the pool is chosen
+     * (and pool wait time measured) only when a statement actually runs
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadRoutingDataSource workloadRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(workloadRoutingDataSource);
+    }
+    
+    @Bean
+    public WorkloadAspect workloadAspect(DataSourcePoolsProperties poolsProperties, MeterRegistry meterRegistry) {
+        return new WorkloadAspect(poolsProperties, meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.bloom.EmailBloomFilter;
+import com.uttkarsh.esd_proj.bloom.EmailBloomFilterProperties;
+import com.uttkarsh.esd_proj.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EmailBloomFilterProperties.class)
+public class EmailBloomFilterConfig {
+    
+    @Bean
+    public EmailBloomFilter emailBloomFilter(EmployeeRepository employeeRepository,
+                                             EmailBloomFilterProperties properties,
+                                             MeterRegistry meterRegistry) {
+        return new EmailBloomFilter(employeeRepository, properties, meterRegistry);
+    }
+    
+    /**
+     * Load existing emails once the application has started; checks hit the database until then
+     */
+    @Bean
+    public ApplicationRunner emailBloomFilterLoader(EmailBloomFilter emailBloomFilter) {
+        return args -> emailBloomFilter.load();
+    }
+}
@@ -0,0 +1,41 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uttkarsh.esd_proj.idempotency.IdempotencyFilter;
+import com.uttkarsh.esd_proj.idempotency.IdempotencyProperties;
+import com.uttkarsh.esd_proj.idempotency.IdempotencyStore;
+import com.uttkarsh.esd_proj.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+    
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyRecordRepository repository,
+                                             IdempotencyProperties properties) {
+        return new IdempotencyStore(repository, properties);
+    }
+    
+    /**
+     * Register Idempotency-Key handling for employee and department writes, after the rate limiter
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore store,
+                                                                       IdempotencyProperties properties,
+                                                                       ObjectMapper objectMapper,
+                                                                       MeterRegistry meterRegistry) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(store, properties, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/employees", "/api/employees/*", "/api/departments", "/api/departments/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,43 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.columnar.EmployeeFilter;
+import com.uttkarsh.esd_proj.dto.DashboardResponse;
+import com.uttkarsh.esd_proj.dto.DashboardStats;
+import com.uttkarsh.esd_proj.dto.DepartmentRequest;
+import com.uttkarsh.esd_proj.dto.DepartmentResponse;
+import com.uttkarsh.esd_proj.dto.DepartmentSalaryStats;
+import com.uttkarsh.esd_proj.dto.EmployeeHistoryResponse;
+import com.uttkarsh.esd_proj.dto.EmployeeRequest;
+import com.uttkarsh.esd_proj.dto.EmployeeResponse;
+import com.uttkarsh.esd_proj.dto.MultiGetResponse;
+import com.uttkarsh.esd_proj.dto.ReportCountResponse;
+import com.uttkarsh.esd_proj.dto.UserResponse;
+import com.uttkarsh.esd_proj.exception.ProblemResponse;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Hints for the native image build (mvn -Pnative native:compile): the JSON bodies are bound
+ * reflectively by Jackson, everything else is in {@link NativeRuntimeHints}.
+ * Has no effect on the JVM.
+ */
+@Configuration
+@ImportRuntimeHints(NativeRuntimeHints.class)
+@RegisterReflectionForBinding({
+        EmployeeRequest.class,
+        EmployeeResponse.class,
+        EmployeeHistoryResponse.class,
+        ReportCountResponse.class,
+        DepartmentRequest.class,
+        DepartmentResponse.class,
+        UserResponse.class,
+        MultiGetResponse.class,
+        DashboardResponse.class,
+        DashboardStats.class,
+        DepartmentSalaryStats.class,
+        EmployeeFilter.class,
+        ProblemResponse.class
+})
+public class NativeConfig {
+}
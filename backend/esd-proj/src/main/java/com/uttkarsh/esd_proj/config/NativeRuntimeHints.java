@@ -0,0 +1,112 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.entity.Department;
+import com.uttkarsh.esd_proj.entity.Employee;
+import com.uttkarsh.esd_proj.entity.EmployeeHierarchy;
+import com.uttkarsh.esd_proj.entity.EmployeeHistory;
+import com.uttkarsh.esd_proj.entity.EmployeeHistoryMonth;
+import com.uttkarsh.esd_proj.entity.IdempotencyRecord;
+import com.uttkarsh.esd_proj.entity.User;
+import com.uttkarsh.esd_proj.repository.DepartmentHeadcount;
+import com.uttkarsh.esd_proj.repository.DepartmentTotals;
+import com.uttkarsh.esd_proj.repository.EmployeeAttributes;
+import com.uttkarsh.esd_proj.repository.EmployeeEmail;
+import com.uttkarsh.esd_proj.repository.ReportCounts;
+import com.uttkarsh.esd_proj.repository.TableVersion;
+import com.uttkarsh.esd_proj.repository.TreeMember;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.data.projection.TargetAware;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.AbstractOAuth2Token;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationResponseType;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2UserAuthority;
+
+import java.io.Serializable;
+import java.net.URL;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reflection, proxy, resource and serialization hints that Spring's own AOT processing
+ * does not derive from the bean definitions.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+    
+    private static final List<Class<?>> ENTITIES = List.of(
+            Department.class, Employee.class, EmployeeHistory.class, EmployeeHistoryMonth.class, EmployeeHistoryMonth.Key.class,
+            EmployeeHierarchy.class, EmployeeHierarchy.Key.class, User.class, IdempotencyRecord.class);
+    
+    private static final List<Class<?>> PROJECTIONS = List.of(
+            DepartmentHeadcount.class, DepartmentTotals.class, EmployeeEmail.class, EmployeeAttributes.class,
+            TableVersion.class, ReportCounts.class, TreeMember.class);
+    
+    /**
+     * OAuth2 login state kept in the JDBC session between the redirect and the callback,
+     * and the authenticated principal afterwards
+     */
+    private static final List<Class<? extends Serializable>> SESSION_TYPES = List.of(
+            OAuth2AuthorizationRequest.class,
+            AuthorizationGrantType.class,
+            OAuth2AuthorizationResponseType.class,
+            OAuth2AuthenticationToken.class,
+            DefaultOAuth2User.class,
+            DefaultOidcUser.class,
+            OAuth2UserAuthority.class,
+            OidcUserAuthority.class,
+            AbstractOAuth2Token.class,
+            OidcIdToken.class,
+            OidcUserInfo.class,
+            URL.class,
+            Instant.class);
+    
+    private static final List<String> SESSION_JDK_TYPES = List.of(
+            "java.time.Ser",
+            "java.util.Collections$UnmodifiableCollection",
+            "java.util.Collections$UnmodifiableSet",
+            "java.util.Collections$UnmodifiableMap",
+            "java.util.Collections$UnmodifiableList",
+            "java.util.Collections$UnmodifiableRandomAccessList",
+            "java.util.LinkedHashMap",
+            "java.util.LinkedHashSet",
+            "java.util.HashSet");
+    
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Hibernate reads and writes entity fields and instantiates entities reflectively
+        for (Class<?> entity : ENTITIES) {
+            hints.reflection().registerType(entity, MemberCategory.values());
+        }
+        
+        // Interface projections are JDK proxies created by Spring Data at query time
+        for (Class<?> projection : PROJECTIONS) {
+            hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(projection, TargetAware.class));
+            hints.reflection().registerType(projection, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        
+        hints.resources().registerPattern("templates/*.html");
+        hints.resources().registerPattern("protobuf/*.proto");
+        hints.resources().registerPattern("db/migration/*.sql");
+        
+        for (Class<? extends Serializable> type : SESSION_TYPES) {
+            hints.serialization().registerType(type);
+        }
+        for (String type : SESSION_JDK_TYPES) {
+            hints.serialization().registerType(TypeReference.of(type));
+        }
+        
+        // spring-dotenv is loaded from spring.factories, which the AOT processing does not cover
+        hints.reflection().registerType(TypeReference.of("me.paulschwarz.springdotenv.springboot.DotenvApplicationRunListener"),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+    }
+}
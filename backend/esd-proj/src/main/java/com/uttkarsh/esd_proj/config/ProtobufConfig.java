@@ -0,0 +1,21 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.protobuf.ProtobufListHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class ProtobufConfig implements WebMvcConfigurer {
+    
+    /**
+     * Appended after Jackson so JSON stays the default and protobuf is only picked when
+     * the client asks for it
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProtobufListHttpMessageConverter());
+    }
+}
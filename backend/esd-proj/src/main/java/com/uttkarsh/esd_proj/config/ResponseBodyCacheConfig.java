@@ -0,0 +1,35 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.cache.ResponseBodyCache;
+import com.uttkarsh.esd_proj.cache.ResponseBodyCacheFilter;
+import com.uttkarsh.esd_proj.cache.ResponseBodyCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResponseBodyCacheProperties.class)
+public class ResponseBodyCacheConfig {
+    
+    @Bean
+    public ResponseBodyCache responseBodyCache(ResponseBodyCacheProperties properties, MeterRegistry meterRegistry) {
+        return new ResponseBodyCache(properties, meterRegistry);
+    }
+    
+    /**
+     * Register the list response cache after the security filter chain and the rate limiter
+     */
+    @Bean
+    public FilterRegistrationBean<ResponseBodyCacheFilter> responseBodyCacheFilter(ResponseBodyCache cache,
+                                                                                   ResponseBodyCacheProperties properties,
+                                                                                   MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ResponseBodyCacheFilter> registration =
+                new FilterRegistrationBean<>(new ResponseBodyCacheFilter(cache, properties, meterRegistry));
+        registration.addUrlPatterns("/api/employees", "/api/departments", "/api/departments/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 3);
+        return registration;
+    }
+}
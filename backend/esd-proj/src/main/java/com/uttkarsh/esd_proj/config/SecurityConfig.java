@@ -3,6 +3,7 @@ package com.uttkarsh.esd_proj.config;
 import com.uttkarsh.esd_proj.handler.OAuth2LoginFailureHandler;
 import com.uttkarsh.esd_proj.handler.OAuth2LoginSuccessHandler;
 import com.uttkarsh.esd_proj.service.CustomOAuth2UserService;
+import com.uttkarsh.esd_proj.service.CustomOidcUserService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -21,13 +22,16 @@ import java.util.Arrays;
 public class SecurityConfig {
     
     private final CustomOAuth2UserService customOAuth2UserService;
+    private final CustomOidcUserService customOidcUserService;
     private final OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler;
     private final OAuth2LoginFailureHandler oAuth2LoginFailureHandler;
     
     public SecurityConfig(CustomOAuth2UserService customOAuth2UserService,
+                         CustomOidcUserService customOidcUserService,
                          OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler,
                          OAuth2LoginFailureHandler oAuth2LoginFailureHandler) {
         this.customOAuth2UserService = customOAuth2UserService;
+        this.customOidcUserService = customOidcUserService;
         this.oAuth2LoginSuccessHandler = oAuth2LoginSuccessHandler;
         this.oAuth2LoginFailureHandler = oAuth2LoginFailureHandler;
     }
@@ -52,13 +56,16 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable()) // Disable CSRF for API endpoints
             .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Enable CORS with configuration
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/", "/login/**", "/error", "/oauth2/**", "/api/auth/**").permitAll()
-                .requestMatchers("/api/departments/**", "/api/employees/**").authenticated()
+                .requestMatchers("/", "/login/**", "/error", "/oauth2/**", "/api/auth/**",
+                        "/actuator/health/liveness", "/actuator/health/readiness").permitAll()
+                .requestMatchers("/api/departments/**", "/api/employees/**", "/api/users/**", "/api/dashboard", "/api/schema/**",
+                        "/api/analytics/**").authenticated()
                 .anyRequest().authenticated()
             )
             .oauth2Login(oauth2 -> oauth2
                 .userInfoEndpoint(userInfo -> userInfo
                     .userService(customOAuth2UserService)
+                    .oidcUserService(customOidcUserService) // openid scope: claims come from the ID token
                 )
                 .successHandler(oAuth2LoginSuccessHandler)
                 .failureHandler(oAuth2LoginFailureHandler)
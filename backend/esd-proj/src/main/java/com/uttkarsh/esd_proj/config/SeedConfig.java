@@ -0,0 +1,38 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.bloom.EmailBloomFilter;
+import com.uttkarsh.esd_proj.columnar.EmployeeSnapshot;
+import com.uttkarsh.esd_proj.seed.DataGenerator;
+import com.uttkarsh.esd_proj.seed.SeedProperties;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Synthetic data for scale testing, only with the seed profile:
+ * mvn spring-boot:run -Dspring-boot.run.profiles=seed -Dspring-boot.run.arguments=--app.seed.employees=1000000
+ */
+@Configuration
+@Profile("seed")
+@EnableConfigurationProperties(SeedProperties.class)
+public class SeedConfig {
+    
+    @Bean
+    public DataGenerator dataGenerator(JdbcTemplate jdbcTemplate, SeedProperties properties,
+                                       ApplicationEventPublisher eventPublisher, EmailBloomFilter emailBloomFilter,
+                                       EmployeeSnapshot employeeSnapshot) {
+        return new DataGenerator(jdbcTemplate, properties, eventPublisher, emailBloomFilter, employeeSnapshot);
+    }
+    
+    /**
+     * Generate app.seed.departments departments and app.seed.employees employees on startup
+     */
+    @Bean
+    public ApplicationRunner dataGeneratorRunner(DataGenerator dataGenerator, SeedProperties properties) {
+        return args -> dataGenerator.generate(properties.getDepartments(), properties.getEmployees());
+    }
+}
@@ -0,0 +1,39 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.session.CompressedSessionSerializer;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+/**
+ * HTTP sessions are stored in the database through Spring Session JDBC so that any
+ * node behind the load balancer can serve any request. Table names, flush/save modes
+ * and the expiry cleanup schedule are configured in application.properties.
+ */
+@Configuration
+public class SessionConfig implements BeanClassLoaderAware {
+    
+    private ClassLoader classLoader;
+    
+    @Override
+    public void setBeanClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+    
+    /**
+     * Conversion service used by the JDBC session repository for attribute values
+     */
+    @Bean
+    public ConversionService springSessionConversionService() {
+        CompressedSessionSerializer serializer = new CompressedSessionSerializer(classLoader);
+        
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, new SerializingConverter(serializer));
+        conversionService.addConverter(byte[].class, Object.class, new DeserializingConverter(serializer));
+        return conversionService;
+    }
+}
@@ -0,0 +1,26 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.cache.CoalescingAspect;
+import com.uttkarsh.esd_proj.cache.SingleFlightGroup;
+import com.uttkarsh.esd_proj.cache.SingleFlightProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SingleFlightProperties.class)
+@ConditionalOnProperty(prefix = "app.single-flight", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SingleFlightConfig {
+    
+    @Bean
+    public SingleFlightGroup singleFlightGroup(SingleFlightProperties properties, MeterRegistry meterRegistry) {
+        return new SingleFlightGroup(properties.getMaxInFlight(), properties.getResultTtl(), meterRegistry);
+    }
+    
+    @Bean
+    public CoalescingAspect coalescingAspect(SingleFlightGroup singleFlightGroup) {
+        return new CoalescingAspect(singleFlightGroup);
+    }
+}
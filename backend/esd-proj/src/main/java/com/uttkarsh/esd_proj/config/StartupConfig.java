@@ -0,0 +1,32 @@
+package com.uttkarsh.esd_proj.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.Filter;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class StartupConfig {
+    
+    /**
+     * Beans kept eager when spring.main.lazy-initialization is turned on:
+     * the schema must be migrated and Hibernate bootstrapped before the first request rather
+     * than during it, and the filters every request passes through are built up front
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerInfrastructure() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class,
+                Flyway.class,
+                FlywayMigrationInitializer.class,
+                EntityManagerFactory.class,
+                SecurityFilterChain.class,
+                Filter.class);
+    }
+}
@@ -0,0 +1,19 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.retry.TransactionRetryAspect;
+import com.uttkarsh.esd_proj.retry.TransactionRetryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TransactionRetryProperties.class)
+public class TransactionRetryConfig {
+    
+    @Bean
+    public TransactionRetryAspect transactionRetryAspect(TransactionRetryProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        return new TransactionRetryAspect(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,54 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.cache.ResponseBodyCache;
+import com.uttkarsh.esd_proj.repository.DepartmentRepository;
+import com.uttkarsh.esd_proj.repository.EmployeeRepository;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import com.uttkarsh.esd_proj.service.EmployeeService;
+import com.uttkarsh.esd_proj.warmup.ResponseCacheSnapshot;
+import com.uttkarsh.esd_proj.warmup.StartupWarmer;
+import com.uttkarsh.esd_proj.warmup.WarmupProperties;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextClosedEvent;
+
+@Configuration
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupConfig {
+    
+    @Bean
+    public ResponseCacheSnapshot responseCacheSnapshot(ResponseBodyCache responseBodyCache,
+                                                       EmployeeRepository employeeRepository,
+                                                       DepartmentRepository departmentRepository,
+                                                       WarmupProperties properties) {
+        return new ResponseCacheSnapshot(responseBodyCache, employeeRepository, departmentRepository, properties);
+    }
+    
+    @Bean
+    public StartupWarmer startupWarmer(DepartmentService departmentService, EmployeeService employeeService,
+                                       EmployeeRepository employeeRepository,
+                                       ResponseCacheSnapshot responseCacheSnapshot, WarmupProperties properties) {
+        return new StartupWarmer(departmentService, employeeService, employeeRepository, responseCacheSnapshot,
+                properties);
+    }
+    
+    /**
+     * Warm up once the context has started; the readiness state only becomes
+     * ACCEPTING_TRAFFIC after all application runners have returned
+     */
+    @Bean
+    public ApplicationRunner startupWarmerRunner(StartupWarmer startupWarmer) {
+        return args -> startupWarmer.warm();
+    }
+    
+    /**
+     * Persist the response cache while the database is still reachable, before beans are destroyed
+     */
+    @Bean
+    public ApplicationListener<ContextClosedEvent> responseCacheSnapshotWriter(ResponseCacheSnapshot responseCacheSnapshot) {
+        return event -> responseCacheSnapshot.save();
+    }
+}
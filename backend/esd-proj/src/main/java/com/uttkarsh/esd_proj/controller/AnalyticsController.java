@@ -0,0 +1,67 @@
+package com.uttkarsh.esd_proj.controller;
+
+import com.uttkarsh.esd_proj.columnar.EmployeeFilter;
+import com.uttkarsh.esd_proj.columnar.EmployeeSnapshot;
+import com.uttkarsh.esd_proj.columnar.HireInterval;
+import com.uttkarsh.esd_proj.dto.DepartmentSalaryStats;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates over the columnar employee snapshot. Every endpoint takes the optional filters
+ * departmentId, position, hiredFrom and hiredTo (ISO dates, inclusive).
+ * Answers 503 while the snapshot is disabled or loading.
+ */
+@RestController
+@RequestMapping("/api/analytics/employees")
+public class AnalyticsController {
+    
+    private final EmployeeSnapshot employeeSnapshot;
+    
+    public AnalyticsController(EmployeeSnapshot employeeSnapshot) {
+        this.employeeSnapshot = employeeSnapshot;
+    }
+    
+    /**
+     * Number of matching employees
+     * GET /api/analytics/employees/count
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Map<String, Long>> count(EmployeeFilter filter) {
+        return ResponseEntity.ok(Map.of("count", employeeSnapshot.count(filter)));
+    }
+    
+    /**
+     * Matching employees per position
+     * GET /api/analytics/employees/positions
+     */
+    @GetMapping("/positions")
+    public ResponseEntity<Map<String, Long>> countByPosition(EmployeeFilter filter) {
+        return ResponseEntity.ok(employeeSnapshot.countByPosition(filter));
+    }
+    
+    /**
+     * Headcount and salary total, average, minimum and maximum per department
+     * GET /api/analytics/employees/salaries
+     */
+    @GetMapping("/salaries")
+    public ResponseEntity<List<DepartmentSalaryStats>> salaryByDepartment(EmployeeFilter filter) {
+        return ResponseEntity.ok(employeeSnapshot.salaryByDepartment(filter));
+    }
+    
+    /**
+     * Matching employees hired per year or month
+     * GET /api/analytics/employees/hires?interval=YEAR|MONTH
+     */
+    @GetMapping("/hires")
+    public ResponseEntity<Map<String, Long>> hires(EmployeeFilter filter,
+                                                   @RequestParam(defaultValue = "YEAR") HireInterval interval) {
+        return ResponseEntity.ok(employeeSnapshot.hires(filter, interval));
+    }
+}
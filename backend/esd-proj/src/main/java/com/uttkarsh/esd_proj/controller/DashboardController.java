@@ -0,0 +1,31 @@
+package com.uttkarsh.esd_proj.controller;
+
+import com.uttkarsh.esd_proj.dto.DashboardResponse;
+import com.uttkarsh.esd_proj.service.DashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+    
+    private final DashboardService dashboardService;
+    
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+    
+    /**
+     * Current user, department summaries and headcount totals in one response
+     * GET /api/dashboard
+     * Sections that could not be loaded in time are null and listed in "unavailable"
+     */
+    @GetMapping
+    public ResponseEntity<DashboardResponse> getDashboard(@AuthenticationPrincipal OAuth2User principal) {
+        return ResponseEntity.ok(dashboardService.getDashboard(principal.getAttribute("email")));
+    }
+}
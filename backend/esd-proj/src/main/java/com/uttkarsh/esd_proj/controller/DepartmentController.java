@@ -2,13 +2,17 @@ package com.uttkarsh.esd_proj.controller;
 
 import com.uttkarsh.esd_proj.dto.DepartmentRequest;
 import com.uttkarsh.esd_proj.dto.DepartmentResponse;
+import com.uttkarsh.esd_proj.dto.MultiGetResponse;
 import com.uttkarsh.esd_proj.dto.EmployeeResponse;
+import com.uttkarsh.esd_proj.dto.EmployeeHistoryResponse;
 import com.uttkarsh.esd_proj.service.DepartmentService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -41,6 +45,15 @@ public class DepartmentController {
         return ResponseEntity.ok(departments);
     }
     
+    /**
+     * Get several departments by ID in one request
+     * GET /api/departments?ids=1,2,3
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResponse<DepartmentResponse>> getDepartmentsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(departmentService.getDepartmentsByIds(ids));
+    }
+    
     /**
      * Get department by ID
      * GET /api/departments/{id}
@@ -82,4 +95,15 @@ public class DepartmentController {
         List<EmployeeResponse> employees = departmentService.getEmployeesByDepartment(id);
         return ResponseEntity.ok(employees);
     }
+    
+    /**
+     * Get the employees who were in a department at the end of {@code date}, as they were then
+     * GET /api/departments/{id}/history?date=2024-03-31
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<EmployeeHistoryResponse>> getEmployeesAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(departmentService.getEmployeesAsOf(id, date));
+    }
 }
@@ -1,13 +1,19 @@
 package com.uttkarsh.esd_proj.controller;
 
+import com.uttkarsh.esd_proj.dto.EmployeeHistoryResponse;
 import com.uttkarsh.esd_proj.dto.EmployeeRequest;
 import com.uttkarsh.esd_proj.dto.EmployeeResponse;
+import com.uttkarsh.esd_proj.dto.MultiGetResponse;
+import com.uttkarsh.esd_proj.dto.ReportCountResponse;
+import com.uttkarsh.esd_proj.service.CapacitySnapshot;
 import com.uttkarsh.esd_proj.service.EmployeeService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -15,9 +21,11 @@ import java.util.List;
 public class EmployeeController {
     
     private final EmployeeService employeeService;
+    private final CapacitySnapshot capacitySnapshot;
     
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, CapacitySnapshot capacitySnapshot) {
         this.employeeService = employeeService;
+        this.capacitySnapshot = capacitySnapshot;
     }
     
     /**
@@ -26,6 +34,8 @@ public class EmployeeController {
      */
     @PostMapping
     public ResponseEntity<EmployeeResponse> createEmployee(@Valid @RequestBody EmployeeRequest request) {
+        // Departments known to be full are rejected before any transaction is opened
+        capacitySnapshot.checkCanHire(request.getDepartmentId());
         EmployeeResponse response = employeeService.createEmployee(request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
@@ -40,6 +50,15 @@ public class EmployeeController {
         return ResponseEntity.ok(employees);
     }
     
+    /**
+     * Get several employees by ID in one request
+     * GET /api/employees?ids=1,2,3
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResponse<EmployeeResponse>> getEmployeesByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
+    }
+    
     /**
      * Get employee by ID
      * GET /api/employees/{id}
@@ -50,6 +69,40 @@ public class EmployeeController {
         return ResponseEntity.ok(employee);
     }
     
+    /**
+     * Get the employees under a manager at any depth, or down to {@code depth} levels
+     * GET /api/employees/{id}/reports[?depth=1]
+     */
+    @GetMapping("/{id}/reports")
+    public ResponseEntity<List<EmployeeResponse>> getReports(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer depth) {
+        return ResponseEntity.ok(employeeService.getReports(id, depth));
+    }
+    
+    /**
+     * Count the direct reports and all reports under a manager
+     * GET /api/employees/{id}/reports/count
+     */
+    @GetMapping("/{id}/reports/count")
+    public ResponseEntity<ReportCountResponse> getReportCount(@PathVariable Long id) {
+        return ResponseEntity.ok(employeeService.getReportCount(id));
+    }
+    
+    /**
+     * Get every version of an employee, or only the one valid at the end of {@code date}
+     * GET /api/employees/{id}/history[?date=2024-03-31]
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<EmployeeHistoryResponse>> getEmployeeHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        if (date == null) {
+            return ResponseEntity.ok(employeeService.getEmployeeHistory(id));
+        }
+        return ResponseEntity.ok(List.of(employeeService.getEmployeeAsOf(id, date)));
+    }
+    
     /**
      * Update employee
      * PUT /api/employees/{id}
@@ -0,0 +1,29 @@
+package com.uttkarsh.esd_proj.controller;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/schema")
+public class SchemaController {
+    
+    private static final Resource PROTOBUF_SCHEMA = new ClassPathResource("protobuf/esd_proj.proto");
+    
+    /**
+     * Protobuf schema of the binary list responses (Accept: application/x-protobuf)
+     * GET /api/schema/esd_proj.proto
+     */
+    @GetMapping("/esd_proj.proto")
+    public ResponseEntity<Resource> getProtobufSchema() {
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(PROTOBUF_SCHEMA);
+    }
+}
@@ -0,0 +1,78 @@
+package com.uttkarsh.esd_proj.controller;
+
+import com.uttkarsh.esd_proj.avatar.AvatarProperties;
+import com.uttkarsh.esd_proj.avatar.AvatarService;
+import com.uttkarsh.esd_proj.avatar.CachedAvatar;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+
+@RestController
+@RequestMapping("/api/users")
+public class UserController {
+    
+    // Tomcat request attributes for handing a file to the connector's sendfile support
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    private final AvatarService avatarService;
+    private final AvatarProperties avatarProperties;
+    
+    public UserController(AvatarService avatarService, AvatarProperties avatarProperties) {
+        this.avatarService = avatarService;
+        this.avatarProperties = avatarProperties;
+    }
+    
+    /**
+     * Get a user's picture from the local cache
+     * Sent with sendfile when the connector supports it, otherwise copied from a file channel
+     */
+    @GetMapping("/{id}/avatar")
+    public void getAvatar(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        CachedAvatar avatar = avatarService.getAvatar(id);
+        FileChannel opened;
+        try {
+            opened = FileChannel.open(avatar.file(), StandardOpenOption.READ);
+        } catch (NoSuchFileException ex) {
+            // Evicted or replaced since the lookup; the service notices the missing file and fetches again
+            avatar = avatarService.getAvatar(id);
+            opened = FileChannel.open(avatar.file(), StandardOpenOption.READ);
+        }
+        
+        try (FileChannel channel = opened) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL,
+                    CacheControl.maxAge(avatarProperties.getMaxAge()).cachePrivate().getHeaderValue());
+            if (new ServletWebRequest(request, response).checkNotModified(avatar.etag())) {
+                return;
+            }
+            response.setContentType(avatar.contentType());
+            response.setContentLengthLong(avatar.size());
+            
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, avatar.file().toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, avatar.size());
+                return;
+            }
+            // The open channel keeps reading the image even if the file is deleted meanwhile
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < avatar.size()) {
+                position += channel.transferTo(position, avatar.size() - position, out);
+            }
+        }
+    }
+}
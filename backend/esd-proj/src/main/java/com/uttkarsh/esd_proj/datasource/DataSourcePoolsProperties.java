@@ -0,0 +1,113 @@
+package com.uttkarsh.esd_proj.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizes of the per-workload connection pools and bulkheads, bound from app.datasource.pools.*
+ * Connection settings (URL, credentials, spring.datasource.hikari.*) are shared by all pools.
+ */
+@ConfigurationProperties(prefix = "app.datasource.pools")
+public class DataSourcePoolsProperties {
+    
+    private Pool write = new Pool(5, 5);
+    private Pool read = new Pool(6, 6);
+    private Pool scan = new Pool(3, 3);
+    
+    public Pool getPool(WorkloadType workloadType) {
+        return switch (workloadType) {
+            case WRITE -> write;
+            case READ -> read;
+            case SCAN -> scan;
+        };
+    }
+    
+    // Getters and Setters
+    public Pool getWrite() {
+        return write;
+    }
+    
+    public void setWrite(Pool write) {
+        this.write = write;
+    }
+    
+    public Pool getRead() {
+        return read;
+    }
+    
+    public void setRead(Pool read) {
+        this.read = read;
+    }
+    
+    public Pool getScan() {
+        return scan;
+    }
+    
+    public void setScan(Pool scan) {
+        this.scan = scan;
+    }
+    
+    public static class Pool {
+        
+        /**
+         * Maximum number of connections in the pool
+         */
+        private int maximumPoolSize;
+        
+        /**
+         * Maximum number of threads allowed inside this workload at once
+         */
+        private int maxConcurrentCalls;
+        
+        /**
+         * How long a call waits for a bulkhead permit before being rejected
+         */
+        private Duration maxWait = Duration.ofMillis(500);
+        
+        /**
+         * How long a call waits for a connection once inside the bulkhead
+         */
+        private Duration connectionTimeout = Duration.ofSeconds(5);
+        
+        public Pool() {
+        }
+        
+        public Pool(int maximumPoolSize, int maxConcurrentCalls) {
+            this.maximumPoolSize = maximumPoolSize;
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+        
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+        
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+        
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+        
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+        
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+        
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+        
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+        
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+    }
+}
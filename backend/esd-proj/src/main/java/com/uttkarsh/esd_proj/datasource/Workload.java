@@ -0,0 +1,20 @@
+package com.uttkarsh.esd_proj.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Routes the annotated service method (or every method of the annotated class)
+ * to the connection pool and bulkhead of the given workload type.
+ * A method-level annotation overrides the class-level one.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+    
+    WorkloadType value();
+}
@@ -0,0 +1,81 @@
+package com.uttkarsh.esd_proj.datasource;
+
+import com.uttkarsh.esd_proj.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds the workload type for the duration of an annotated service call and limits
+ * the number of threads inside each workload. Runs before the transaction interceptor
+ * so the transaction's connection comes from the matching pool.
+ */
+@Aspect
+public class WorkloadAspect implements Ordered {
+    
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 20;
+    
+    private final Map<WorkloadType, Semaphore> bulkheads = new EnumMap<>(WorkloadType.class);
+    private final Map<WorkloadType, Long> maxWaitMillis = new EnumMap<>(WorkloadType.class);
+    private final Map<WorkloadType, Counter> rejections = new EnumMap<>(WorkloadType.class);
+    
+    public WorkloadAspect(DataSourcePoolsProperties properties, MeterRegistry meterRegistry) {
+        for (WorkloadType workloadType : WorkloadType.values()) {
+            DataSourcePoolsProperties.Pool pool = properties.getPool(workloadType);
+            bulkheads.put(workloadType, new Semaphore(pool.getMaxConcurrentCalls(), true));
+            maxWaitMillis.put(workloadType, pool.getMaxWait().toMillis());
+            rejections.put(workloadType, Counter.builder("bulkhead.rejected")
+                    .description("Service calls rejected because the workload bulkhead was full")
+                    .tag("workload", workloadType.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+    
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+    
+    @Around("@annotation(com.uttkarsh.esd_proj.datasource.Workload) || @within(com.uttkarsh.esd_proj.datasource.Workload)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (WorkloadContext.current() != null) {
+            // Nested service call: stay on the outer call's pool and permit
+            return joinPoint.proceed();
+        }
+        
+        WorkloadType workloadType = resolveWorkload(joinPoint);
+        Semaphore bulkhead = bulkheads.get(workloadType);
+        if (!bulkhead.tryAcquire(maxWaitMillis.get(workloadType), TimeUnit.MILLISECONDS)) {
+            rejections.get(workloadType).increment();
+            throw new BulkheadFullException(workloadType.name().toLowerCase());
+        }
+        
+        WorkloadContext.set(workloadType);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.clear();
+            bulkhead.release();
+        }
+    }
+    
+    private static WorkloadType resolveWorkload(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Workload workload = AnnotatedElementUtils.findMergedAnnotation(method, Workload.class);
+        if (workload == null) {
+            workload = AnnotatedElementUtils.findMergedAnnotation(joinPoint.getTarget().getClass(), Workload.class);
+        }
+        return workload != null ? workload.value() : WorkloadType.WRITE;
+    }
+}
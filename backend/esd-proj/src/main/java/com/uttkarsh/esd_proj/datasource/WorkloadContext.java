@@ -0,0 +1,24 @@
+package com.uttkarsh.esd_proj.datasource;
+
+/**
+ * Holds the workload type of the service call currently running on this thread
+ */
+public final class WorkloadContext {
+    
+    private static final ThreadLocal<WorkloadType> CURRENT = new ThreadLocal<>();
+    
+    private WorkloadContext() {
+    }
+    
+    public static WorkloadType current() {
+        return CURRENT.get();
+    }
+    
+    static void set(WorkloadType workloadType) {
+        CURRENT.set(workloadType);
+    }
+    
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,39 @@
+package com.uttkarsh.esd_proj.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Picks the connection pool for the workload bound to the current thread.
+ * Calls outside any {@link Workload} (security, sessions, migrations) use the write pool.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    
+    private final Map<WorkloadType, HikariDataSource> pools;
+    
+    public WorkloadRoutingDataSource(Map<WorkloadType, HikariDataSource> pools) {
+        this.pools = new EnumMap<>(pools);
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(WorkloadType.WRITE));
+        afterPropertiesSet();
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+    
+    public HikariDataSource getPool(WorkloadType workloadType) {
+        return pools.get(workloadType);
+    }
+    
+    @Override
+    public void destroy() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,22 @@
+package com.uttkarsh.esd_proj.datasource;
+
+/**
+ * Traffic classes that get their own connection pool and concurrency limit
+ */
+public enum WorkloadType {
+    
+    /**
+     * Short transactional writes (create, update, delete)
+     */
+    WRITE,
+    
+    /**
+     * Short reads by key
+     */
+    READ,
+    
+    /**
+     * Long-running list and export queries
+     */
+    SCAN
+}
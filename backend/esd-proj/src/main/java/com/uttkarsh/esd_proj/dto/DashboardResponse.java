@@ -0,0 +1,66 @@
+package com.uttkarsh.esd_proj.dto;
+
+import java.util.List;
+
+public class DashboardResponse {
+    
+    private UserResponse user;
+    private List<DepartmentResponse> departments;
+    private DashboardStats stats;
+    private boolean partial;
+    private List<String> unavailable;
+    
+    // Constructors
+    public DashboardResponse() {
+    }
+    
+    public DashboardResponse(UserResponse user, List<DepartmentResponse> departments,
+                             DashboardStats stats, List<String> unavailable) {
+        this.user = user;
+        this.departments = departments;
+        this.stats = stats;
+        this.partial = !unavailable.isEmpty();
+        this.unavailable = unavailable;
+    }
+    
+    // Getters and Setters
+    public UserResponse getUser() {
+        return user;
+    }
+    
+    public void setUser(UserResponse user) {
+        this.user = user;
+    }
+    
+    public List<DepartmentResponse> getDepartments() {
+        return departments;
+    }
+    
+    public void setDepartments(List<DepartmentResponse> departments) {
+        this.departments = departments;
+    }
+    
+    public DashboardStats getStats() {
+        return stats;
+    }
+    
+    public void setStats(DashboardStats stats) {
+        this.stats = stats;
+    }
+    
+    public boolean isPartial() {
+        return partial;
+    }
+    
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+    
+    public List<String> getUnavailable() {
+        return unavailable;
+    }
+    
+    public void setUnavailable(List<String> unavailable) {
+        this.unavailable = unavailable;
+    }
+}
@@ -0,0 +1,53 @@
+package com.uttkarsh.esd_proj.dto;
+
+public class DashboardStats {
+    
+    private long departmentCount;
+    private long employeeCount;
+    private long totalCapacity;
+    private long openPositions;
+    
+    // Constructors
+    public DashboardStats() {
+    }
+    
+    public DashboardStats(long departmentCount, long employeeCount, long totalCapacity) {
+        this.departmentCount = departmentCount;
+        this.employeeCount = employeeCount;
+        this.totalCapacity = totalCapacity;
+        this.openPositions = Math.max(0, totalCapacity - employeeCount);
+    }
+    
+    // Getters and Setters
+    public long getDepartmentCount() {
+        return departmentCount;
+    }
+    
+    public void setDepartmentCount(long departmentCount) {
+        this.departmentCount = departmentCount;
+    }
+    
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+    
+    public void setEmployeeCount(long employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+    
+    public long getTotalCapacity() {
+        return totalCapacity;
+    }
+    
+    public void setTotalCapacity(long totalCapacity) {
+        this.totalCapacity = totalCapacity;
+    }
+    
+    public long getOpenPositions() {
+        return openPositions;
+    }
+    
+    public void setOpenPositions(long openPositions) {
+        this.openPositions = openPositions;
+    }
+}
@@ -0,0 +1,47 @@
+package com.uttkarsh.esd_proj.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link DepartmentResponse} field by field with pre-encoded names, producing the
+ * same JSON as the reflective serializer (nulls included, ISO dates)
+ */
+public class DepartmentResponseSerializer extends StdSerializer<DepartmentResponse> {
+    
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString CAPACITY = new SerializedString("capacity");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString EMPLOYEE_COUNT = new SerializedString("employeeCount");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    
+    public DepartmentResponseSerializer() {
+        super(DepartmentResponse.class);
+    }
+    
+    @Override
+    public void serialize(DepartmentResponse department, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(department);
+        gen.writeFieldName(ID);
+        JsonWriters.writeNumber(gen, department.id());
+        gen.writeFieldName(NAME);
+        gen.writeString(department.name());
+        gen.writeFieldName(CAPACITY);
+        JsonWriters.writeNumber(gen, department.capacity());
+        gen.writeFieldName(DESCRIPTION);
+        gen.writeString(department.description());
+        gen.writeFieldName(EMPLOYEE_COUNT);
+        JsonWriters.writeNumber(gen, department.employeeCount());
+        gen.writeFieldName(CREATED_AT);
+        JsonWriters.writeDateTime(gen, provider, department.createdAt());
+        gen.writeFieldName(UPDATED_AT);
+        JsonWriters.writeDateTime(gen, provider, department.updatedAt());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,17 @@
+package com.uttkarsh.esd_proj.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Salary aggregates of one department; the salary figures cover only employees with a
+ * salary and are null when there are none
+ */
+public record DepartmentSalaryStats(
+        Long departmentId,
+        long employees,
+        long salaried,
+        BigDecimal totalSalary,
+        BigDecimal averageSalary,
+        BigDecimal minSalary,
+        BigDecimal maxSalary) {
+}
@@ -0,0 +1,41 @@
+package com.uttkarsh.esd_proj.dto;
+
+import com.uttkarsh.esd_proj.entity.EmployeeHistory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One version of an employee; validTo is null for the current version
+ */
+public record EmployeeHistoryResponse(
+        Long employeeId,
+        EmployeeHistory.ChangeType changeType,
+        String firstName,
+        String lastName,
+        String email,
+        String position,
+        Long departmentId,
+        BigDecimal salary,
+        LocalDate hireDate,
+        LocalDateTime validFrom,
+        LocalDateTime validTo) {
+    
+    // Static factory method
+    public static EmployeeHistoryResponse fromEntity(EmployeeHistory version) {
+        return new EmployeeHistoryResponse(
+            version.getEmployeeId(),
+            version.getChangeType(),
+            version.getFirstName(),
+            version.getLastName(),
+            version.getEmail(),
+            version.getPosition(),
+            version.getDepartmentId(),
+            version.getSalary(),
+            version.getHireDate(),
+            version.getValidFrom(),
+            version.isCurrent() ? null : version.getValidTo()
+        );
+    }
+}
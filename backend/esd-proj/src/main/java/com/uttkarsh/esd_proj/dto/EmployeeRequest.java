@@ -34,6 +34,11 @@ public class EmployeeRequest {
     @PastOrPresent(message = "Hire date cannot be in the future")
     private LocalDate hireDate;
     
+    // Optional; null for employees without a manager. Left out of an update, the manager stays
+    private Long managerId;
+    
+    private boolean managerIdSet;
+    
     // Constructors
     public EmployeeRequest() {
     }
@@ -49,6 +54,12 @@ public class EmployeeRequest {
         this.hireDate = hireDate;
     }
     
+    public EmployeeRequest(String firstName, String lastName, String email, String position,
+                          Long departmentId, BigDecimal salary, LocalDate hireDate, Long managerId) {
+        this(firstName, lastName, email, position, departmentId, salary, hireDate);
+        setManagerId(managerId);
+    }
+    
     // Getters and Setters
     public String getFirstName() {
         return firstName;
@@ -105,4 +116,20 @@ public class EmployeeRequest {
     public void setHireDate(LocalDate hireDate) {
         this.hireDate = hireDate;
     }
+    
+    public Long getManagerId() {
+        return managerId;
+    }
+    
+    public void setManagerId(Long managerId) {
+        this.managerId = managerId;
+        this.managerIdSet = true;
+    }
+    
+    /**
+     * Whether the request names a manager; an explicit null, unlike a missing managerId, clears it
+     */
+    public boolean hasManagerId() {
+        return managerIdSet;
+    }
 }
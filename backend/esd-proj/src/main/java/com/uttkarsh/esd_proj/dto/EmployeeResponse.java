@@ -1,45 +1,26 @@
 package com.uttkarsh.esd_proj.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.uttkarsh.esd_proj.entity.Employee;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
-public class EmployeeResponse {
-    
-    private Long id;
-    private String firstName;
-    private String lastName;
-    private String email;
-    private String position;
-    private Long departmentId;
-    private String departmentName;
-    private BigDecimal salary;
-    private LocalDate hireDate;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
-    
-    // Constructors
-    public EmployeeResponse() {
-    }
-    
-    public EmployeeResponse(Long id, String firstName, String lastName, String email, 
-                           String position, Long departmentId, String departmentName,
-                           BigDecimal salary, LocalDate hireDate, 
-                           LocalDateTime createdAt, LocalDateTime updatedAt) {
-        this.id = id;
-        this.firstName = firstName;
-        this.lastName = lastName;
-        this.email = email;
-        this.position = position;
-        this.departmentId = departmentId;
-        this.departmentName = departmentName;
-        this.salary = salary;
-        this.hireDate = hireDate;
-        this.createdAt = createdAt;
-        this.updatedAt = updatedAt;
-    }
+@JsonSerialize(using = EmployeeResponseSerializer.class)
+public record EmployeeResponse(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        String position,
+        Long departmentId,
+        String departmentName,
+        Long managerId,
+        BigDecimal salary,
+        LocalDate hireDate,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
     
     // Static factory method
     public static EmployeeResponse fromEntity(Employee employee) {
@@ -51,99 +32,12 @@ public class EmployeeResponse {
             employee.getPosition(),
             employee.getDepartment().getId(),
             employee.getDepartment().getName(),
+            // Reading the ID does not initialize the lazy manager
+            employee.getManager() != null ? employee.getManager().getId() : null,
             employee.getSalary(),
             employee.getHireDate(),
             employee.getCreatedAt(),
             employee.getUpdatedAt()
         );
     }
-    
-    // Getters and Setters
-    public Long getId() {
-        return id;
-    }
-    
-    public void setId(Long id) {
-        this.id = id;
-    }
-    
-    public String getFirstName() {
-        return firstName;
-    }
-    
-    public void setFirstName(String firstName) {
-        this.firstName = firstName;
-    }
-    
-    public String getLastName() {
-        return lastName;
-    }
-    
-    public void setLastName(String lastName) {
-        this.lastName = lastName;
-    }
-    
-    public String getEmail() {
-        return email;
-    }
-    
-    public void setEmail(String email) {
-        this.email = email;
-    }
-    
-    public String getPosition() {
-        return position;
-    }
-    
-    public void setPosition(String position) {
-        this.position = position;
-    }
-    
-    public Long getDepartmentId() {
-        return departmentId;
-    }
-    
-    public void setDepartmentId(Long departmentId) {
-        this.departmentId = departmentId;
-    }
-    
-    public String getDepartmentName() {
-        return departmentName;
-    }
-    
-    public void setDepartmentName(String departmentName) {
-        this.departmentName = departmentName;
-    }
-    
-    public BigDecimal getSalary() {
-        return salary;
-    }
-    
-    public void setSalary(BigDecimal salary) {
-        this.salary = salary;
-    }
-    
-    public LocalDate getHireDate() {
-        return hireDate;
-    }
-    
-    public void setHireDate(LocalDate hireDate) {
-        this.hireDate = hireDate;
-    }
-    
-    public LocalDateTime getCreatedAt() {
-        return createdAt;
-    }
-    
-    public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
-    }
-    
-    public LocalDateTime getUpdatedAt() {
-        return updatedAt;
-    }
-    
-    public void setUpdatedAt(LocalDateTime updatedAt) {
-        this.updatedAt = updatedAt;
-    }
 }
@@ -0,0 +1,62 @@
+package com.uttkarsh.esd_proj.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes an {@link EmployeeResponse} field by field with pre-encoded names, producing the
+ * same JSON as the reflective serializer (nulls included, ISO dates)
+ */
+public class EmployeeResponseSerializer extends StdSerializer<EmployeeResponse> {
+    
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString POSITION = new SerializedString("position");
+    private static final SerializedString DEPARTMENT_ID = new SerializedString("departmentId");
+    private static final SerializedString DEPARTMENT_NAME = new SerializedString("departmentName");
+    private static final SerializedString MANAGER_ID = new SerializedString("managerId");
+    private static final SerializedString SALARY = new SerializedString("salary");
+    private static final SerializedString HIRE_DATE = new SerializedString("hireDate");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    
+    public EmployeeResponseSerializer() {
+        super(EmployeeResponse.class);
+    }
+    
+    @Override
+    public void serialize(EmployeeResponse employee, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(employee);
+        gen.writeFieldName(ID);
+        JsonWriters.writeNumber(gen, employee.id());
+        gen.writeFieldName(FIRST_NAME);
+        gen.writeString(employee.firstName());
+        gen.writeFieldName(LAST_NAME);
+        gen.writeString(employee.lastName());
+        gen.writeFieldName(EMAIL);
+        gen.writeString(employee.email());
+        gen.writeFieldName(POSITION);
+        gen.writeString(employee.position());
+        gen.writeFieldName(DEPARTMENT_ID);
+        JsonWriters.writeNumber(gen, employee.departmentId());
+        gen.writeFieldName(DEPARTMENT_NAME);
+        gen.writeString(employee.departmentName());
+        gen.writeFieldName(MANAGER_ID);
+        JsonWriters.writeNumber(gen, employee.managerId());
+        gen.writeFieldName(SALARY);
+        gen.writeNumber(employee.salary());
+        gen.writeFieldName(HIRE_DATE);
+        JsonWriters.writeDate(gen, provider, employee.hireDate());
+        gen.writeFieldName(CREATED_AT);
+        JsonWriters.writeDateTime(gen, provider, employee.createdAt());
+        gen.writeFieldName(UPDATED_AT);
+        JsonWriters.writeDateTime(gen, provider, employee.updatedAt());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,109 @@
+package com.uttkarsh.esd_proj.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Value writers shared by the hand-written response serializers. Dates come out exactly as
+ * the JavaTimeModule writes them with WRITE_DATES_AS_TIMESTAMPS disabled (Spring Boot's
+ * default): ISO_LOCAL_DATE and ISO_LOCAL_DATE_TIME, the latter always with seconds and with
+ * the fraction trimmed of trailing zeros. They are formatted straight into a char buffer
+ * instead of going through DateTimeFormatter. With WRITE_DATES_AS_TIMESTAMPS enabled they are
+ * left to the registered serializers.
+ */
+final class JsonWriters {
+    
+    private JsonWriters() {
+    }
+    
+    static void writeNumber(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+    
+    static void writeNumber(JsonGenerator gen, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+    
+    static void writeDate(JsonGenerator gen, SerializerProvider provider, LocalDate date) throws IOException {
+        if (date == null) {
+            gen.writeNull();
+        } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(date, gen);
+        } else if (!isFourDigitYear(date.getYear())) {
+            gen.writeString(date.format(DateTimeFormatter.ISO_LOCAL_DATE));
+        } else {
+            char[] buffer = new char[10];
+            writeDate(buffer, date);
+            gen.writeString(buffer, 0, buffer.length);
+        }
+    }
+    
+    static void writeDateTime(JsonGenerator gen, SerializerProvider provider, LocalDateTime dateTime) throws IOException {
+        if (dateTime == null) {
+            gen.writeNull();
+        } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(dateTime, gen);
+        } else if (!isFourDigitYear(dateTime.getYear())) {
+            gen.writeString(dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        } else {
+            // yyyy-MM-ddTHH:mm:ss plus at most .nnnnnnnnn
+            char[] buffer = new char[29];
+            writeDate(buffer, dateTime.toLocalDate());
+            buffer[10] = 'T';
+            writeTwoDigits(buffer, 11, dateTime.getHour());
+            buffer[13] = ':';
+            writeTwoDigits(buffer, 14, dateTime.getMinute());
+            buffer[16] = ':';
+            writeTwoDigits(buffer, 17, dateTime.getSecond());
+            int length = 19;
+            int nano = dateTime.getNano();
+            if (nano != 0) {
+                buffer[length++] = '.';
+                int digits = 9;
+                while (nano % 10 == 0) {
+                    nano /= 10;
+                    digits--;
+                }
+                for (int i = length + digits - 1; i >= length; i--) {
+                    buffer[i] = (char) ('0' + nano % 10);
+                    nano /= 10;
+                }
+                length += digits;
+            }
+            gen.writeString(buffer, 0, length);
+        }
+    }
+    
+    private static boolean isFourDigitYear(int year) {
+        return year >= 0 && year <= 9999;
+    }
+    
+    private static void writeDate(char[] buffer, LocalDate date) {
+        int year = date.getYear();
+        writeTwoDigits(buffer, 0, year / 100);
+        writeTwoDigits(buffer, 2, year % 100);
+        buffer[4] = '-';
+        writeTwoDigits(buffer, 5, date.getMonthValue());
+        buffer[7] = '-';
+        writeTwoDigits(buffer, 8, date.getDayOfMonth());
+    }
+    
+    private static void writeTwoDigits(char[] buffer, int offset, int value) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+}
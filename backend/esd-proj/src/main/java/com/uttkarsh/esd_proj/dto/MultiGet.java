@@ -0,0 +1,62 @@
+package com.uttkarsh.esd_proj.dto;
+
+import com.uttkarsh.esd_proj.exception.BusinessValidationException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Shared steps of the multi-get endpoints: IDs are de-duplicated and limited, loaded in
+ * chunks of IN-queries, and answered in the requested order with unknown IDs reported as missing
+ */
+public final class MultiGet {
+    
+    public static final int MAX_IDS = 1000;
+    public static final int CHUNK_SIZE = 200;
+    
+    private MultiGet() {
+    }
+    
+    /**
+     * Load the requested IDs chunk by chunk; the loader returns what it found by ID
+     */
+    public static <T> MultiGetResponse<T> fetch(List<Long> ids, Function<List<Long>, Map<Long, T>> loader) {
+        List<Long> requestedIds = distinctIds(ids);
+        
+        Map<Long, T> found = new HashMap<>();
+        for (int from = 0; from < requestedIds.size(); from += CHUNK_SIZE) {
+            found.putAll(loader.apply(requestedIds.subList(from, Math.min(from + CHUNK_SIZE, requestedIds.size()))));
+        }
+        
+        List<T> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new MultiGetResponse<>(items, missingIds);
+    }
+    
+    /**
+     * Remove duplicates while keeping the first-seen order, and enforce the request size limit
+     */
+    static List<Long> distinctIds(List<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.removeIf(Objects::isNull);
+        if (distinct.size() > MAX_IDS) {
+            throw new BusinessValidationException(
+                "Cannot fetch more than " + MAX_IDS + " IDs in one request"
+            );
+        }
+        return distinct;
+    }
+}
@@ -0,0 +1,35 @@
+package com.uttkarsh.esd_proj.dto;
+
+import java.util.List;
+
+public class MultiGetResponse<T> {
+    
+    private List<T> items;
+    private List<Long> missingIds;
+    
+    // Constructors
+    public MultiGetResponse() {
+    }
+    
+    public MultiGetResponse(List<T> items, List<Long> missingIds) {
+        this.items = items;
+        this.missingIds = missingIds;
+    }
+    
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+    
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+    
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.uttkarsh.esd_proj.dto;
+
+/**
+ * Size of the reporting tree under an employee, the employee not included
+ */
+public record ReportCountResponse(Long employeeId, long directReports, long totalReports) {
+}
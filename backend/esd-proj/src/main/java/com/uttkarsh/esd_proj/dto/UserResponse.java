@@ -8,6 +8,7 @@ public class UserResponse {
     private String email;
     private String name;
     private String pictureUrl;
+    private String avatarUrl;
     
     // Constructors
     public UserResponse() {
@@ -18,6 +19,7 @@ public class UserResponse {
         this.email = email;
         this.name = name;
         this.pictureUrl = pictureUrl;
+        this.avatarUrl = avatarUrl(id, pictureUrl);
     }
     
     // Getters and Setters
@@ -53,6 +55,25 @@ public class UserResponse {
         this.pictureUrl = pictureUrl;
     }
     
+    public String getAvatarUrl() {
+        return avatarUrl;
+    }
+    
+    public void setAvatarUrl(String avatarUrl) {
+        this.avatarUrl = avatarUrl;
+    }
+    
+    /**
+     * Path of the locally cached picture; versioned by the picture URL so browsers can
+     * keep it for the whole max-age and still pick up a new picture straight away
+     */
+    private static String avatarUrl(Long id, String pictureUrl) {
+        if (id == null || pictureUrl == null || pictureUrl.isBlank()) {
+            return null;
+        }
+        return "/api/users/" + id + "/avatar?v=" + Integer.toHexString(pictureUrl.hashCode());
+    }
+    
     // Static factory method
     public static UserResponse fromUser(User user) {
         return new UserResponse(
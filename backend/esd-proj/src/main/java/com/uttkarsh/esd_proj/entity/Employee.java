@@ -10,7 +10,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+    @Index(name = "idx_employees_department_id", columnList = "department_id"),
+    @Index(name = "idx_employees_manager_id", columnList = "manager_id")
+})
 public class Employee {
     
     @Id
@@ -43,6 +46,11 @@ public class Employee {
     @NotNull(message = "Department is required")
     private Department department;
     
+    // Direct manager; the closure over all levels is kept in employee_hierarchy
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "manager_id")
+    private Employee manager;
+    
     @DecimalMin(value = "0.0", inclusive = false, message = "Salary must be greater than 0")
     @Column(precision = 10, scale = 2)
     private BigDecimal salary;
@@ -124,6 +132,14 @@ public class Employee {
         this.department = department;
     }
     
+    public Employee getManager() {
+        return manager;
+    }
+    
+    public void setManager(Employee manager) {
+        this.manager = manager;
+    }
+    
     public BigDecimal getSalary() {
         return salary;
     }
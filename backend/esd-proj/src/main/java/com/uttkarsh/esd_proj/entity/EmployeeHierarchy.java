@@ -0,0 +1,74 @@
+package com.uttkarsh.esd_proj.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * One row of the closure of the reporting lines: {@code descendantId} reports to
+ * {@code ancestorId}, {@code depth} levels down. Every employee is its own ancestor at
+ * depth 0. Rows are written and removed in bulk by EmployeeHierarchyRepository only.
+ */
+@Entity
+@IdClass(EmployeeHierarchy.Key.class)
+@Table(name = "employee_hierarchy", indexes = {
+    @Index(name = "idx_employee_hierarchy_descendant_depth", columnList = "descendant_id, depth")
+})
+public class EmployeeHierarchy {
+    
+    @Id
+    private Long ancestorId;
+    
+    @Id
+    private Long descendantId;
+    
+    @Column(nullable = false)
+    private int depth;
+    
+    // Constructors
+    protected EmployeeHierarchy() {
+    }
+    
+    // Getters
+    public Long getAncestorId() {
+        return ancestorId;
+    }
+    
+    public Long getDescendantId() {
+        return descendantId;
+    }
+    
+    public int getDepth() {
+        return depth;
+    }
+    
+    /**
+     * Primary key: (ancestorId, descendantId)
+     */
+    public static class Key implements Serializable {
+        
+        private Long ancestorId;
+        private Long descendantId;
+        
+        public Key() {
+        }
+        
+        public Key(Long ancestorId, Long descendantId) {
+            this.ancestorId = ancestorId;
+            this.descendantId = descendantId;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key
+                    && Objects.equals(ancestorId, key.ancestorId)
+                    && Objects.equals(descendantId, key.descendantId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(ancestorId, descendantId);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.uttkarsh.esd_proj.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One version of an employee, valid from {@code validFrom} (inclusive) to {@code validTo}
+ * (exclusive). Never changed once written, except that the current version is closed when
+ * the next one starts or the employee is deleted.
+ */
+@Entity
+@Table(name = "employee_history", indexes = {
+    @Index(name = "idx_employee_history_employee_valid_from", columnList = "employee_id, valid_from"),
+    @Index(name = "idx_employee_history_department_valid_to_from", columnList = "department_id, valid_to, valid_from")
+})
+public class EmployeeHistory {
+    
+    /**
+     * How a version came about
+     */
+    public enum ChangeType {
+        // Current state of an employee that existed before history was recorded
+        BASELINE,
+        CREATED,
+        UPDATED
+    }
+    
+    /**
+     * {@code validTo} of current versions
+     */
+    public static final LocalDateTime OPEN = LocalDateTime.of(9999, 12, 31, 0, 0);
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, updatable = false)
+    private Long employeeId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 16)
+    private ChangeType changeType;
+    
+    @Column(nullable = false, updatable = false, length = 50)
+    private String firstName;
+    
+    @Column(nullable = false, updatable = false, length = 50)
+    private String lastName;
+    
+    @Column(nullable = false, updatable = false, length = 100)
+    private String email;
+    
+    @Column(nullable = false, updatable = false, length = 100)
+    private String position;
+    
+    @Column(nullable = false, updatable = false)
+    private Long departmentId;
+    
+    @Column(updatable = false, precision = 10, scale = 2)
+    private BigDecimal salary;
+    
+    @Column(nullable = false, updatable = false)
+    private LocalDate hireDate;
+    
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime validFrom;
+    
+    @Column(nullable = false)
+    private LocalDateTime validTo;
+    
+    // Constructors
+    protected EmployeeHistory() {
+    }
+    
+    /**
+     * The state of {@code employee} as the current version, starting at {@code validFrom}
+     */
+    public EmployeeHistory(Employee employee, ChangeType changeType, LocalDateTime validFrom) {
+        this.employeeId = employee.getId();
+        this.changeType = changeType;
+        this.firstName = employee.getFirstName();
+        this.lastName = employee.getLastName();
+        this.email = employee.getEmail();
+        this.position = employee.getPosition();
+        this.departmentId = employee.getDepartment().getId();
+        this.salary = employee.getSalary();
+        this.hireDate = employee.getHireDate();
+        this.validFrom = validFrom;
+        this.validTo = OPEN;
+    }
+    
+    /**
+     * End the current version at {@code at}
+     */
+    public void close(LocalDateTime at) {
+        this.validTo = at;
+    }
+    
+    public boolean isCurrent() {
+        return OPEN.equals(validTo);
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+    
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public String getPosition() {
+        return position;
+    }
+    
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+    
+    public BigDecimal getSalary() {
+        return salary;
+    }
+    
+    public LocalDate getHireDate() {
+        return hireDate;
+    }
+    
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+    
+    public LocalDateTime getValidTo() {
+        return validTo;
+    }
+}
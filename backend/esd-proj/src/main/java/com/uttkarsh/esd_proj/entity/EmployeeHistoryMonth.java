@@ -0,0 +1,77 @@
+package com.uttkarsh.esd_proj.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A closed employee version listed under its department for a month it was valid in, so
+ * as-of lookups read one month's versions instead of ranging over the whole history.
+ * Written when the version is closed, one row per month it spanned.
+ */
+@Entity
+@IdClass(EmployeeHistoryMonth.Key.class)
+@Table(name = "employee_history_months")
+public class EmployeeHistoryMonth {
+    
+    @Id
+    private Long departmentId;
+    
+    // First day of the month
+    @Id
+    private LocalDate monthStart;
+    
+    @Id
+    private Long historyId;
+    
+    // Constructors
+    protected EmployeeHistoryMonth() {
+    }
+    
+    // Getters
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+    
+    public LocalDate getMonthStart() {
+        return monthStart;
+    }
+    
+    public Long getHistoryId() {
+        return historyId;
+    }
+    
+    /**
+     * Primary key: (departmentId, monthStart, historyId)
+     */
+    public static class Key implements Serializable {
+        
+        private Long departmentId;
+        private LocalDate monthStart;
+        private Long historyId;
+        
+        public Key() {
+        }
+        
+        public Key(Long departmentId, LocalDate monthStart, Long historyId) {
+            this.departmentId = departmentId;
+            this.monthStart = monthStart;
+            this.historyId = historyId;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key
+                    && Objects.equals(departmentId, key.departmentId)
+                    && Objects.equals(monthStart, key.monthStart)
+                    && Objects.equals(historyId, key.historyId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(departmentId, monthStart, historyId);
+        }
+    }
+}
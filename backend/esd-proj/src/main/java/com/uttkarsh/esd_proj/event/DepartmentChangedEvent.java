@@ -0,0 +1,7 @@
+package com.uttkarsh.esd_proj.event;
+
+/**
+ * Published when a department is created, updated or deleted
+ */
+public record DepartmentChangedEvent(Long departmentId) {
+}
@@ -0,0 +1,10 @@
+package com.uttkarsh.esd_proj.event;
+
+import java.util.Set;
+
+/**
+ * Published when an employee is created, updated or deleted; departmentIds holds every
+ * department whose headcount may have changed
+ */
+public record EmployeeChangedEvent(Long employeeId, Set<Long> departmentIds) {
+}
@@ -0,0 +1,15 @@
+package com.uttkarsh.esd_proj.exception;
+
+/**
+ * The upstream image host failed or returned something that is not a usable avatar
+ */
+public class AvatarUnavailableException extends RuntimeException {
+    
+    public AvatarUnavailableException(String message) {
+        super(message);
+    }
+    
+    public AvatarUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.uttkarsh.esd_proj.exception;
+
+/**
+ * Load shedding signal; carries no stack trace since it is thrown most under load
+ */
+public class BulkheadFullException extends RuntimeException {
+    
+    public BulkheadFullException(String workload) {
+        super("Too many concurrent " + workload + " requests. Please retry later.", null, false, false);
+    }
+}
@@ -1,8 +1,11 @@
 package com.uttkarsh.esd_proj.exception;
 
+/**
+ * Expected rejection of a request; carries no stack trace since it is never a bug
+ */
 public class BusinessValidationException extends RuntimeException {
     
     public BusinessValidationException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -1,16 +1,22 @@
 package com.uttkarsh.esd_proj.exception;
 
-import org.springframework.http.HttpStatus;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Maps exceptions to RFC 7807 problem responses (see {@link ProblemType})
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     
@@ -18,7 +24,7 @@ public class GlobalExceptionHandler {
      * Handle validation errors (400 Bad Request)
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
+    public ResponseEntity<ProblemResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
@@ -26,54 +32,111 @@ public class GlobalExceptionHandler {
             errors.put(fieldName, errorMessage);
         });
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Validation Failed");
-        response.put("errors", errors);
-        
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        ProblemType problemType = ProblemType.VALIDATION_FAILED;
+        return ResponseEntity.status(problemType.getStatus())
+                .contentType(ProblemType.PROBLEM_JSON)
+                .body(problemType.problem(null, errors));
     }
     
     /**
      * Handle resource not found errors (404 Not Found)
      */
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleResourceNotFoundException(ResourceNotFoundException ex) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.NOT_FOUND.value());
-        response.put("error", "Resource Not Found");
-        response.put("message", ex.getMessage());
-        
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    public ResponseEntity<ProblemResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        return ProblemType.RESOURCE_NOT_FOUND.response(ex.getMessage());
+    }
+    
+    /**
+     * Handle request bodies that cannot be read (400 Bad Request)
+     * e.g. malformed JSON, or a protobuf body, which is only ever written
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ProblemResponse> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
+        return ProblemType.BAD_REQUEST.response("Request body could not be read");
+    }
+    
+    /**
+     * Handle requests for a representation the endpoint cannot produce (406 Not Acceptable)
+     * e.g. Accept: application/x-protobuf on a single-resource endpoint
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<ProblemResponse> handleHttpMediaTypeNotAcceptableException(HttpMediaTypeNotAcceptableException ex) {
+        return ProblemType.NOT_ACCEPTABLE.response("Supported media types: "
+                + MediaType.toString(ex.getSupportedMediaTypes()));
     }
     
     /**
      * Handle business validation errors (422 Unprocessable Entity)
      */
     @ExceptionHandler(BusinessValidationException.class)
-    public ResponseEntity<Map<String, Object>> handleBusinessValidationException(BusinessValidationException ex) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.UNPROCESSABLE_ENTITY.value());
-        response.put("error", "Business Validation Failed");
-        response.put("message", ex.getMessage());
+    public ResponseEntity<ProblemResponse> handleBusinessValidationException(BusinessValidationException ex) {
+        return ProblemType.BUSINESS_VALIDATION_FAILED.response(ex.getMessage());
+    }
+    
+    /**
+     * Handle unique constraint violations that got past the service checks (422 Unprocessable Entity)
+     * e.g. a duplicate email written concurrently or by another instance
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ProblemResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        String cause = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        String message;
+        if (cause.contains("uk_employees_email")) {
+            message = "An employee with this email already exists";
+        } else if (cause.contains("uk_departments_name")) {
+            message = "A department with this name already exists";
+        } else {
+            message = "The request conflicts with existing data";
+        }
         
-        return new ResponseEntity<>(response, HttpStatus.UNPROCESSABLE_ENTITY);
+        return ProblemType.BUSINESS_VALIDATION_FAILED.response(message);
+    }
+    
+    /**
+     * Handle bulkhead rejections (503 Service Unavailable)
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ProblemResponse> handleBulkheadFullException(BulkheadFullException ex) {
+        return serviceUnavailable(ex.getMessage());
+    }
+    
+    /**
+     * Handle writes that kept hitting deadlocks or lock timeouts after retrying (503 Service Unavailable)
+     */
+    @ExceptionHandler(TransactionRetryExhaustedException.class)
+    public ResponseEntity<ProblemResponse> handleTransactionRetryExhaustedException(TransactionRetryExhaustedException ex) {
+        return serviceUnavailable(ex.getMessage());
+    }
+    
+    /**
+     * Handle analytics queries while the columnar snapshot is disabled or loading (503 Service Unavailable)
+     */
+    @ExceptionHandler(SnapshotUnavailableException.class)
+    public ResponseEntity<ProblemResponse> handleSnapshotUnavailableException(SnapshotUnavailableException ex) {
+        return serviceUnavailable(ex.getMessage());
+    }
+    
+    /**
+     * Handle avatar images that could not be fetched from the upstream host (502 Bad Gateway)
+     */
+    @ExceptionHandler(AvatarUnavailableException.class)
+    public ResponseEntity<ProblemResponse> handleAvatarUnavailableException(AvatarUnavailableException ex) {
+        return ProblemType.BAD_GATEWAY.response(ex.getMessage());
     }
     
     /**
      * Handle all other exceptions (500 Internal Server Error)
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGlobalException(Exception ex) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        response.put("error", "Internal Server Error");
-        response.put("message", ex.getMessage());
-        
-        return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<ProblemResponse> handleGlobalException(Exception ex) {
+        return ProblemType.INTERNAL_ERROR.response(ex.getMessage());
+    }
+    
+    private static ResponseEntity<ProblemResponse> serviceUnavailable(String message) {
+        ProblemType problemType = ProblemType.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(problemType.getStatus())
+                .contentType(ProblemType.PROBLEM_JSON)
+                .header("Retry-After", "1")
+                .body(problemType.problem(message));
     }
 }
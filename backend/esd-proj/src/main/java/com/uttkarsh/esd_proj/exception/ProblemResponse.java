@@ -0,0 +1,37 @@
+package com.uttkarsh.esd_proj.exception;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * RFC 7807 problem details body. "error" and "message" repeat the title and detail
+ * under the names clients of the earlier error format read.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProblemResponse(
+        String type,
+        String title,
+        int status,
+        String detail,
+        Instant timestamp,
+        Map<String, String> errors
+) {
+    
+    static ProblemResponse of(ProblemType problemType, String detail, Map<String, String> errors) {
+        return new ProblemResponse(problemType.getType(), problemType.getTitle(),
+                problemType.getStatus().value(), detail, Instant.now(), errors);
+    }
+    
+    @JsonProperty("error")
+    public String error() {
+        return title;
+    }
+    
+    @JsonProperty("message")
+    public String message() {
+        return detail;
+    }
+}
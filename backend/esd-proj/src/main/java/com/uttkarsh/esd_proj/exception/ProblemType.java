@@ -0,0 +1,62 @@
+package com.uttkarsh.esd_proj.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+/**
+ * The kinds of RFC 7807 problem the API returns. The type URI, title and status of each
+ * are fixed, so a response only needs the detail and a timestamp.
+ */
+public enum ProblemType {
+    
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST, "Validation Failed"),
+    BAD_REQUEST(HttpStatus.BAD_REQUEST, "Bad Request"),
+    RESOURCE_NOT_FOUND(HttpStatus.NOT_FOUND, "Resource Not Found"),
+    NOT_ACCEPTABLE(HttpStatus.NOT_ACCEPTABLE, "Not Acceptable"),
+    CONFLICT(HttpStatus.CONFLICT, "Conflict"),
+    BUSINESS_VALIDATION_FAILED(HttpStatus.UNPROCESSABLE_ENTITY, "Business Validation Failed"),
+    UNPROCESSABLE_ENTITY(HttpStatus.UNPROCESSABLE_ENTITY, "Unprocessable Entity"),
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests"),
+    BAD_GATEWAY(HttpStatus.BAD_GATEWAY, "Bad Gateway"),
+    SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error");
+    
+    public static final MediaType PROBLEM_JSON = MediaType.APPLICATION_PROBLEM_JSON;
+    
+    private final HttpStatus status;
+    private final String title;
+    private final String type;
+    
+    ProblemType(HttpStatus status, String title) {
+        this.status = status;
+        this.title = title;
+        this.type = "urn:esd-proj:problem:" + name().toLowerCase().replace('_', '-');
+    }
+    
+    public HttpStatus getStatus() {
+        return status;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public ProblemResponse problem(String detail) {
+        return ProblemResponse.of(this, detail, null);
+    }
+    
+    public ProblemResponse problem(String detail, Map<String, String> errors) {
+        return ProblemResponse.of(this, detail, errors);
+    }
+    
+    public ResponseEntity<ProblemResponse> response(String detail) {
+        return ResponseEntity.status(status).contentType(PROBLEM_JSON).body(problem(detail));
+    }
+}
@@ -1,12 +1,15 @@
 package com.uttkarsh.esd_proj.exception;
 
+/**
+ * Expected rejection of a request; carries no stack trace since it is never a bug
+ */
 public class ResourceNotFoundException extends RuntimeException {
     
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
     
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s not found with %s: '%s'", resourceName, fieldName, fieldValue));
+        this(String.format("%s not found with %s: '%s'", resourceName, fieldName, fieldValue));
     }
 }
@@ -0,0 +1,12 @@
+package com.uttkarsh.esd_proj.exception;
+
+/**
+ * The columnar snapshot is disabled or still loading; carries no stack trace since it is
+ * expected while the application starts
+ */
+public class SnapshotUnavailableException extends RuntimeException {
+    
+    public SnapshotUnavailableException(String message) {
+        super(message, null, false, false);
+    }
+}
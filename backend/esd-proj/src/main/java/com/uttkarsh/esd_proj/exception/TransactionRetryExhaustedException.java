@@ -0,0 +1,8 @@
+package com.uttkarsh.esd_proj.exception;
+
+public class TransactionRetryExhaustedException extends RuntimeException {
+    
+    public TransactionRetryExhaustedException(int attempts, Throwable cause) {
+        super("The request conflicted with concurrent changes " + attempts + " times. Please retry later.", cause);
+    }
+}
@@ -0,0 +1,265 @@
+package com.uttkarsh.esd_proj.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uttkarsh.esd_proj.entity.IdempotencyRecord;
+import com.uttkarsh.esd_proj.exception.ProblemType;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Honors the Idempotency-Key header on POST and PUT requests.
+ * The first request with a key claims it and runs normally; its response is stored and
+ * replayed, without running the handler again, for any retry with the same key and body.
+ * A retry arriving while the first request is still running gets 409, and reusing a key
+ * with a different request gets 422. Server errors release the key so the retry runs again,
+ * and a claim left by a node that stopped mid-request lapses after the in-progress timeout.
+ * Keys are scoped to the authenticated principal.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+    
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+    
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !properties.isEnabled()
+                || !("POST".equals(method) || "PUT".equals(method))
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > properties.getMaxKeyLength()) {
+            reject(response, ProblemType.BAD_REQUEST, "Idempotency-Key must be between 1 and "
+                    + properties.getMaxKeyLength() + " characters");
+            return;
+        }
+        
+        byte[] body = request.getInputStream().readAllBytes();
+        String id = recordId(principalName(), key);
+        String requestHash = sha256(request.getMethod() + " " + request.getRequestURI() + "\n"
+                + new String(body, StandardCharsets.UTF_8));
+        
+        // Answer from an existing record, or claim the key. Expired records, including claims
+        // abandoned mid-request, are taken over. Looking first keeps the insert, and the
+        // constraint violation it logs, for requests that race on a new key.
+        IdempotencyStore.Claim claim;
+        for (int attempt = 0; ; attempt++) {
+            Optional<IdempotencyRecord> existing = store.find(id);
+            if (existing.isPresent() && !existing.get().isExpired(LocalDateTime.now())) {
+                answerFromExisting(existing.get(), requestHash, response);
+                return;
+            }
+            try {
+                if (existing.isPresent()) {
+                    store.releaseExpired(id);
+                }
+                claim = store.begin(id, requestHash);
+                break;
+            } catch (DataIntegrityViolationException ex) {
+                // Claimed by a concurrent request; the next round answers from its record
+                if (attempt > 0) {
+                    answerFromExisting(null, requestHash, response);
+                    return;
+                }
+            }
+        }
+        
+        record("executed");
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+            int status = cachingResponse.getStatus();
+            if (isReplayable(status)) {
+                store.complete(claim, status, cachingResponse.getContentType(),
+                        new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                store.release(claim);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+    
+    private void answerFromExisting(IdempotencyRecord existing, String requestHash,
+                                    HttpServletResponse response) throws IOException {
+        if (existing == null || existing.getStatus() == IdempotencyRecord.Status.IN_PROGRESS) {
+            record("in_progress");
+            response.setHeader("Retry-After", "1");
+            reject(response, ProblemType.CONFLICT,
+                    "A request with this Idempotency-Key is still being processed. Please retry later.");
+            return;
+        }
+        if (!existing.getRequestHash().equals(requestHash)) {
+            record("mismatch");
+            reject(response, ProblemType.UNPROCESSABLE_ENTITY,
+                    "This Idempotency-Key was already used for a different request");
+            return;
+        }
+        
+        record("replayed");
+        response.setStatus(existing.getResponseStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (existing.getResponseContentType() != null) {
+            response.setContentType(existing.getResponseContentType());
+        }
+        if (existing.getResponseBody() != null) {
+            byte[] replayBody = existing.getResponseBody().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(replayBody.length);
+            response.getOutputStream().write(replayBody);
+        }
+    }
+    
+    /**
+     * Successes and client errors are final; server errors, throttling and conflicts are
+     * transient, so the key is released for those and a retry runs the request again
+     */
+    private static boolean isReplayable(int status) {
+        return status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value()
+                && status != HttpStatus.CONFLICT.value();
+    }
+    
+    static String recordId(String principalName, String key) {
+        return sha256(principalName + "\n" + key);
+    }
+    
+    private static String principalName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+    
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+    
+    private void record(String outcome) {
+        meterRegistry.counter("idempotency.requests", "outcome", outcome).increment();
+    }
+    
+    private void reject(HttpServletResponse response, ProblemType problemType, String message) throws IOException {
+        response.setStatus(problemType.getStatus().value());
+        response.setContentType(ProblemType.PROBLEM_JSON.toString());
+        objectMapper.writeValue(response.getOutputStream(), problemType.problem(message));
+    }
+    
+    /**
+     * Replays a request body that has already been read
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        
+        private final byte[] body;
+        
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+                
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+                
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+                
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                /**
+                 * The body is already in memory, so it is available at once and then finished
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException ex) {
+                        readListener.onError(ex);
+                    }
+                }
+            };
+        }
+        
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+        
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+        
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.uttkarsh.esd_proj.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for Idempotency-Key handling, bound from app.idempotency.*
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * How long a stored response is replayed for; after that the key can be reused
+     */
+    private Duration ttl = Duration.ofHours(24);
+    
+    /**
+     * How long a request still running holds its key; an older claim was abandoned by a node
+     * that stopped mid-request and the next retry takes it over. Must exceed the longest request.
+     */
+    private Duration inProgressTimeout = Duration.ofMinutes(5);
+    
+    /**
+     * Longest accepted Idempotency-Key header value
+     */
+    private int maxKeyLength = 100;
+    
+    /**
+     * When expired keys are deleted
+     */
+    private String cleanupCron = "0 */10 * * * *";
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public Duration getTtl() {
+        return ttl;
+    }
+    
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+    
+    public Duration getInProgressTimeout() {
+        return inProgressTimeout;
+    }
+    
+    public void setInProgressTimeout(Duration inProgressTimeout) {
+        this.inProgressTimeout = inProgressTimeout;
+    }
+    
+    public int getMaxKeyLength() {
+        return maxKeyLength;
+    }
+    
+    public void setMaxKeyLength(int maxKeyLength) {
+        this.maxKeyLength = maxKeyLength;
+    }
+    
+    public String getCleanupCron() {
+        return cleanupCron;
+    }
+    
+    public void setCleanupCron(String cleanupCron) {
+        this.cleanupCron = cleanupCron;
+    }
+}
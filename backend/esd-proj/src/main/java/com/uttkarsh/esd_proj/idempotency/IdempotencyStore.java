@@ -0,0 +1,98 @@
+package com.uttkarsh.esd_proj.idempotency;
+
+import com.uttkarsh.esd_proj.entity.IdempotencyRecord;
+import com.uttkarsh.esd_proj.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Table-backed store of Idempotency-Key outcomes. Each method runs in its own short
+ * transaction, separate from the transaction of the request being protected.
+ */
+@Transactional
+public class IdempotencyStore {
+    
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+    
+    /**
+     * Matches the width of idempotency_keys.response_body
+     */
+    static final int MAX_BODY_LENGTH = 8000;
+    
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+    
+    public IdempotencyStore(IdempotencyRecordRepository repository, IdempotencyProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+    }
+    
+    /**
+     * Claim a key by inserting an in-progress record, held for the in-progress timeout
+     * Throws DataIntegrityViolationException if the key is already claimed
+     */
+    public Claim begin(String id, String requestHash) {
+        // created_at keeps microseconds, so the claim can be matched against the stored row
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        repository.saveAndFlush(new IdempotencyRecord(id, requestHash, now, now.plus(properties.getInProgressTimeout())));
+        return new Claim(id, requestHash, now);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<IdempotencyRecord> find(String id) {
+        return repository.findById(id);
+    }
+    
+    /**
+     * Store the response for replay until the TTL has passed; responses too large to store
+     * release the key instead
+     */
+    public void complete(Claim claim, int status, String contentType, String body) {
+        if (body.length() > MAX_BODY_LENGTH) {
+            log.warn("Response for idempotency key {} is too large to store ({} chars); key released", claim.id(), body.length());
+            release(claim);
+            return;
+        }
+        int updated = repository.complete(claim.id(), claim.requestHash(), claim.createdAt(), status, contentType, body,
+                LocalDateTime.now().plus(properties.getTtl()));
+        if (updated == 0) {
+            log.debug("Claim on idempotency key {} lapsed and was taken over; response not stored", claim.id());
+        }
+    }
+    
+    /**
+     * Forget a key so the request can be retried
+     */
+    public void release(Claim claim) {
+        repository.deleteClaim(claim.id(), claim.requestHash(), claim.createdAt());
+    }
+    
+    /**
+     * Forget a key whose record has expired, so it can be claimed again. Leaves a record that
+     * a concurrent request has just claimed in its place.
+     */
+    public void releaseExpired(String id) {
+        repository.deleteExpired(id, LocalDateTime.now());
+    }
+    
+    /**
+     * A key claimed by one request. Once the claim lapses another request may take the key
+     * over, so completing or releasing only touches the record while it is still this claim.
+     */
+    public record Claim(String id, String requestHash, LocalDateTime createdAt) {
+    }
+    
+    @Scheduled(cron = "${app.idempotency.cleanup-cron:0 */10 * * * *}")
+    public void deleteExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+}
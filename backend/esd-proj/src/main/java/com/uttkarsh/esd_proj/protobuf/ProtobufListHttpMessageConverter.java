@@ -0,0 +1,99 @@
+package com.uttkarsh.esd_proj.protobuf;
+
+import com.uttkarsh.esd_proj.dto.DepartmentResponse;
+import com.uttkarsh.esd_proj.dto.EmployeeResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes lists of {@link EmployeeResponse} and {@link DepartmentResponse} as length-delimited
+ * protobuf messages (schema: classpath:protobuf/esd_proj.proto), encoding and writing one row
+ * at a time so the body is never held in memory as a whole. Write-only.
+ */
+public class ProtobufListHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<?>> {
+    
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+    
+    public ProtobufListHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+    
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (type == null || !List.class.isAssignableFrom(clazz) || !canWrite(mediaType)) {
+            return false;
+        }
+        Class<?> element = ResolvableType.forType(type).asCollection().resolveGeneric(0);
+        return element == EmployeeResponse.class || element == DepartmentResponse.class;
+    }
+    
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+    
+    @Override
+    protected void writeInternal(List<?> rows, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        ProtobufWriter writer = new ProtobufWriter();
+        for (Object row : rows) {
+            writer.reset();
+            if (row instanceof EmployeeResponse employee) {
+                writeEmployee(employee, writer);
+            } else {
+                writeDepartment((DepartmentResponse) row, writer);
+            }
+            writer.writeDelimitedTo(body);
+        }
+    }
+    
+    private static void writeEmployee(EmployeeResponse employee, ProtobufWriter writer) {
+        writer.writeInt64(1, employee.id());
+        writer.writeString(2, employee.firstName());
+        writer.writeString(3, employee.lastName());
+        writer.writeString(4, employee.email());
+        writer.writeString(5, employee.position());
+        writer.writeInt64(6, employee.departmentId());
+        writer.writeString(7, employee.departmentName());
+        writer.writeString(8, employee.salary() != null ? employee.salary().toString() : null);
+        writer.writeDate(9, employee.hireDate());
+        writer.writeTimestamp(10, employee.createdAt());
+        writer.writeTimestamp(11, employee.updatedAt());
+        writer.writeInt64(12, employee.managerId());
+    }
+    
+    private static void writeDepartment(DepartmentResponse department, ProtobufWriter writer) {
+        writer.writeInt64(1, department.id());
+        writer.writeString(2, department.name());
+        writer.writeInt32(3, department.capacity());
+        writer.writeString(4, department.description());
+        writer.writeInt32(5, department.employeeCount());
+        writer.writeTimestamp(6, department.createdAt());
+        writer.writeTimestamp(7, department.updatedAt());
+    }
+    
+    @Override
+    protected List<?> readInternal(Class<? extends List<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+    
+    @Override
+    public List<?> read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+}
@@ -0,0 +1,124 @@
+package com.uttkarsh.esd_proj.protobuf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Protobuf wire-format encoder for one message at a time, reused across the rows of a
+ * response. Null values are skipped, which is how absent fields are encoded.
+ */
+final class ProtobufWriter {
+    
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_LENGTH_DELIMITED = 2;
+    
+    private byte[] buffer = new byte[256];
+    private int position;
+    
+    void reset() {
+        position = 0;
+    }
+    
+    void writeInt64(int field, Long value) {
+        if (value != null) {
+            writeTag(field, WIRE_VARINT);
+            writeVarint(value);
+        }
+    }
+    
+    void writeInt32(int field, Integer value) {
+        if (value != null) {
+            writeTag(field, WIRE_VARINT);
+            // Negative int32 values are sign-extended to ten bytes, as protoc does
+            writeVarint(value.longValue());
+        }
+    }
+    
+    void writeString(int field, String value) {
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeTag(field, WIRE_LENGTH_DELIMITED);
+            writeVarint(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+    }
+    
+    /**
+     * Days since the epoch as an int32
+     */
+    void writeDate(int field, LocalDate value) {
+        if (value != null) {
+            writeInt32(field, Math.toIntExact(value.toEpochDay()));
+        }
+    }
+    
+    /**
+     * A google.protobuf.Timestamp holding the date-time read as UTC
+     */
+    void writeTimestamp(int field, LocalDateTime value) {
+        if (value != null) {
+            long seconds = value.toEpochSecond(ZoneOffset.UTC);
+            int nanos = value.getNano();
+            int size = 1 + varintSize(seconds) + (nanos != 0 ? 1 + varintSize(nanos) : 0);
+            writeTag(field, WIRE_LENGTH_DELIMITED);
+            writeVarint(size);
+            writeTag(1, WIRE_VARINT);
+            writeVarint(seconds);
+            if (nanos != 0) {
+                writeTag(2, WIRE_VARINT);
+                writeVarint(nanos);
+            }
+        }
+    }
+    
+    /**
+     * Write the current message to {@code out} preceded by its size
+     */
+    void writeDelimitedTo(OutputStream out) throws IOException {
+        byte[] prefix = new byte[5];
+        int prefixLength = 0;
+        int size = position;
+        while ((size & ~0x7F) != 0) {
+            prefix[prefixLength++] = (byte) ((size & 0x7F) | 0x80);
+            size >>>= 7;
+        }
+        prefix[prefixLength++] = (byte) size;
+        out.write(prefix, 0, prefixLength);
+        out.write(buffer, 0, position);
+    }
+    
+    private void writeTag(int field, int wireType) {
+        writeVarint((field << 3) | wireType);
+    }
+    
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+    
+    private static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+    
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+}
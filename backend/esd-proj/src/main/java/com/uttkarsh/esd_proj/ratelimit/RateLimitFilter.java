@@ -0,0 +1,182 @@
+package com.uttkarsh.esd_proj.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uttkarsh.esd_proj.exception.ProblemType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a per-principal token bucket and a global concurrency limit to API requests.
+ * Reads and writes have separate budgets so a client flooding writes cannot starve reads.
+ * Must run after the Spring Security filter chain so the OAuth2 principal is available.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    
+    private final Map<String, TokenBucket> readBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> writeBuckets = new ConcurrentHashMap<>();
+    private final Semaphore readPermits;
+    private final Semaphore writePermits;
+    
+    private final Counter readsRateLimited;
+    private final Counter writesRateLimited;
+    private final Counter readsShed;
+    private final Counter writesShed;
+    
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.readPermits = new Semaphore(properties.getMaxConcurrentReads());
+        this.writePermits = new Semaphore(properties.getMaxConcurrentWrites());
+        
+        this.readsRateLimited = rejectionCounter(meterRegistry, "read", "rate_limited");
+        this.writesRateLimited = rejectionCounter(meterRegistry, "write", "rate_limited");
+        this.readsShed = rejectionCounter(meterRegistry, "read", "overloaded");
+        this.writesShed = rejectionCounter(meterRegistry, "write", "overloaded");
+        
+        Gauge.builder("api.requests.in.flight", readPermits,
+                        permits -> properties.getMaxConcurrentReads() - permits.availablePermits())
+                .tag("kind", "read")
+                .register(meterRegistry);
+        Gauge.builder("api.requests.in.flight", writePermits,
+                        permits -> properties.getMaxConcurrentWrites() - permits.availablePermits())
+                .tag("kind", "write")
+                .register(meterRegistry);
+    }
+    
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String kind, String reason) {
+        return Counter.builder("api.requests.rejected")
+                .description("API requests rejected by the rate limiter or load shedder")
+                .tag("kind", kind)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean write = isWrite(request.getMethod());
+        
+        TokenBucket bucket = bucketFor(write ? writeBuckets : readBuckets,
+                write ? properties.getWrite() : properties.getRead(), resolveKey(request));
+        if (!bucket.tryAcquire()) {
+            (write ? writesRateLimited : readsRateLimited).increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilNextToken()) + 1);
+            reject(response, ProblemType.RATE_LIMITED, retryAfterSeconds,
+                    "Rate limit exceeded. Please retry later.");
+            return;
+        }
+        
+        Semaphore permits = write ? writePermits : readPermits;
+        if (!permits.tryAcquire()) {
+            (write ? writesShed : readsShed).increment();
+            reject(response, ProblemType.SERVICE_UNAVAILABLE, 1,
+                    "Server is busy. Please retry later.");
+            return;
+        }
+        
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+    
+    private TokenBucket bucketFor(Map<String, TokenBucket> buckets, RateLimitProperties.Budget budget, String key) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        
+        if (buckets.size() >= properties.getMaxTrackedPrincipals()) {
+            evict(buckets);
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(budget.getCapacity(), budget.getRefillPerSecond()));
+    }
+    
+    /**
+     * Drop idle buckets, then, if every bucket is still in use, the ones closest to full
+     * until a quarter of the limit is free again, so a flood of new clients cannot grow the
+     * map and pays for the sort only once per batch
+     */
+    private void evict(Map<String, TokenBucket> buckets) {
+        synchronized (buckets) {
+            int limit = properties.getMaxTrackedPrincipals();
+            if (buckets.size() < limit) {
+                return;
+            }
+            // Full buckets carry no state, so dropping them is equivalent to keeping them
+            buckets.values().removeIf(TokenBucket::isIdle);
+            int excess = buckets.size() - limit * 3 / 4;
+            if (excess > 0) {
+                // Other requests keep taking tokens meanwhile, so sort a snapshot taken at one instant
+                long now = System.nanoTime();
+                List<Map.Entry<String, Long>> untilFull = new ArrayList<>(buckets.size());
+                buckets.forEach((key, bucket) -> untilFull.add(Map.entry(key, bucket.nanosUntilFull(now))));
+                untilFull.sort(Map.Entry.comparingByValue());
+                for (int i = 0; i < excess && i < untilFull.size(); i++) {
+                    buckets.remove(untilFull.get(i).getKey());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Buckets currently held for the read and write budgets together
+     */
+    int trackedBuckets() {
+        return readBuckets.size() + writeBuckets.size();
+    }
+    
+    private static String resolveKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            if (authentication.getPrincipal() instanceof OAuth2User oAuth2User) {
+                String email = oAuth2User.getAttribute("email");
+                if (email != null) {
+                    return email;
+                }
+            }
+            return authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+    
+    private static boolean isWrite(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+    
+    private void reject(HttpServletResponse response, ProblemType problemType, long retryAfterSeconds,
+                        String message) throws IOException {
+        response.setStatus(problemType.getStatus().value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(ProblemType.PROBLEM_JSON.toString());
+        objectMapper.writeValue(response.getOutputStream(), problemType.problem(message));
+    }
+}
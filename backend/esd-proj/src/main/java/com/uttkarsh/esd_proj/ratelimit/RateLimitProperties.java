@@ -0,0 +1,126 @@
+package com.uttkarsh.esd_proj.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits applied to /api/** requests, bound from app.rate-limit.*
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Per-principal budget for GET/HEAD/OPTIONS requests
+     */
+    private Budget read = new Budget(100, 50);
+    
+    /**
+     * Per-principal budget for POST/PUT/PATCH/DELETE requests
+     */
+    private Budget write = new Budget(20, 5);
+    
+    /**
+     * Maximum reads in flight across all principals; keep reads + writes
+     * at or below the connection pool size so requests are shed before
+     * they queue on the pool
+     */
+    private int maxConcurrentReads = 6;
+    
+    /**
+     * Maximum writes in flight across all principals
+     */
+    private int maxConcurrentWrites = 4;
+    
+    /**
+     * Number of tracked principals per budget above which idle buckets are evicted,
+     * followed by the ones closest to full if that does not free enough
+     */
+    private int maxTrackedPrincipals = 10_000;
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public Budget getRead() {
+        return read;
+    }
+    
+    public void setRead(Budget read) {
+        this.read = read;
+    }
+    
+    public Budget getWrite() {
+        return write;
+    }
+    
+    public void setWrite(Budget write) {
+        this.write = write;
+    }
+    
+    public int getMaxConcurrentReads() {
+        return maxConcurrentReads;
+    }
+    
+    public void setMaxConcurrentReads(int maxConcurrentReads) {
+        this.maxConcurrentReads = maxConcurrentReads;
+    }
+    
+    public int getMaxConcurrentWrites() {
+        return maxConcurrentWrites;
+    }
+    
+    public void setMaxConcurrentWrites(int maxConcurrentWrites) {
+        this.maxConcurrentWrites = maxConcurrentWrites;
+    }
+    
+    public int getMaxTrackedPrincipals() {
+        return maxTrackedPrincipals;
+    }
+    
+    public void setMaxTrackedPrincipals(int maxTrackedPrincipals) {
+        this.maxTrackedPrincipals = maxTrackedPrincipals;
+    }
+    
+    public static class Budget {
+        
+        /**
+         * Burst size
+         */
+        private int capacity;
+        
+        /**
+         * Sustained requests per second
+         */
+        private double refillPerSecond;
+        
+        public Budget() {
+        }
+        
+        public Budget(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+        
+        public int getCapacity() {
+            return capacity;
+        }
+        
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+        
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+        
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
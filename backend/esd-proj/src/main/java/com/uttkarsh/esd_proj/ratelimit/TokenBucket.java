@@ -0,0 +1,75 @@
+package com.uttkarsh.esd_proj.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm (GCRA).
+ * The whole bucket state is a single "theoretical arrival time", so acquiring a
+ * token is one compare-and-set with no allocation.
+ */
+public class TokenBucket {
+    
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+    
+    /**
+     * @param capacity maximum number of tokens (burst size)
+     * @param refillPerSecond tokens added back per second
+     */
+    public TokenBucket(int capacity, double refillPerSecond) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+    
+    /**
+     * Take one token if available
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+    
+    boolean tryAcquire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long base = Math.max(arrival, now);
+            if (base - now > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, base + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Nanoseconds until the next token becomes available (0 if one is available now)
+     */
+    public long nanosUntilNextToken() {
+        long now = System.nanoTime();
+        return Math.max(0, theoreticalArrival.get() - burstToleranceNanos - now);
+    }
+    
+    /**
+     * Nanoseconds until the bucket is full again (0 if it is full now)
+     */
+    public long nanosUntilFull() {
+        return nanosUntilFull(System.nanoTime());
+    }
+    
+    long nanosUntilFull(long now) {
+        return Math.max(0, theoreticalArrival.get() - now);
+    }
+    
+    /**
+     * A bucket is idle when it is full again; idle buckets can be dropped and recreated
+     */
+    public boolean isIdle() {
+        return theoreticalArrival.get() <= System.nanoTime();
+    }
+}
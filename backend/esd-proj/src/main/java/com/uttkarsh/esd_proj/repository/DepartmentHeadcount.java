@@ -0,0 +1,11 @@
+package com.uttkarsh.esd_proj.repository;
+
+/**
+ * Projection of the number of employees in a department
+ */
+public interface DepartmentHeadcount {
+    
+    Long getDepartmentId();
+    
+    long getEmployeeCount();
+}
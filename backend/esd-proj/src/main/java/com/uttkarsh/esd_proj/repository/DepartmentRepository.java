@@ -2,6 +2,7 @@ package com.uttkarsh.esd_proj.repository;
 
 import com.uttkarsh.esd_proj.entity.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -24,4 +25,16 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
      * Useful for update operations to check uniqueness
      */
     boolean existsByNameAndIdNot(String name, Long id);
+    
+    /**
+     * Count departments and sum their capacity in one query
+     */
+    @Query("SELECT COUNT(d) AS departmentCount, COALESCE(SUM(d.capacity), 0) AS totalCapacity FROM Department d")
+    DepartmentTotals getTotals();
+    
+    /**
+     * Row count, highest ID and latest update of the departments table
+     */
+    @Query("SELECT COUNT(d) AS rowCount, MAX(d.id) AS maxId, MAX(d.updatedAt) AS lastUpdated FROM Department d")
+    TableVersion getTableVersion();
 }
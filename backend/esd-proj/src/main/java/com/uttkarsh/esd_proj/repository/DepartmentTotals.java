@@ -0,0 +1,11 @@
+package com.uttkarsh.esd_proj.repository;
+
+/**
+ * Projection of the number of departments and their combined capacity
+ */
+public interface DepartmentTotals {
+    
+    long getDepartmentCount();
+    
+    long getTotalCapacity();
+}
@@ -0,0 +1,20 @@
+package com.uttkarsh.esd_proj.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projection of the employee attributes kept in the columnar snapshot
+ */
+public interface EmployeeAttributes {
+    
+    Long getId();
+    
+    Long getDepartmentId();
+    
+    String getPosition();
+    
+    BigDecimal getSalary();
+    
+    LocalDate getHireDate();
+}
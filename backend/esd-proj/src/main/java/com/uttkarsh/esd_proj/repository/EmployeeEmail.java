@@ -0,0 +1,11 @@
+package com.uttkarsh.esd_proj.repository;
+
+/**
+ * Projection of an employee's ID and email, used for keyset scans over all emails
+ */
+public interface EmployeeEmail {
+    
+    Long getId();
+    
+    String getEmail();
+}
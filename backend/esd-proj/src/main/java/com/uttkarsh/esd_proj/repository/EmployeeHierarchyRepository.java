@@ -0,0 +1,99 @@
+package com.uttkarsh.esd_proj.repository;
+
+import com.uttkarsh.esd_proj.entity.EmployeeHierarchy;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmployeeHierarchyRepository extends JpaRepository<EmployeeHierarchy, EmployeeHierarchy.Key> {
+    
+    /**
+     * Serialize changes to the reporting lines until the end of the transaction. Must come
+     * before reading the rows the change depends on.
+     */
+    @Query(value = "SELECT id FROM employee_hierarchy_lock WHERE id = 1 FOR UPDATE", nativeQuery = true)
+    Integer lockHierarchy();
+    
+    /**
+     * Whether {@code descendantId} is {@code ancestorId} or reports to them at any depth. A
+     * locking read, so it sees changes committed after the transaction's first read.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+    
+    /**
+     * The employee and everyone under them, with their depth below the employee; a locking
+     * read like the cycle check
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT h.descendantId AS employeeId, h.depth AS depth " +
+           "FROM EmployeeHierarchy h WHERE h.ancestorId = :employeeId")
+    List<TreeMember> findTree(@Param("employeeId") Long employeeId);
+    
+    /**
+     * Size of the tree under an employee, the employee included, and its direct reports, in one read
+     * of the primary key range; an unknown employee has a tree size of 0
+     */
+    @Query("SELECT COUNT(h) AS treeSize, COALESCE(SUM(CASE WHEN h.depth = 1 THEN 1 ELSE 0 END), 0) AS directReports " +
+           "FROM EmployeeHierarchy h WHERE h.ancestorId = :employeeId")
+    ReportCounts countReports(@Param("employeeId") Long employeeId);
+    
+    /**
+     * The depth 0 row of a new employee
+     */
+    @Modifying
+    @Query("INSERT INTO EmployeeHierarchy (ancestorId, descendantId, depth) VALUES (:employeeId, :employeeId, 0)")
+    void insertSelf(@Param("employeeId") Long employeeId);
+    
+    /**
+     * Link the tree under {@code employeeId} below {@code managerId}: every manager above and
+     * including {@code managerId} becomes an ancestor of every employee in the tree
+     */
+    @Modifying
+    @Query("INSERT INTO EmployeeHierarchy (ancestorId, descendantId, depth) " +
+           "SELECT a.ancestorId, d.descendantId, a.depth + d.depth + 1 " +
+           "FROM EmployeeHierarchy a, EmployeeHierarchy d " +
+           "WHERE a.descendantId = :managerId AND d.ancestorId = :employeeId")
+    int attach(@Param("employeeId") Long employeeId, @Param("managerId") Long managerId);
+    
+    /**
+     * Remove the links of the given employees to managers more than {@code depth} levels above them.
+     * For the members {@code depth} levels below the top of a tree, these are the links to the
+     * managers above the tree. Ranges over (descendant_id, depth) only, so the cost does not
+     * depend on how many employees those managers have.
+     */
+    @Modifying
+    @Query("DELETE FROM EmployeeHierarchy h WHERE h.descendantId IN :employeeIds AND h.depth > :depth")
+    int detachAbove(@Param("employeeIds") Collection<Long> employeeIds, @Param("depth") int depth);
+    
+    /**
+     * Bring the given employees one level closer to the managers more than {@code depth} levels
+     * above them, for when the top of their tree is removed
+     */
+    @Modifying
+    @Query("UPDATE EmployeeHierarchy h SET h.depth = h.depth - 1 " +
+           "WHERE h.descendantId IN :employeeIds AND h.depth > :depth")
+    int shortenAbove(@Param("employeeIds") Collection<Long> employeeIds, @Param("depth") int depth);
+    
+    /**
+     * The rows linking an employee to everyone under them, themselves included
+     */
+    @Modifying
+    @Query("DELETE FROM EmployeeHierarchy h WHERE h.ancestorId = :employeeId")
+    int deleteByAncestor(@Param("employeeId") Long employeeId);
+    
+    /**
+     * The rows linking an employee to their managers, themselves included
+     */
+    @Modifying
+    @Query("DELETE FROM EmployeeHierarchy h WHERE h.descendantId = :employeeId")
+    int deleteByDescendant(@Param("employeeId") Long employeeId);
+}
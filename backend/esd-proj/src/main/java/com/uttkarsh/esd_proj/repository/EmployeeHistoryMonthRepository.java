@@ -0,0 +1,23 @@
+package com.uttkarsh.esd_proj.repository;
+
+import com.uttkarsh.esd_proj.entity.EmployeeHistoryMonth;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface EmployeeHistoryMonthRepository extends JpaRepository<EmployeeHistoryMonth, EmployeeHistoryMonth.Key> {
+    
+    /**
+     * List a closed version under its department for the month starting on {@code monthStart}
+     */
+    @Modifying
+    @Query("INSERT INTO EmployeeHistoryMonth (departmentId, monthStart, historyId) " +
+           "VALUES (:departmentId, :monthStart, :historyId)")
+    void insert(@Param("departmentId") Long departmentId, @Param("monthStart") LocalDate monthStart,
+                @Param("historyId") Long historyId);
+}
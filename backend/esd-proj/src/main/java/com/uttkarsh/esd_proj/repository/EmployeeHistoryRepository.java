@@ -0,0 +1,57 @@
+package com.uttkarsh.esd_proj.repository;
+
+import com.uttkarsh.esd_proj.entity.EmployeeHistory;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EmployeeHistoryRepository extends JpaRepository<EmployeeHistory, Long> {
+    
+    /**
+     * Every version of an employee, oldest first
+     */
+    List<EmployeeHistory> findByEmployeeIdOrderByValidFromAscIdAsc(Long employeeId);
+    
+    /**
+     * The version of an employee valid at {@code at}
+     */
+    @Query("SELECT h FROM EmployeeHistory h WHERE h.employeeId = :employeeId " +
+           "AND h.validFrom <= :at AND h.validTo > :at")
+    Optional<EmployeeHistory> findAsOf(@Param("employeeId") Long employeeId, @Param("at") LocalDateTime at);
+    
+    /**
+     * The current version of an employee, locked like the closing update it precedes
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<EmployeeHistory> findByEmployeeIdAndValidTo(Long employeeId, LocalDateTime validTo);
+    
+    /**
+     * Current versions of the employees in a department who had joined it by {@code at}; pass
+     * {@link EmployeeHistory#OPEN} as {@code open}. Reads the department's current members only.
+     */
+    @Query("SELECT h FROM EmployeeHistory h WHERE h.departmentId = :departmentId " +
+           "AND h.validTo = :open AND h.validFrom <= :at")
+    List<EmployeeHistory> findOpenDepartmentMembersAsOf(@Param("departmentId") Long departmentId,
+                                                        @Param("open") LocalDateTime open,
+                                                        @Param("at") LocalDateTime at);
+    
+    /**
+     * Closed versions of the employees who were in a department at {@code at}, found through the
+     * versions listed for the month starting on {@code monthStart}, the month of {@code at}
+     */
+    @Query("SELECT h FROM EmployeeHistoryMonth m JOIN EmployeeHistory h ON h.id = m.historyId " +
+           "WHERE m.departmentId = :departmentId AND m.monthStart = :monthStart " +
+           "AND h.validFrom <= :at AND h.validTo > :at")
+    List<EmployeeHistory> findClosedDepartmentMembersAsOf(@Param("departmentId") Long departmentId,
+                                                          @Param("monthStart") LocalDate monthStart,
+                                                          @Param("at") LocalDateTime at);
+}
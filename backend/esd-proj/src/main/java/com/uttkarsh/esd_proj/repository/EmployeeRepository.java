@@ -1,20 +1,63 @@
 package com.uttkarsh.esd_proj.repository;
 
 import com.uttkarsh.esd_proj.entity.Employee;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     
+    /**
+     * Find all employees with their department fetched in the same query
+     */
+    @Override
+    @EntityGraph(attributePaths = "department")
+    List<Employee> findAll();
+    
+    /**
+     * Find employee by ID with the department fetched in the same query
+     */
+    @EntityGraph(attributePaths = "department")
+    Optional<Employee> findWithDepartmentById(Long id);
+    
+    /**
+     * Find employees by a list of IDs with their departments, in one IN-query
+     */
+    @EntityGraph(attributePaths = "department")
+    List<Employee> findByIdIn(Collection<Long> ids);
+    
     /**
      * Find all employees in a specific department
      */
+    @EntityGraph(attributePaths = "department")
     List<Employee> findByDepartmentId(Long departmentId);
     
+    /**
+     * Employees under a manager down to {@code maxDepth} levels, with their departments,
+     * nearest levels first; read through the reporting closure in one query
+     */
+    @Query("SELECT e FROM Employee e JOIN FETCH e.department JOIN EmployeeHierarchy h ON h.descendantId = e.id " +
+           "WHERE h.ancestorId = :managerId AND h.depth BETWEEN 1 AND :maxDepth ORDER BY h.depth, e.id")
+    List<Employee> findReports(@Param("managerId") Long managerId, @Param("maxDepth") int maxDepth);
+    
+    /**
+     * Move the direct reports of a manager to another manager, or to none
+     */
+    @Modifying
+    @Query("UPDATE Employee e SET e.manager = :newManager, e.updatedAt = :now WHERE e.manager.id = :managerId")
+    int reassignReports(@Param("managerId") Long managerId, @Param("newManager") Employee newManager,
+                        @Param("now") LocalDateTime now);
+    
     /**
      * Find employee by email
      */
@@ -25,6 +68,14 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      */
     long countByDepartmentId(Long departmentId);
     
+    /**
+     * Count employees per department for the given departments in one query
+     * Departments without employees are not returned
+     */
+    @Query("select e.department.id as departmentId, count(e) as employeeCount " +
+           "from Employee e where e.department.id in :departmentIds group by e.department.id")
+    List<DepartmentHeadcount> countByDepartmentIds(@Param("departmentIds") Collection<Long> departmentIds);
+    
     /**
      * Check if employee exists by email
      */
@@ -35,4 +86,37 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      * Useful for update operations to check uniqueness
      */
     boolean existsByEmailAndIdNot(String email, Long id);
+    
+    /**
+     * Next page of (id, email) pairs after the given ID, in ID order
+     * Used to scan every email in bounded chunks without holding a cursor open
+     */
+    @Query("SELECT e.id AS id, e.email AS email FROM Employee e WHERE e.id > :afterId ORDER BY e.id")
+    List<EmployeeEmail> findEmailsAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * Next page of snapshot attributes after the given ID, in ID order
+     */
+    @Query("SELECT e.id AS id, e.department.id AS departmentId, e.position AS position, " +
+           "e.salary AS salary, e.hireDate AS hireDate FROM Employee e WHERE e.id > :afterId ORDER BY e.id")
+    List<EmployeeAttributes> findAttributesAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * Snapshot attributes of the given employees; deleted ones are left out
+     */
+    @Query("SELECT e.id AS id, e.department.id AS departmentId, e.position AS position, " +
+           "e.salary AS salary, e.hireDate AS hireDate FROM Employee e WHERE e.id IN :ids")
+    List<EmployeeAttributes> findAttributesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * IDs of the most recently updated employees, latest first
+     */
+    @Query("SELECT e.id FROM Employee e ORDER BY e.updatedAt DESC, e.id DESC")
+    List<Long> findRecentlyUpdatedIds(Limit limit);
+    
+    /**
+     * Row count, highest ID and latest update of the employees table
+     */
+    @Query("SELECT COUNT(e) AS rowCount, MAX(e.id) AS maxId, MAX(e.updatedAt) AS lastUpdated FROM Employee e")
+    TableVersion getTableVersion();
 }
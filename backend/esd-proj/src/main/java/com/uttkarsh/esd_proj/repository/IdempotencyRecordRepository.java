@@ -0,0 +1,50 @@
+package com.uttkarsh.esd_proj.repository;
+
+import com.uttkarsh.esd_proj.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    
+    /**
+     * Delete records whose TTL has passed
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+    
+    /**
+     * Delete one record if its TTL has passed
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.expiresAt < :now")
+    int deleteExpired(@Param("id") String id, @Param("now") LocalDateTime now);
+    
+    /**
+     * Store the response of a claim, unless the record now belongs to another claim
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.uttkarsh.esd_proj.entity.IdempotencyRecord$Status.COMPLETED, "
+            + "r.responseStatus = :status, r.responseContentType = :contentType, r.responseBody = :body, "
+            + "r.expiresAt = :expiresAt "
+            + "WHERE r.id = :id AND r.requestHash = :requestHash AND r.createdAt = :createdAt")
+    int complete(@Param("id") String id, @Param("requestHash") String requestHash,
+                 @Param("createdAt") LocalDateTime createdAt, @Param("status") int status,
+                 @Param("contentType") String contentType, @Param("body") String body,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+    
+    /**
+     * Delete the record of a claim, unless it now belongs to another claim
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r "
+            + "WHERE r.id = :id AND r.requestHash = :requestHash AND r.createdAt = :createdAt")
+    int deleteClaim(@Param("id") String id, @Param("requestHash") String requestHash,
+                    @Param("createdAt") LocalDateTime createdAt);
+}
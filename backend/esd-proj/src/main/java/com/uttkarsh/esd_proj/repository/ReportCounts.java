@@ -0,0 +1,12 @@
+package com.uttkarsh.esd_proj.repository;
+
+/**
+ * Projection of the size of the reporting tree under an employee
+ */
+public interface ReportCounts {
+    
+    // The employee and everyone under them; 0 if the employee does not exist
+    long getTreeSize();
+    
+    long getDirectReports();
+}
@@ -0,0 +1,16 @@
+package com.uttkarsh.esd_proj.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection summarizing a table's contents: any insert, update or delete through the
+ * entities changes at least one of the values
+ */
+public interface TableVersion {
+    
+    long getRowCount();
+    
+    Long getMaxId();
+    
+    LocalDateTime getLastUpdated();
+}
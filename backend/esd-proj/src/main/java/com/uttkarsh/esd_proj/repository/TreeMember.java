@@ -0,0 +1,11 @@
+package com.uttkarsh.esd_proj.repository;
+
+/**
+ * Projection of an employee in a reporting tree and their depth below its top
+ */
+public interface TreeMember {
+    
+    Long getEmployeeId();
+    
+    int getDepth();
+}
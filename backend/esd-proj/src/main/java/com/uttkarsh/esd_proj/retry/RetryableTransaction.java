@@ -0,0 +1,19 @@
+package com.uttkarsh.esd_proj.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs the annotated write method in a fresh transaction when it fails with a deadlock
+ * or lock wait timeout, using jittered exponential backoff within a time budget.
+ * The method must be safe to run again from the start, which holds for transactional
+ * service methods because the failed attempt was rolled back.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryableTransaction {
+}
@@ -0,0 +1,117 @@
+package com.uttkarsh.esd_proj.retry;
+
+import com.uttkarsh.esd_proj.exception.TransactionRetryExhaustedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retries {@link RetryableTransaction} methods that fail with a deadlock or lock wait timeout.
+ * Runs outside the workload bulkhead and the transaction interceptor, so every attempt takes
+ * a fresh permit, connection and transaction. Calls made inside an existing transaction are
+ * not retried here; the outermost retryable call retries the whole transaction instead.
+ */
+@Aspect
+public class TransactionRetryAspect implements Ordered {
+    
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+    
+    private static final Logger log = LoggerFactory.getLogger(TransactionRetryAspect.class);
+    
+    /**
+     * 40001: serialization failure, used for deadlocks by MySQL (1213) and H2
+     * 41000: lock wait timeout in older MySQL drivers; HYT00: lock timeout in H2
+     */
+    private static final Set<String> RETRYABLE_SQL_STATES = Set.of("40001", "41000", "HYT00");
+    
+    /**
+     * MySQL ER_LOCK_WAIT_TIMEOUT and ER_LOCK_DEADLOCK; H2 LOCK_TIMEOUT_1 and DEADLOCK_1
+     */
+    private static final Set<Integer> RETRYABLE_ERROR_CODES = Set.of(1205, 1213, 50200, 40001);
+    
+    private final TransactionRetryProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    public TransactionRetryAspect(TransactionRetryProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+    
+    @Around("@annotation(com.uttkarsh.esd_proj.retry.RetryableTransaction) || @within(com.uttkarsh.esd_proj.retry.RetryableTransaction)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!properties.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+                + joinPoint.getSignature().getName();
+        long deadline = System.nanoTime() + properties.getBudget().toNanos();
+        long backoffCap = properties.getInitialBackoff().toNanos();
+        
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                if (attempt > 1) {
+                    record(method, "recovered");
+                }
+                return result;
+            } catch (Throwable ex) {
+                if (!isRetryable(ex)) {
+                    throw ex;
+                }
+                // Full jitter: sleep a random time up to the current cap so colliding
+                // transactions spread out instead of meeting again on the next attempt
+                long sleepNanos = ThreadLocalRandom.current().nextLong(backoffCap + 1);
+                if (attempt >= properties.getMaxAttempts() || System.nanoTime() + sleepNanos > deadline) {
+                    record(method, "exhausted");
+                    log.warn("{} failed after {} attempts on lock conflicts: {}", method, attempt, ex.toString());
+                    throw new TransactionRetryExhaustedException(attempt, ex);
+                }
+                record(method, "retried");
+                log.debug("{} hit a lock conflict on attempt {}, retrying in {} ms", method, attempt,
+                        TimeUnit.NANOSECONDS.toMillis(sleepNanos));
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                backoffCap = Math.min(backoffCap * 2, properties.getMaxBackoff().toNanos());
+            }
+        }
+    }
+    
+    /**
+     * Whether the failure, or anything in its cause chain, is a deadlock or lock wait timeout
+     */
+    static boolean isRetryable(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PessimisticLockingFailureException
+                    || cause instanceof jakarta.persistence.PessimisticLockException
+                    || cause instanceof jakarta.persistence.LockTimeoutException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && (RETRYABLE_SQL_STATES.contains(sqlException.getSQLState())
+                        || RETRYABLE_ERROR_CODES.contains(sqlException.getErrorCode()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void record(String method, String outcome) {
+        meterRegistry.counter("transaction.retries", "method", method, "outcome", outcome).increment();
+    }
+}
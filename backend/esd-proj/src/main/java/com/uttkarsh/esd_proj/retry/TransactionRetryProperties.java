@@ -0,0 +1,72 @@
+package com.uttkarsh.esd_proj.retry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link RetryableTransaction} methods, bound from app.transaction-retry.*
+ */
+@ConfigurationProperties(prefix = "app.transaction-retry")
+public class TransactionRetryProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Attempts including the first one
+     */
+    private int maxAttempts = 4;
+    
+    /**
+     * Upper bound of the first backoff; each later backoff doubles it up to maxBackoff
+     */
+    private Duration initialBackoff = Duration.ofMillis(20);
+    
+    private Duration maxBackoff = Duration.ofMillis(400);
+    
+    /**
+     * No further attempt starts once this much time has passed since the first one
+     */
+    private Duration budget = Duration.ofSeconds(2);
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+    
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+    
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+    
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+    
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+    
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+    
+    public Duration getBudget() {
+        return budget;
+    }
+    
+    public void setBudget(Duration budget) {
+        this.budget = budget;
+    }
+}
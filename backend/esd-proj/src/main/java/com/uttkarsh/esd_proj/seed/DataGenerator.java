@@ -0,0 +1,198 @@
+package com.uttkarsh.esd_proj.seed;
+
+import com.uttkarsh.esd_proj.bloom.EmailBloomFilter;
+import com.uttkarsh.esd_proj.columnar.EmployeeSnapshot;
+import com.uttkarsh.esd_proj.entity.EmployeeHistory;
+import com.uttkarsh.esd_proj.event.DepartmentChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills the database with synthetic departments and employees (see {@link SyntheticData})
+ * through batched JDBC inserts, employees in parallel batches, each employee with its
+ * initial history version and, having no manager, as a reporting tree of its own. Rows
+ * get explicit IDs following the current highest ones, so a run is reproducible on the
+ * same database state.
+ * Meant for an otherwise idle database: rows inserted concurrently by the application
+ * could take the same IDs.
+ * The inserts bypass the services, so afterwards the in-memory state derived from the
+ * tables is brought up to date here: a DepartmentChangedEvent per department (response
+ * cache, capacity snapshot), the new emails into the email filter and a reload of the
+ * columnar snapshot.
+ */
+public class DataGenerator {
+    
+    private static final Logger log = LoggerFactory.getLogger(DataGenerator.class);
+    
+    private static final String INSERT_DEPARTMENT = "INSERT INTO departments "
+            + "(id, name, capacity, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_EMPLOYEE = "INSERT INTO employees "
+            + "(id, first_name, last_name, email, position, department_id, salary, hire_date, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_EMPLOYEE_HISTORY = "INSERT INTO employee_history "
+            + "(id, employee_id, change_type, first_name, last_name, email, position, department_id, salary, "
+            + "hire_date, valid_from, valid_to) VALUES (?, ?, 'CREATED', ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_EMPLOYEE_HIERARCHY = "INSERT INTO employee_hierarchy "
+            + "(ancestor_id, descendant_id, depth) VALUES (?, ?, 0)";
+    // Hired employees show up at the start of the working day
+    private static final LocalTime CREATED_AT = LocalTime.of(9, 0);
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final SeedProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmailBloomFilter emailBloomFilter;
+    private final EmployeeSnapshot employeeSnapshot;
+    
+    public DataGenerator(JdbcTemplate jdbcTemplate, SeedProperties properties, ApplicationEventPublisher eventPublisher,
+                         EmailBloomFilter emailBloomFilter, EmployeeSnapshot employeeSnapshot) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.emailBloomFilter = emailBloomFilter;
+        this.employeeSnapshot = employeeSnapshot;
+    }
+    
+    /**
+     * IDs taken by a run: departments and employees each got consecutive IDs
+     */
+    public record SeedResult(long firstDepartmentId, int departments, long firstEmployeeId, int employees) {
+    }
+    
+    /**
+     * Insert {@code departments} departments and {@code employees} employees spread over them
+     */
+    public SeedResult generate(int departments, int employees) {
+        long start = System.nanoTime();
+        long firstDepartmentId = nextId("departments");
+        long firstEmployeeId = nextId("employees");
+        // History rows get explicit IDs too: concurrent batches must not depend on the identity column
+        long historyIdOffset = nextId("employee_history") - firstEmployeeId;
+        SyntheticData data = new SyntheticData(properties, departments, employees, firstDepartmentId, firstEmployeeId);
+        
+        List<SyntheticData.DepartmentRow> departmentRows = new ArrayList<>(departments);
+        for (int i = 0; i < departments; i++) {
+            departmentRows.add(data.department(i));
+        }
+        for (int from = 0; from < departments; from += properties.getBatchSize()) {
+            insertDepartments(departmentRows.subList(from, Math.min(from + properties.getBatchSize(), departments)));
+        }
+        insertEmployees(data, historyIdOffset);
+        
+        departmentRows.forEach(department -> eventPublisher.publishEvent(new DepartmentChangedEvent(department.id())));
+        employeeSnapshot.load();
+        log.info("Generated {} departments and {} employees with seed {} in {} ms", departments, employees,
+                properties.getSeed(), (System.nanoTime() - start) / 1_000_000);
+        return new SeedResult(firstDepartmentId, departments, firstEmployeeId, employees);
+    }
+    
+    private void insertEmployees(SyntheticData data, long historyIdOffset) {
+        int batchSize = properties.getBatchSize();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getThreads(),
+                runnable -> new Thread(runnable, "seed-" + threadNumber.incrementAndGet()));
+        try {
+            List<Future<?>> batches = new ArrayList<>();
+            for (int from = 0; from < data.employees(); from += batchSize) {
+                int batchFrom = from;
+                int batchTo = Math.min(from + batchSize, data.employees());
+                batches.add(executor.submit(() -> insertEmployees(data, batchFrom, batchTo, historyIdOffset)));
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating employees", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Generating employees failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private void insertEmployees(SyntheticData data, int from, int to, long historyIdOffset) {
+        List<SyntheticData.EmployeeRow> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            rows.add(data.employee(i));
+        }
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, rows, rows.size(), this::setEmployee);
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE_HISTORY, rows, rows.size(),
+                (statement, row) -> setEmployeeHistory(statement, row, row.id() + historyIdOffset));
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE_HIERARCHY, rows, rows.size(), (statement, row) -> {
+            statement.setLong(1, row.id());
+            statement.setLong(2, row.id());
+        });
+        rows.forEach(row -> emailBloomFilter.add(row.email()));
+    }
+    
+    private void insertDepartments(List<SyntheticData.DepartmentRow> rows) {
+        Timestamp createdAt = Timestamp.valueOf(properties.getHiredFrom().atStartOfDay());
+        jdbcTemplate.batchUpdate(INSERT_DEPARTMENT, rows, rows.size(), (statement, row) -> {
+            statement.setLong(1, row.id());
+            statement.setString(2, row.name());
+            statement.setInt(3, row.capacity());
+            statement.setString(4, row.description());
+            statement.setTimestamp(5, createdAt);
+            statement.setTimestamp(6, createdAt);
+        });
+    }
+    
+    private void setEmployee(PreparedStatement statement, SyntheticData.EmployeeRow row) throws SQLException {
+        Timestamp createdAt = Timestamp.valueOf(row.hireDate().atTime(CREATED_AT));
+        statement.setLong(1, row.id());
+        statement.setString(2, row.firstName());
+        statement.setString(3, row.lastName());
+        statement.setString(4, row.email());
+        statement.setString(5, row.position());
+        statement.setLong(6, row.departmentId());
+        if (row.salaryCents() != null) {
+            statement.setBigDecimal(7, BigDecimal.valueOf(row.salaryCents(), 2));
+        } else {
+            statement.setNull(7, Types.DECIMAL);
+        }
+        statement.setDate(8, Date.valueOf(row.hireDate()));
+        statement.setTimestamp(9, createdAt);
+        statement.setTimestamp(10, createdAt);
+    }
+    
+    private void setEmployeeHistory(PreparedStatement statement, SyntheticData.EmployeeRow row, long id)
+            throws SQLException {
+        statement.setLong(1, id);
+        statement.setLong(2, row.id());
+        statement.setString(3, row.firstName());
+        statement.setString(4, row.lastName());
+        statement.setString(5, row.email());
+        statement.setString(6, row.position());
+        statement.setLong(7, row.departmentId());
+        if (row.salaryCents() != null) {
+            statement.setBigDecimal(8, BigDecimal.valueOf(row.salaryCents(), 2));
+        } else {
+            statement.setNull(8, Types.DECIMAL);
+        }
+        statement.setDate(9, Date.valueOf(row.hireDate()));
+        statement.setTimestamp(10, Timestamp.valueOf(row.hireDate().atTime(CREATED_AT)));
+        statement.setTimestamp(11, Timestamp.valueOf(EmployeeHistory.OPEN));
+    }
+    
+    private long nextId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return maxId == null ? 1 : maxId + 1;
+    }
+}
@@ -0,0 +1,117 @@
+package com.uttkarsh.esd_proj.seed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * Settings for the synthetic data generator, bound from app.seed.*
+ */
+@ConfigurationProperties(prefix = "app.seed")
+public class SeedProperties {
+    
+    /**
+     * Departments created by the seed runner
+     */
+    private int departments = 50;
+    
+    /**
+     * Employees created by the seed runner
+     */
+    private int employees = 10_000;
+    
+    /**
+     * Random seed; the same seed, counts and starting IDs always produce the same rows
+     */
+    private long seed = 42;
+    
+    /**
+     * Zipf exponent of the department sizes: the i-th department gets a share proportional to 1 / i^skew
+     */
+    private double sizeSkew = 1.1;
+    
+    /**
+     * Earliest hire date
+     */
+    private LocalDate hiredFrom = LocalDate.of(2005, 1, 1);
+    
+    /**
+     * Latest hire date; hires get more frequent towards it
+     */
+    private LocalDate hiredTo = LocalDate.of(2024, 12, 31);
+    
+    /**
+     * Threads inserting employee batches in parallel
+     */
+    private int threads = 4;
+    
+    /**
+     * Rows per batched insert
+     */
+    private int batchSize = 1000;
+    
+    // Getters and Setters
+    public int getDepartments() {
+        return departments;
+    }
+    
+    public void setDepartments(int departments) {
+        this.departments = departments;
+    }
+    
+    public int getEmployees() {
+        return employees;
+    }
+    
+    public void setEmployees(int employees) {
+        this.employees = employees;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+    
+    public double getSizeSkew() {
+        return sizeSkew;
+    }
+    
+    public void setSizeSkew(double sizeSkew) {
+        this.sizeSkew = sizeSkew;
+    }
+    
+    public LocalDate getHiredFrom() {
+        return hiredFrom;
+    }
+    
+    public void setHiredFrom(LocalDate hiredFrom) {
+        this.hiredFrom = hiredFrom;
+    }
+    
+    public LocalDate getHiredTo() {
+        return hiredTo;
+    }
+    
+    public void setHiredTo(LocalDate hiredTo) {
+        this.hiredTo = hiredTo;
+    }
+    
+    public int getThreads() {
+        return threads;
+    }
+    
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
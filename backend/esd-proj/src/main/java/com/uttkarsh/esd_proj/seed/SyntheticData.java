@@ -0,0 +1,188 @@
+package com.uttkarsh.esd_proj.seed;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * The rows of one generator run as a pure function of the seed, the counts and the first
+ * IDs: every row is drawn from its own random stream, so rows come out the same whatever
+ * order or thread they are built in.
+ * <ul>
+ *   <li>Department sizes follow a Zipf distribution and are exact; capacities leave 0-25% open</li>
+ *   <li>Employees are spread over the departments by a fixed permutation of their index</li>
+ *   <li>Positions are weighted, each with its own salary band; salaries cluster mid-band
+ *       and about 2% are missing</li>
+ *   <li>Hire dates get more frequent towards the end of the range</li>
+ *   <li>Emails embed the employee ID, so they are unique</li>
+ * </ul>
+ */
+final class SyntheticData {
+    
+    record DepartmentRow(long id, String name, int capacity, String description) {
+    }
+    
+    record EmployeeRow(long id, String firstName, String lastName, String email, String position,
+                       long departmentId, Long salaryCents, LocalDate hireDate) {
+    }
+    
+    private record Position(String title, int weight, long minSalary, long maxSalary) {
+    }
+    
+    private static final String[] DEPARTMENT_NAMES = {
+            "Engineering", "Sales", "Marketing", "Finance", "Human Resources", "Operations", "Support",
+            "Research", "Legal", "Procurement", "Logistics", "Quality Assurance", "Product", "Design",
+            "Data Science", "Security", "Facilities", "Customer Success", "Training", "Compliance"
+    };
+    
+    private static final Position[] POSITIONS = {
+            new Position("Intern", 4, 18_000, 30_000),
+            new Position("Junior Engineer", 18, 45_000, 70_000),
+            new Position("Software Engineer", 24, 65_000, 110_000),
+            new Position("Senior Engineer", 14, 95_000, 150_000),
+            new Position("Staff Engineer", 3, 140_000, 210_000),
+            new Position("Analyst", 10, 50_000, 85_000),
+            new Position("Sales Representative", 10, 40_000, 75_000),
+            new Position("Account Manager", 6, 60_000, 100_000),
+            new Position("HR Specialist", 4, 45_000, 75_000),
+            new Position("Accountant", 4, 50_000, 85_000),
+            new Position("Manager", 6, 90_000, 160_000),
+            new Position("Director", 2, 150_000, 260_000)
+    };
+    
+    private static final int POSITION_WEIGHTS = Arrays.stream(POSITIONS).mapToInt(Position::weight).sum();
+    
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Aditi", "Alex", "Amelia", "Ananya", "Arjun", "Ben", "Carlos", "Chloe", "Daniel",
+            "Diya", "Elena", "Ethan", "Fatima", "Grace", "Hannah", "Ishaan", "Isla", "James", "Kavya",
+            "Leo", "Liam", "Maya", "Mei", "Mohammed", "Nina", "Noah", "Olivia", "Priya", "Rahul",
+            "Riya", "Rohan", "Sara", "Sofia", "Tanvi", "Tom", "Vikram", "Yuki", "Zara", "Zoe"
+    };
+    
+    private static final String[] LAST_NAMES = {
+            "Agarwal", "Brown", "Chen", "Das", "Fernandez", "Garcia", "Gupta", "Hall", "Iyer", "Johnson",
+            "Kapoor", "Kim", "Kumar", "Lee", "Lopez", "Martin", "Mehta", "Miller", "Nair", "Nguyen",
+            "Patel", "Reddy", "Rao", "Rossi", "Sato", "Schmidt", "Shah", "Sharma", "Singh", "Smith",
+            "Suzuki", "Taylor", "Thomas", "Verma", "Wang", "Williams", "Wilson", "Wong", "Yadav", "Zhang"
+    };
+    
+    // Prime above any employee count, so index * STRIDE mod count is a permutation
+    private static final long STRIDE = 2_147_483_629L;
+    
+    private final SeedProperties properties;
+    private final long firstDepartmentId;
+    private final long firstEmployeeId;
+    private final int employees;
+    private final int[] departmentSizes;
+    // employeeBoundaries[i]: first permuted index placed in department i
+    private final long[] employeeBoundaries;
+    private final long hireDays;
+    
+    SyntheticData(SeedProperties properties, int departments, int employees,
+                  long firstDepartmentId, long firstEmployeeId) {
+        this.properties = properties;
+        this.firstDepartmentId = firstDepartmentId;
+        this.firstEmployeeId = firstEmployeeId;
+        this.employees = employees;
+        this.departmentSizes = departmentSizes(departments, employees, properties.getSizeSkew());
+        this.employeeBoundaries = new long[departments + 1];
+        for (int i = 0; i < departments; i++) {
+            employeeBoundaries[i + 1] = employeeBoundaries[i] + departmentSizes[i];
+        }
+        this.hireDays = ChronoUnit.DAYS.between(properties.getHiredFrom(), properties.getHiredTo()) + 1;
+    }
+    
+    int departments() {
+        return departmentSizes.length;
+    }
+    
+    int employees() {
+        return employees;
+    }
+    
+    DepartmentRow department(int index) {
+        SplittableRandom random = random(-1 - index);
+        long id = firstDepartmentId + index;
+        int size = departmentSizes[index];
+        int capacity = Math.max(1, size + (int) Math.ceil(size * random.nextDouble(0.25)));
+        String name = DEPARTMENT_NAMES[index % DEPARTMENT_NAMES.length] + " " + id;
+        return new DepartmentRow(id, name, capacity, "Synthetic department (seed " + properties.getSeed() + ")");
+    }
+    
+    EmployeeRow employee(int index) {
+        SplittableRandom random = random(index);
+        long id = firstEmployeeId + index;
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String email = (firstName + "." + lastName + "." + id + "@example.com").toLowerCase(Locale.ROOT);
+        
+        Position position = position(random.nextInt(POSITION_WEIGHTS));
+        Long salaryCents = null;
+        if (random.nextInt(50) != 0) {
+            // Mean of two uniform draws: clustered mid-band, whole currency units
+            double inBand = (random.nextDouble() + random.nextDouble()) / 2;
+            salaryCents = Math.round(position.minSalary() + inBand * (position.maxSalary() - position.minSalary())) * 100;
+        }
+        LocalDate hireDate = properties.getHiredFrom().plusDays((long) (hireDays * Math.sqrt(random.nextDouble())));
+        return new EmployeeRow(id, firstName, lastName, email, position.title(),
+                firstDepartmentId + departmentOf(index), salaryCents, hireDate);
+    }
+    
+    private int departmentOf(int index) {
+        long permuted = index * STRIDE % employees;
+        int department = Arrays.binarySearch(employeeBoundaries, permuted);
+        // Exact hits are department starts; skip empty departments sharing the boundary
+        if (department >= 0) {
+            while (departmentSizes[department] == 0) {
+                department++;
+            }
+            return department;
+        }
+        return -department - 2;
+    }
+    
+    private SplittableRandom random(long stream) {
+        return new SplittableRandom(properties.getSeed() * 0x9E3779B97F4A7C15L + stream);
+    }
+    
+    private static Position position(int weight) {
+        for (Position position : POSITIONS) {
+            weight -= position.weight();
+            if (weight < 0) {
+                return position;
+            }
+        }
+        throw new IllegalStateException("Weight out of range");
+    }
+    
+    /**
+     * Zipf shares of {@code employees}, rounded down, with the remainder going to the largest departments
+     */
+    private static int[] departmentSizes(int departments, int employees, double skew) {
+        int[] sizes = new int[departments];
+        if (departments == 0) {
+            if (employees > 0) {
+                throw new IllegalArgumentException("Employees need at least one department");
+            }
+            return sizes;
+        }
+        double[] weights = new double[departments];
+        double total = 0;
+        for (int i = 0; i < departments; i++) {
+            weights[i] = 1 / Math.pow(i + 1, skew);
+            total += weights[i];
+        }
+        int assigned = 0;
+        for (int i = 0; i < departments; i++) {
+            sizes[i] = (int) (employees * weights[i] / total);
+            assigned += sizes[i];
+        }
+        for (int i = 0; assigned < employees; i = (i + 1) % departments) {
+            sizes[i]++;
+            assigned++;
+        }
+        return sizes;
+    }
+}
@@ -0,0 +1,75 @@
+package com.uttkarsh.esd_proj.service;
+
+import com.uttkarsh.esd_proj.event.DepartmentChangedEvent;
+import com.uttkarsh.esd_proj.event.EmployeeChangedEvent;
+import com.uttkarsh.esd_proj.exception.BusinessValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Departments recently found to be at full capacity, so further hires into them are
+ * rejected before a bulkhead permit, connection or write transaction is taken.
+ * An entry is recorded by the authoritative check in {@link EmployeeService} and dropped
+ * after any committed change to the department or its employees, or after the TTL.
+ * A miss only means the full check runs; the service check stays authoritative.
+ */
+@Component
+public class CapacitySnapshot {
+    
+    private record FullDepartment(String rejectionMessage, long expiresAtNanos) {
+    }
+    
+    private final ConcurrentHashMap<Long, FullDepartment> fullDepartments = new ConcurrentHashMap<>();
+    private final CapacitySnapshotProperties properties;
+    private final Counter rejections;
+    
+    public CapacitySnapshot(CapacitySnapshotProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rejections = Counter.builder("capacity.snapshot.rejections")
+                .description("Hires rejected from the capacity snapshot without a database round trip")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Reject a hire into a department known to be full
+     */
+    public void checkCanHire(Long departmentId) {
+        if (!properties.isEnabled() || departmentId == null) {
+            return;
+        }
+        FullDepartment full = fullDepartments.get(departmentId);
+        if (full == null) {
+            return;
+        }
+        if (System.nanoTime() - full.expiresAtNanos() > 0) {
+            fullDepartments.remove(departmentId, full);
+            return;
+        }
+        rejections.increment();
+        throw new BusinessValidationException(full.rejectionMessage());
+    }
+    
+    /**
+     * Record that a department was found full, with the message to reject hires with
+     */
+    public void markFull(Long departmentId, String rejectionMessage) {
+        if (properties.isEnabled()) {
+            fullDepartments.put(departmentId,
+                    new FullDepartment(rejectionMessage, System.nanoTime() + properties.getTtl().toNanos()));
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        event.departmentIds().forEach(fullDepartments::remove);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        fullDepartments.remove(event.departmentId());
+    }
+}
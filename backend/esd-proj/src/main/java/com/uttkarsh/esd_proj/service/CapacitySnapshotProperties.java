@@ -0,0 +1,36 @@
+package com.uttkarsh.esd_proj.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the {@link CapacitySnapshot}, bound from app.capacity-snapshot.*
+ */
+@ConfigurationProperties(prefix = "app.capacity-snapshot")
+public class CapacitySnapshotProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Upper bound on how long a department stays known-full without being re-checked
+     */
+    private Duration ttl = Duration.ofSeconds(5);
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public Duration getTtl() {
+        return ttl;
+    }
+    
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+}
@@ -1,5 +1,6 @@
 package com.uttkarsh.esd_proj.service;
 
+import com.uttkarsh.esd_proj.avatar.AvatarCache;
 import com.uttkarsh.esd_proj.entity.User;
 import com.uttkarsh.esd_proj.repository.UserRepository;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
@@ -14,9 +15,11 @@ import java.util.Map;
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     
     private final UserRepository userRepository;
+    private final AvatarCache avatarCache;
     
-    public CustomOAuth2UserService(UserRepository userRepository) {
+    public CustomOAuth2UserService(UserRepository userRepository, AvatarCache avatarCache) {
         this.userRepository = userRepository;
+        this.avatarCache = avatarCache;
     }
     
     @Override
@@ -26,15 +29,16 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
         System.out.println("OAuth2 User loaded: " + oAuth2User.getAttributes());
         
         // Process and save user
-        processOAuth2User(userRequest, oAuth2User);
+        processOAuth2User(userRequest.getClientRegistration().getRegistrationId(), oAuth2User.getAttributes());
         
         return oAuth2User;
     }
     
-    private void processOAuth2User(OAuth2UserRequest userRequest, OAuth2User oAuth2User) {
-        String registrationId = userRequest.getClientRegistration().getRegistrationId();
-        Map<String, Object> attributes = oAuth2User.getAttributes();
-        
+    /**
+     * Create or update the local user from the provider's standard claims
+     * (sub, email, name, picture), whether they came from userinfo or an ID token
+     */
+    void processOAuth2User(String registrationId, Map<String, Object> attributes) {
         // Extract user info from Google
         String providerId = (String) attributes.get("sub");
         String email = (String) attributes.get("email");
@@ -46,6 +50,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
         // Check if user already exists
         User user = userRepository.findByProviderAndProviderId(registrationId, providerId)
                 .orElse(null);
+        String stalePictureUrl = null;
         
         if (user == null) {
             // Create new user
@@ -58,7 +63,10 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             
             System.out.println("Creating new user: " + email);
         } else {
-            // Update existing user info
+            // Update existing user info; a new picture URL makes the cached avatar stale
+            if (user.getPictureUrl() != null && !user.getPictureUrl().equals(pictureUrl)) {
+                stalePictureUrl = user.getPictureUrl();
+            }
             user.setName(name);
             user.setPictureUrl(pictureUrl);
             
@@ -66,5 +74,9 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
         }
         
         userRepository.save(user);
+        
+        if (stalePictureUrl != null) {
+            avatarCache.evict(stalePictureUrl);
+        }
     }
 }
@@ -0,0 +1,52 @@
+package com.uttkarsh.esd_proj.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the {@link DashboardService} sub-query executor, bound from app.dashboard.*
+ */
+@ConfigurationProperties(prefix = "app.dashboard")
+public class DashboardProperties {
+    
+    /**
+     * Number of threads running dashboard sub-queries
+     */
+    private int threads = 4;
+    
+    /**
+     * Sub-queries that may wait for a thread; beyond this a section is reported unavailable
+     */
+    private int queueCapacity = 32;
+    
+    /**
+     * How long each sub-query may take before its section is left out of the response
+     */
+    private Duration subQueryTimeout = Duration.ofSeconds(2);
+    
+    // Getters and Setters
+    public int getThreads() {
+        return threads;
+    }
+    
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+    
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+    
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+    
+    public Duration getSubQueryTimeout() {
+        return subQueryTimeout;
+    }
+    
+    public void setSubQueryTimeout(Duration subQueryTimeout) {
+        this.subQueryTimeout = subQueryTimeout;
+    }
+}
@@ -0,0 +1,110 @@
+package com.uttkarsh.esd_proj.service;
+
+import com.uttkarsh.esd_proj.dto.DashboardResponse;
+import com.uttkarsh.esd_proj.dto.DashboardStats;
+import com.uttkarsh.esd_proj.dto.DepartmentResponse;
+import com.uttkarsh.esd_proj.dto.UserResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the dashboard from independent sub-queries run in parallel on a bounded executor.
+ * A sub-query that fails, times out or finds the executor full leaves its section null
+ * and is listed in {@link DashboardResponse#getUnavailable()} instead of failing the request.
+ */
+@Service
+public class DashboardService implements DisposableBean {
+    
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+    
+    private final DepartmentService departmentService;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor threadPool;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+    
+    public DashboardService(DepartmentService departmentService,
+                            UserService userService,
+                            DashboardProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.departmentService = departmentService;
+        this.userService = userService;
+        this.meterRegistry = meterRegistry;
+        this.threadPool = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("dashboard-"));
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, threadPool, "dashboard");
+        this.timeoutMillis = properties.getSubQueryTimeout().toMillis();
+    }
+    
+    /**
+     * Assemble the dashboard for the given user
+     */
+    public DashboardResponse getDashboard(String email) {
+        CompletableFuture<UserResponse> user = submit(() -> userService.getUserByEmail(email).orElse(null));
+        CompletableFuture<List<DepartmentResponse>> departments = submit(departmentService::getAllDepartments);
+        CompletableFuture<DashboardStats> stats = submit(departmentService::getDashboardStats);
+        
+        // Every future is bounded by its own timeout, so this waits at most one timeout
+        CompletableFuture.allOf(user, departments, stats).exceptionally(ex -> null).join();
+        
+        List<String> unavailable = new ArrayList<>();
+        return new DashboardResponse(
+                resultOf("user", user, unavailable),
+                resultOf("departments", departments, unavailable),
+                resultOf("stats", stats, unavailable),
+                unavailable
+        );
+    }
+    
+    @Override
+    public void destroy() {
+        threadPool.shutdownNow();
+    }
+    
+    private <T> CompletableFuture<T> submit(Supplier<T> query) {
+        try {
+            return CompletableFuture.supplyAsync(query, executor).orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+    
+    private <T> T resultOf(String section, CompletableFuture<T> future, List<String> unavailable) {
+        try {
+            T result = future.join();
+            record(section, "ok");
+            return result;
+        } catch (Exception ex) {
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            String outcome = cause instanceof TimeoutException ? "timeout"
+                    : cause instanceof RejectedExecutionException ? "rejected"
+                    : "error";
+            log.warn("Dashboard section '{}' unavailable ({}): {}", section, outcome, cause.toString());
+            record(section, outcome);
+            unavailable.add(section);
+            return null;
+        }
+    }
+    
+    private void record(String section, String outcome) {
+        meterRegistry.counter("dashboard.subqueries", "section", section, "result", outcome).increment();
+    }
+}
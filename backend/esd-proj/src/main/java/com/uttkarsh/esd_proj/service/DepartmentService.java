@@ -1,35 +1,62 @@
 package com.uttkarsh.esd_proj.service;
 
+import com.uttkarsh.esd_proj.cache.Coalesce;
+import com.uttkarsh.esd_proj.datasource.Workload;
+import com.uttkarsh.esd_proj.datasource.WorkloadType;
+import com.uttkarsh.esd_proj.dto.DashboardStats;
 import com.uttkarsh.esd_proj.dto.DepartmentRequest;
 import com.uttkarsh.esd_proj.dto.DepartmentResponse;
+import com.uttkarsh.esd_proj.dto.EmployeeHistoryResponse;
 import com.uttkarsh.esd_proj.dto.EmployeeResponse;
+import com.uttkarsh.esd_proj.dto.MultiGet;
+import com.uttkarsh.esd_proj.dto.MultiGetResponse;
 import com.uttkarsh.esd_proj.entity.Department;
+import com.uttkarsh.esd_proj.entity.EmployeeHistory;
+import com.uttkarsh.esd_proj.event.DepartmentChangedEvent;
 import com.uttkarsh.esd_proj.exception.BusinessValidationException;
 import com.uttkarsh.esd_proj.exception.ResourceNotFoundException;
+import com.uttkarsh.esd_proj.repository.DepartmentHeadcount;
 import com.uttkarsh.esd_proj.repository.DepartmentRepository;
+import com.uttkarsh.esd_proj.repository.DepartmentTotals;
+import com.uttkarsh.esd_proj.repository.EmployeeHistoryRepository;
 import com.uttkarsh.esd_proj.repository.EmployeeRepository;
+import com.uttkarsh.esd_proj.retry.RetryableTransaction;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Workload(WorkloadType.WRITE)
 public class DepartmentService {
     
     private final DepartmentRepository departmentRepository;
     private final EmployeeRepository employeeRepository;
+    private final EmployeeHistoryRepository employeeHistoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     public DepartmentService(DepartmentRepository departmentRepository, 
-                            EmployeeRepository employeeRepository) {
+                            EmployeeRepository employeeRepository,
+                            EmployeeHistoryRepository employeeHistoryRepository,
+                            ApplicationEventPublisher eventPublisher) {
         this.departmentRepository = departmentRepository;
         this.employeeRepository = employeeRepository;
+        this.employeeHistoryRepository = employeeHistoryRepository;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
      * Create a new department
      */
+    @RetryableTransaction
     public DepartmentResponse createDepartment(DepartmentRequest request) {
         // Check if department name already exists
         if (departmentRepository.existsByName(request.getName())) {
@@ -42,17 +69,21 @@ public class DepartmentService {
         department.setDescription(request.getDescription());
         
         Department savedDepartment = departmentRepository.save(department);
-        return DepartmentResponse.fromEntity(savedDepartment);
+        eventPublisher.publishEvent(new DepartmentChangedEvent(savedDepartment.getId()));
+        return DepartmentResponse.fromEntity(savedDepartment, 0);
     }
     
     /**
      * Get all departments
      */
     @Transactional(readOnly = true)
+    @Workload(WorkloadType.SCAN)
     public List<DepartmentResponse> getAllDepartments() {
-        return departmentRepository.findAll()
-                .stream()
-                .map(DepartmentResponse::fromEntity)
+        List<Department> departments = departmentRepository.findAll();
+        Map<Long, Long> headcounts = headcounts(departments);
+        return departments.stream()
+                .map(department -> DepartmentResponse.fromEntity(department,
+                        headcounts.getOrDefault(department.getId(), 0L)))
                 .collect(Collectors.toList());
     }
     
@@ -60,15 +91,43 @@ public class DepartmentService {
      * Get department by ID
      */
     @Transactional(readOnly = true)
+    @Coalesce
+    @Workload(WorkloadType.READ)
     public DepartmentResponse getDepartmentById(Long id) {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department", "id", id));
-        return DepartmentResponse.fromEntity(department);
+        return DepartmentResponse.fromEntity(department, employeeRepository.countByDepartmentId(id));
+    }
+    
+    /**
+     * Get departments by a list of IDs, in the requested order
+     * IDs are fetched in chunks of IN-queries; unknown IDs are reported as missing
+     */
+    @Transactional(readOnly = true)
+    @Workload(WorkloadType.READ)
+    public MultiGetResponse<DepartmentResponse> getDepartmentsByIds(List<Long> ids) {
+        return MultiGet.fetch(ids, chunk -> {
+            List<Department> departments = departmentRepository.findAllById(chunk);
+            Map<Long, Long> headcounts = headcounts(departments);
+            return departments.stream().collect(Collectors.toMap(Department::getId,
+                    department -> DepartmentResponse.fromEntity(department, headcounts.getOrDefault(department.getId(), 0L))));
+        });
+    }
+    
+    /**
+     * Department, employee and capacity totals
+     */
+    @Transactional(readOnly = true)
+    @Workload(WorkloadType.READ)
+    public DashboardStats getDashboardStats() {
+        DepartmentTotals totals = departmentRepository.getTotals();
+        return new DashboardStats(totals.getDepartmentCount(), employeeRepository.count(), totals.getTotalCapacity());
     }
     
     /**
      * Update department
      */
+    @RetryableTransaction
     public DepartmentResponse updateDepartment(Long id, DepartmentRequest request) {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department", "id", id));
@@ -93,12 +152,14 @@ public class DepartmentService {
         department.setDescription(request.getDescription());
         
         Department updatedDepartment = departmentRepository.save(department);
-        return DepartmentResponse.fromEntity(updatedDepartment);
+        eventPublisher.publishEvent(new DepartmentChangedEvent(id));
+        return DepartmentResponse.fromEntity(updatedDepartment, employeeCount);
     }
     
     /**
      * Delete department
      */
+    @RetryableTransaction
     public void deleteDepartment(Long id) {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department", "id", id));
@@ -113,12 +174,15 @@ public class DepartmentService {
         }
         
         departmentRepository.delete(department);
+        eventPublisher.publishEvent(new DepartmentChangedEvent(id));
     }
     
     /**
      * Get all employees in a department
      */
     @Transactional(readOnly = true)
+    @Coalesce
+    @Workload(WorkloadType.READ)
     public List<EmployeeResponse> getEmployeesByDepartment(Long departmentId) {
         // Verify department exists
         if (!departmentRepository.existsById(departmentId)) {
@@ -130,4 +194,35 @@ public class DepartmentService {
                 .map(EmployeeResponse::fromEntity)
                 .collect(Collectors.toList());
     }
+    
+    /**
+     * The employees who were in a department at the end of {@code date}, as they were then, by employee ID
+     * Works for departments deleted since. Current members and the versions listed for the month of
+     * {@code date} are read, not the rest of the department's history.
+     */
+    @Transactional(readOnly = true)
+    @Workload(WorkloadType.READ)
+    public List<EmployeeHistoryResponse> getEmployeesAsOf(Long departmentId, LocalDate date) {
+        LocalDateTime at = EmployeeService.endOf(date);
+        List<EmployeeHistory> members = new ArrayList<>(
+                employeeHistoryRepository.findOpenDepartmentMembersAsOf(departmentId, EmployeeHistory.OPEN, at));
+        members.addAll(employeeHistoryRepository.findClosedDepartmentMembersAsOf(departmentId, date.withDayOfMonth(1), at));
+        return members.stream()
+                .sorted(Comparator.comparing(EmployeeHistory::getEmployeeId))
+                .map(EmployeeHistoryResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Employee count per department, loaded with a single grouped query
+     */
+    private Map<Long, Long> headcounts(List<Department> departments) {
+        if (departments.isEmpty()) {
+            return Map.of();
+        }
+        return employeeRepository.countByDepartmentIds(
+                        departments.stream().map(Department::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(DepartmentHeadcount::getDepartmentId, DepartmentHeadcount::getEmployeeCount));
+    }
 }
@@ -1,38 +1,86 @@
 package com.uttkarsh.esd_proj.service;
 
+import com.uttkarsh.esd_proj.bloom.EmailBloomFilter;
+import com.uttkarsh.esd_proj.datasource.Workload;
+import com.uttkarsh.esd_proj.datasource.WorkloadType;
+import com.uttkarsh.esd_proj.dto.EmployeeHistoryResponse;
 import com.uttkarsh.esd_proj.dto.EmployeeRequest;
 import com.uttkarsh.esd_proj.dto.EmployeeResponse;
+import com.uttkarsh.esd_proj.dto.MultiGet;
+import com.uttkarsh.esd_proj.dto.MultiGetResponse;
+import com.uttkarsh.esd_proj.dto.ReportCountResponse;
 import com.uttkarsh.esd_proj.entity.Department;
 import com.uttkarsh.esd_proj.entity.Employee;
+import com.uttkarsh.esd_proj.entity.EmployeeHistory;
+import com.uttkarsh.esd_proj.event.EmployeeChangedEvent;
 import com.uttkarsh.esd_proj.exception.BusinessValidationException;
 import com.uttkarsh.esd_proj.exception.ResourceNotFoundException;
 import com.uttkarsh.esd_proj.repository.DepartmentRepository;
+import com.uttkarsh.esd_proj.repository.EmployeeHierarchyRepository;
+import com.uttkarsh.esd_proj.repository.EmployeeHistoryMonthRepository;
+import com.uttkarsh.esd_proj.repository.EmployeeHistoryRepository;
 import com.uttkarsh.esd_proj.repository.EmployeeRepository;
+import com.uttkarsh.esd_proj.repository.ReportCounts;
+import com.uttkarsh.esd_proj.repository.TreeMember;
+import com.uttkarsh.esd_proj.retry.RetryableTransaction;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Workload(WorkloadType.WRITE)
 public class EmployeeService {
     
+    // Employees per IN-list when relinking a reporting tree
+    static final int HIERARCHY_CHUNK_SIZE = 1000;
+    
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
+    private final EmployeeHistoryRepository employeeHistoryRepository;
+    private final EmployeeHistoryMonthRepository employeeHistoryMonthRepository;
+    private final EmployeeHierarchyRepository employeeHierarchyRepository;
+    private final EmailBloomFilter emailFilter;
+    private final CapacitySnapshot capacitySnapshot;
+    private final ApplicationEventPublisher eventPublisher;
     
     public EmployeeService(EmployeeRepository employeeRepository, 
-                          DepartmentRepository departmentRepository) {
+                          DepartmentRepository departmentRepository,
+                          EmployeeHistoryRepository employeeHistoryRepository,
+                          EmployeeHistoryMonthRepository employeeHistoryMonthRepository,
+                          EmployeeHierarchyRepository employeeHierarchyRepository,
+                          EmailBloomFilter emailFilter,
+                          CapacitySnapshot capacitySnapshot,
+                          ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
         this.departmentRepository = departmentRepository;
+        this.employeeHistoryRepository = employeeHistoryRepository;
+        this.employeeHistoryMonthRepository = employeeHistoryMonthRepository;
+        this.employeeHierarchyRepository = employeeHierarchyRepository;
+        this.emailFilter = emailFilter;
+        this.capacitySnapshot = capacitySnapshot;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
      * Create a new employee
      */
+    @RetryableTransaction
     public EmployeeResponse createEmployee(EmployeeRequest request) {
-        // Check if email already exists
-        if (employeeRepository.existsByEmail(request.getEmail())) {
+        // Check if email already exists; the filter skips the query for emails it has never seen
+        if (emailFilter.exists(request.getEmail(), () -> employeeRepository.existsByEmail(request.getEmail()))) {
             throw new BusinessValidationException("Employee with email '" + request.getEmail() + "' already exists");
         }
         
@@ -43,11 +91,16 @@ public class EmployeeService {
         // Check if department has capacity
         long currentEmployeeCount = employeeRepository.countByDepartmentId(request.getDepartmentId());
         if (currentEmployeeCount >= department.getCapacity()) {
-            throw new BusinessValidationException(
-                "Cannot add employee. Department '" + department.getName() + 
-                "' is at full capacity (" + department.getCapacity() + " employees)"
-            );
+            String message = "Cannot add employee. Department '" + department.getName() + 
+                "' is at full capacity (" + department.getCapacity() + " employees)";
+            capacitySnapshot.markFull(department.getId(), message);
+            throw new BusinessValidationException(message);
+        }
+        
+        if (request.getManagerId() != null) {
+            employeeHierarchyRepository.lockHierarchy();
         }
+        Employee manager = findManager(request.getManagerId());
         
         Employee employee = new Employee();
         employee.setFirstName(request.getFirstName());
@@ -55,10 +108,19 @@ public class EmployeeService {
         employee.setEmail(request.getEmail());
         employee.setPosition(request.getPosition());
         employee.setDepartment(department);
+        employee.setManager(manager);
         employee.setSalary(request.getSalary());
         employee.setHireDate(request.getHireDate());
         
         Employee savedEmployee = employeeRepository.save(employee);
+        employeeHierarchyRepository.insertSelf(savedEmployee.getId());
+        if (manager != null) {
+            employeeHierarchyRepository.attach(savedEmployee.getId(), manager.getId());
+        }
+        employeeHistoryRepository.save(new EmployeeHistory(savedEmployee, EmployeeHistory.ChangeType.CREATED,
+                versionTime()));
+        emailFilter.add(savedEmployee.getEmail());
+        eventPublisher.publishEvent(new EmployeeChangedEvent(savedEmployee.getId(), Set.of(department.getId())));
         return EmployeeResponse.fromEntity(savedEmployee);
     }
     
@@ -66,6 +128,7 @@ public class EmployeeService {
      * Get all employees
      */
     @Transactional(readOnly = true)
+    @Workload(WorkloadType.SCAN)
     public List<EmployeeResponse> getAllEmployees() {
         return employeeRepository.findAll()
                 .stream()
@@ -77,27 +140,43 @@ public class EmployeeService {
      * Get employee by ID
      */
     @Transactional(readOnly = true)
+    @Workload(WorkloadType.READ)
     public EmployeeResponse getEmployeeById(Long id) {
-        Employee employee = employeeRepository.findById(id)
+        Employee employee = employeeRepository.findWithDepartmentById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", id));
         return EmployeeResponse.fromEntity(employee);
     }
     
+    /**
+     * Get employees by a list of IDs, in the requested order
+     * IDs are fetched in chunks of IN-queries; unknown IDs are reported as missing
+     */
+    @Transactional(readOnly = true)
+    @Workload(WorkloadType.READ)
+    public MultiGetResponse<EmployeeResponse> getEmployeesByIds(List<Long> ids) {
+        return MultiGet.fetch(ids, chunk -> employeeRepository.findByIdIn(chunk).stream()
+                .collect(Collectors.toMap(Employee::getId, EmployeeResponse::fromEntity)));
+    }
+    
     /**
      * Update employee
      */
+    @RetryableTransaction
     public EmployeeResponse updateEmployee(Long id, EmployeeRequest request) {
-        Employee employee = employeeRepository.findById(id)
+        Employee employee = employeeRepository.findWithDepartmentById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", id));
         
         // Check if new email conflicts with existing employee
         if (!employee.getEmail().equals(request.getEmail()) && 
-            employeeRepository.existsByEmailAndIdNot(request.getEmail(), id)) {
+            emailFilter.exists(request.getEmail(),
+                    () -> employeeRepository.existsByEmailAndIdNot(request.getEmail(), id))) {
             throw new BusinessValidationException("Employee with email '" + request.getEmail() + "' already exists");
         }
         
+        Long previousDepartmentId = employee.getDepartment().getId();
+        
         // If department is being changed
-        if (!employee.getDepartment().getId().equals(request.getDepartmentId())) {
+        if (!previousDepartmentId.equals(request.getDepartmentId())) {
             Department newDepartment = departmentRepository.findById(request.getDepartmentId())
                     .orElseThrow(() -> new ResourceNotFoundException("Department", "id", request.getDepartmentId()));
             
@@ -113,6 +192,22 @@ public class EmployeeService {
             employee.setDepartment(newDepartment);
         }
         
+        // If the employee is moving to another manager, their reports move with them. Requests
+        // without a managerId keep the current one.
+        Long previousManagerId = employee.getManager() != null ? employee.getManager().getId() : null;
+        boolean managerChanged = request.hasManagerId() && !Objects.equals(previousManagerId, request.getManagerId());
+        if (managerChanged) {
+            // Two opposite moves must not both pass the cycle check
+            employeeHierarchyRepository.lockHierarchy();
+            Employee newManager = findManager(request.getManagerId());
+            // Every employee is in their own tree, so this also rejects reporting to oneself
+            if (newManager != null && employeeHierarchyRepository.existsByAncestorIdAndDescendantId(id, newManager.getId())) {
+                throw new BusinessValidationException("Employee with id '" + id + "' cannot report to employee with id '"
+                        + newManager.getId() + "', who reports to them");
+            }
+            employee.setManager(newManager);
+        }
+        
         employee.setFirstName(request.getFirstName());
         employee.setLastName(request.getLastName());
         employee.setEmail(request.getEmail());
@@ -121,16 +216,163 @@ public class EmployeeService {
         employee.setHireDate(request.getHireDate());
         
         Employee updatedEmployee = employeeRepository.save(employee);
+        if (managerChanged) {
+            moveReportingTree(id, previousManagerId, request.getManagerId());
+        }
+        LocalDateTime now = versionTime();
+        closeCurrentVersion(id, now);
+        employeeHistoryRepository.save(new EmployeeHistory(updatedEmployee, EmployeeHistory.ChangeType.UPDATED, now));
+        emailFilter.add(updatedEmployee.getEmail());
+        Long departmentId = updatedEmployee.getDepartment().getId();
+        eventPublisher.publishEvent(new EmployeeChangedEvent(updatedEmployee.getId(),
+                departmentId.equals(previousDepartmentId) ? Set.of(departmentId) : Set.of(previousDepartmentId, departmentId)));
         return EmployeeResponse.fromEntity(updatedEmployee);
     }
     
     /**
      * Delete employee
      */
+    @RetryableTransaction
     public void deleteEmployee(Long id) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", id));
         
+        // Direct reports move up to the deleted employee's manager, and everyone below one level closer
+        employeeHierarchyRepository.lockHierarchy();
+        if (employee.getManager() != null) {
+            forEachLevel(id, employeeHierarchyRepository::shortenAbove);
+        }
+        employeeHierarchyRepository.deleteByAncestor(id);
+        employeeHierarchyRepository.deleteByDescendant(id);
+        LocalDateTime now = versionTime();
+        employeeRepository.reassignReports(id, employee.getManager(), now);
+        
         employeeRepository.delete(employee);
+        closeCurrentVersion(id, now);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(id, Set.of(employee.getDepartment().getId())));
+    }
+    
+    /**
+     * Employees under a manager at any depth, or down to {@code maxDepth} levels, nearest first
+     */
+    @Transactional(readOnly = true)
+    @Workload(WorkloadType.SCAN)
+    public List<EmployeeResponse> getReports(Long id, Integer maxDepth) {
+        if (maxDepth != null && maxDepth < 1) {
+            throw new BusinessValidationException("Depth must be at least 1");
+        }
+        List<EmployeeResponse> reports = employeeRepository.findReports(id, maxDepth != null ? maxDepth : Integer.MAX_VALUE)
+                .stream()
+                .map(EmployeeResponse::fromEntity)
+                .collect(Collectors.toList());
+        if (reports.isEmpty() && !employeeRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Employee", "id", id);
+        }
+        return reports;
+    }
+    
+    /**
+     * Number of direct reports and of all reports under a manager
+     */
+    @Transactional(readOnly = true)
+    @Workload(WorkloadType.READ)
+    public ReportCountResponse getReportCount(Long id) {
+        ReportCounts counts = employeeHierarchyRepository.countReports(id);
+        if (counts.getTreeSize() == 0) {
+            throw new ResourceNotFoundException("Employee", "id", id);
+        }
+        return new ReportCountResponse(id, counts.getDirectReports(), counts.getTreeSize() - 1);
+    }
+    
+    /**
+     * Every recorded version of an employee, oldest first; deleted employees keep their history
+     */
+    @Transactional(readOnly = true)
+    @Workload(WorkloadType.READ)
+    public List<EmployeeHistoryResponse> getEmployeeHistory(Long id) {
+        List<EmployeeHistoryResponse> versions = employeeHistoryRepository.findByEmployeeIdOrderByValidFromAscIdAsc(id)
+                .stream()
+                .map(EmployeeHistoryResponse::fromEntity)
+                .collect(Collectors.toList());
+        if (versions.isEmpty()) {
+            throw new ResourceNotFoundException("Employee", "id", id);
+        }
+        return versions;
+    }
+    
+    /**
+     * The version of an employee in effect at the end of {@code date}
+     */
+    @Transactional(readOnly = true)
+    @Workload(WorkloadType.READ)
+    public EmployeeHistoryResponse getEmployeeAsOf(Long id, LocalDate date) {
+        return employeeHistoryRepository.findAsOf(id, endOf(date))
+                .map(EmployeeHistoryResponse::fromEntity)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Employee with id '" + id + "' did not exist on " + date));
+    }
+    
+    /**
+     * End the current version of an employee, and list it under every month it was valid in
+     * for the department as-of lookups
+     */
+    private void closeCurrentVersion(Long id, LocalDateTime at) {
+        employeeHistoryRepository.findByEmployeeIdAndValidTo(id, EmployeeHistory.OPEN).ifPresent(version -> {
+            version.close(at);
+            for (YearMonth month = YearMonth.from(version.getValidFrom()); !month.isAfter(YearMonth.from(at));
+                 month = month.plusMonths(1)) {
+                employeeHistoryMonthRepository.insert(version.getDepartmentId(), month.atDay(1), version.getId());
+            }
+        });
+    }
+    
+    /**
+     * Last instant of {@code date} at the columns' microsecond precision, so it is not rounded up to the next day
+     */
+    static LocalDateTime endOf(LocalDate date) {
+        return date.atTime(LocalTime.MAX.truncatedTo(ChronoUnit.MICROS));
+    }
+    
+    /**
+     * Start of a new version, at the precision it is stored with, so the closing update compares like with like
+     */
+    private static LocalDateTime versionTime() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+    
+    private Employee findManager(Long managerId) {
+        if (managerId == null) {
+            return null;
+        }
+        return employeeRepository.findById(managerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Manager", "id", managerId));
+    }
+    
+    /**
+     * Unlink the tree under an employee from their former managers and link it below {@code managerId}
+     */
+    private void moveReportingTree(Long employeeId, Long previousManagerId, Long managerId) {
+        if (previousManagerId != null) {
+            forEachLevel(employeeId, employeeHierarchyRepository::detachAbove);
+        }
+        if (managerId != null) {
+            employeeHierarchyRepository.attach(employeeId, managerId);
+        }
+    }
+    
+    /**
+     * Run {@code action} on the members of the tree under an employee, the employee included,
+     * in chunks of one level each, with the depth of that level
+     */
+    private void forEachLevel(Long employeeId, BiConsumer<List<Long>, Integer> action) {
+        Map<Integer, List<Long>> levels = employeeHierarchyRepository.findTree(employeeId)
+                .stream()
+                .collect(Collectors.groupingBy(TreeMember::getDepth,
+                        Collectors.mapping(TreeMember::getEmployeeId, Collectors.toList())));
+        levels.forEach((depth, ids) -> {
+            for (int from = 0; from < ids.size(); from += HIERARCHY_CHUNK_SIZE) {
+                action.accept(ids.subList(from, Math.min(from + HIERARCHY_CHUNK_SIZE, ids.size())), depth);
+            }
+        });
     }
 }
@@ -0,0 +1,32 @@
+package com.uttkarsh.esd_proj.service;
+
+import com.uttkarsh.esd_proj.datasource.Workload;
+import com.uttkarsh.esd_proj.datasource.WorkloadType;
+import com.uttkarsh.esd_proj.dto.UserResponse;
+import com.uttkarsh.esd_proj.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Reads of the users who have signed in; they are written by the OAuth2 user services
+ */
+@Service
+public class UserService {
+    
+    private final UserRepository userRepository;
+    
+    public UserService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+    
+    /**
+     * The user with the given email, if they have signed in before
+     */
+    @Transactional(readOnly = true)
+    @Workload(WorkloadType.READ)
+    public Optional<UserResponse> getUserByEmail(String email) {
+        return userRepository.findByEmail(email).map(UserResponse::fromUser);
+    }
+}
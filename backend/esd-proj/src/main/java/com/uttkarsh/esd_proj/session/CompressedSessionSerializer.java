@@ -0,0 +1,69 @@
+package com.uttkarsh.esd_proj.session;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Serializes session attributes with JDK serialization and deflates the result.
+ * The security context and OAuth2 authorization request are mostly repeated class
+ * descriptors, so compression roughly halves the ATTRIBUTE_BYTES stored per session.
+ * Uncompressed payloads (written by the default serializer) are still readable.
+ */
+public class CompressedSessionSerializer implements Serializer<Object>, Deserializer<Object> {
+    
+    private static final int STREAM_MAGIC_HIGH = 0xAC;
+    private static final int STREAM_MAGIC_LOW = 0xED;
+    
+    private final ClassLoader classLoader;
+    
+    public CompressedSessionSerializer(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+    
+    @Override
+    public void serialize(Object object, OutputStream outputStream) throws IOException {
+        if (!(object instanceof Serializable)) {
+            throw new IllegalArgumentException(
+                "Session attribute of type " + object.getClass().getName() + " is not Serializable"
+            );
+        }
+        
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            DeflaterOutputStream deflated = new DeflaterOutputStream(outputStream, deflater, 512);
+            ObjectOutputStream objectOutputStream = new ObjectOutputStream(deflated);
+            objectOutputStream.writeObject(object);
+            objectOutputStream.flush();
+            deflated.finish();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    @Override
+    public Object deserialize(InputStream inputStream) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(inputStream);
+        buffered.mark(2);
+        boolean plain = buffered.read() == STREAM_MAGIC_HIGH && buffered.read() == STREAM_MAGIC_LOW;
+        buffered.reset();
+        
+        InputStream source = plain ? buffered : new InflaterInputStream(buffered);
+        try (ObjectInputStream objectInputStream = new ConfigurableObjectInputStream(source, classLoader)) {
+            return objectInputStream.readObject();
+        } catch (ClassNotFoundException ex) {
+            throw new IOException("Failed to deserialize session attribute", ex);
+        }
+    }
+}
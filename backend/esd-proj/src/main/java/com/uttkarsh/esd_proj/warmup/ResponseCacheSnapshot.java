@@ -0,0 +1,189 @@
+package com.uttkarsh.esd_proj.warmup;
+
+import com.uttkarsh.esd_proj.cache.ResponseBodyCache;
+import com.uttkarsh.esd_proj.repository.DepartmentRepository;
+import com.uttkarsh.esd_proj.repository.EmployeeRepository;
+import com.uttkarsh.esd_proj.repository.TableVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The current entries of the {@link ResponseBodyCache} persisted to a binary file on
+ * shutdown and memory-mapped back on the next start, so the list endpoints are served
+ * from memory right away.
+ * The file records a fingerprint of the employee and department tables (row count,
+ * highest ID, latest update). It is only restored when the tables still match it and it
+ * is younger than app.warmup.snapshot-max-age; otherwise the cache fills from the
+ * database as usual.
+ */
+public class ResponseCacheSnapshot {
+    
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheSnapshot.class);
+    
+    // "ESDR"
+    private static final int MAGIC = 0x45534452;
+    private static final int FORMAT_VERSION = 1;
+    // Length written for a missing gzipped body
+    private static final int ABSENT = -1;
+    
+    private final ResponseBodyCache cache;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final WarmupProperties properties;
+    
+    public ResponseCacheSnapshot(ResponseBodyCache cache, EmployeeRepository employeeRepository,
+                                 DepartmentRepository departmentRepository, WarmupProperties properties) {
+        this.cache = cache;
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.properties = properties;
+    }
+    
+    /**
+     * Write the entries that are current to the snapshot file, replacing it
+     * @return the number of entries written, or -1 when nothing was written
+     */
+    public int save() {
+        if (!properties.isSnapshotEnabled()) {
+            return -1;
+        }
+        long version = cache.currentVersion();
+        String fingerprint = fingerprint();
+        Map<String, ResponseBodyCache.Entry> entries = cache.entriesAt(version);
+        if (cache.currentVersion() != version) {
+            // A change committed while fingerprinting: the entries may not match the fingerprint
+            log.info("Response cache changed while saving; snapshot not written");
+            return -1;
+        }
+        
+        Path file = Paths.get(properties.getSnapshotFile());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(System.currentTimeMillis());
+                writeString(out, fingerprint);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, ResponseBodyCache.Entry> entry : entries.entrySet()) {
+                    writeString(out, entry.getKey());
+                    writeString(out, entry.getValue().contentType());
+                    writeBytes(out, entry.getValue().body());
+                    writeBytes(out, entry.getValue().gzipBody());
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            log.warn("Could not write response cache snapshot {}: {}", file, ex.getMessage());
+            return -1;
+        }
+        log.info("Saved {} response cache entries to {}", entries.size(), file);
+        return entries.size();
+    }
+    
+    /**
+     * Put the snapshot's entries into the cache if the snapshot is still current
+     * @return the number of entries restored, or -1 when the snapshot is missing, stale or unreadable
+     */
+    public int restore() {
+        if (!properties.isSnapshotEnabled()) {
+            return -1;
+        }
+        Path file = Paths.get(properties.getSnapshotFile());
+        long version = cache.currentVersion();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                log.info("Ignoring response cache snapshot {}: unknown format", file);
+                return -1;
+            }
+            Duration age = Duration.ofMillis(System.currentTimeMillis() - buffer.getLong());
+            if (age.compareTo(properties.getSnapshotMaxAge()) > 0) {
+                log.info("Ignoring response cache snapshot {}: {} old", file, age);
+                return -1;
+            }
+            if (!readString(buffer).equals(fingerprint())) {
+                log.info("Ignoring response cache snapshot {}: data changed since it was saved", file);
+                return -1;
+            }
+            int count = buffer.getInt();
+            int restored = 0;
+            for (int i = 0; i < count; i++) {
+                String key = readString(buffer);
+                ResponseBodyCache.Entry entry = new ResponseBodyCache.Entry(version, readString(buffer),
+                        readBytes(buffer), readBytes(buffer));
+                if (cache.put(key, entry)) {
+                    restored++;
+                }
+            }
+            log.info("Restored {} response cache entries from {}", restored, file);
+            return restored;
+        } catch (NoSuchFileException ex) {
+            return -1;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException ex) {
+            log.warn("Could not read response cache snapshot {}: {}", file, ex.toString());
+            return -1;
+        }
+    }
+    
+    private String fingerprint() {
+        return fingerprint(employeeRepository.getTableVersion()) + ";" + fingerprint(departmentRepository.getTableVersion());
+    }
+    
+    private static String fingerprint(TableVersion table) {
+        return table.getRowCount() + "," + table.getMaxId() + "," + table.getLastUpdated();
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(ABSENT);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+    
+    private static String readString(MappedByteBuffer buffer) {
+        byte[] bytes = readBytes(buffer);
+        if (bytes == null) {
+            throw new IllegalArgumentException("Missing string");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private static byte[] readBytes(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == ABSENT) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
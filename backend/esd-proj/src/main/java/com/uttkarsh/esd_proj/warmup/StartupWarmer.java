@@ -0,0 +1,100 @@
+package com.uttkarsh.esd_proj.warmup;
+
+import com.uttkarsh.esd_proj.repository.EmployeeRepository;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import com.uttkarsh.esd_proj.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the read paths the first requests take before the application reports ready, so
+ * they do not pay for empty connection pools, cold database pages and unprepared
+ * statements: the department list with headcounts, the dashboard totals and the most
+ * recently updated employees in batches, all in parallel through the services.
+ * A restored {@link ResponseCacheSnapshot} makes this unnecessary. Failures and
+ * timeouts are logged and never prevent startup.
+ */
+public class StartupWarmer {
+    
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmer.class);
+    
+    private final DepartmentService departmentService;
+    private final EmployeeService employeeService;
+    private final EmployeeRepository employeeRepository;
+    private final ResponseCacheSnapshot responseCacheSnapshot;
+    private final WarmupProperties properties;
+    
+    public StartupWarmer(DepartmentService departmentService, EmployeeService employeeService,
+                         EmployeeRepository employeeRepository, ResponseCacheSnapshot responseCacheSnapshot,
+                         WarmupProperties properties) {
+        this.departmentService = departmentService;
+        this.employeeService = employeeService;
+        this.employeeRepository = employeeRepository;
+        this.responseCacheSnapshot = responseCacheSnapshot;
+        this.properties = properties;
+    }
+    
+    /**
+     * Restore the response cache snapshot, or warm up from the database when there is none
+     * @return the number of warm-up queries that completed, 0 when the snapshot was restored
+     */
+    public int warm() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        if (responseCacheSnapshot.restore() >= 0) {
+            return 0;
+        }
+        
+        List<Callable<Object>> tasks = new ArrayList<>();
+        tasks.add(departmentService::getAllDepartments);
+        tasks.add(departmentService::getDashboardStats);
+        List<Long> hotIds = employeeRepository.findRecentlyUpdatedIds(Limit.of(properties.getHotEmployees()));
+        for (int from = 0; from < hotIds.size(); from += properties.getBatchSize()) {
+            List<Long> batch = hotIds.subList(from, Math.min(from + properties.getBatchSize(), hotIds.size()));
+            tasks.add(() -> employeeService.getEmployeesByIds(batch));
+        }
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "warmup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        int completed = 0;
+        try {
+            List<Future<Object>> results = executor.invokeAll(tasks,
+                    properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            for (Future<Object> result : results) {
+                try {
+                    result.get();
+                    completed++;
+                } catch (CancellationException ex) {
+                    // Timed out
+                } catch (ExecutionException ex) {
+                    log.warn("Warm-up query failed: {}", ex.getCause().toString());
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Warm-up ran {} of {} queries ({} hot employees) in {} ms", completed, tasks.size(),
+                hotIds.size(), (System.nanoTime() - start) / 1_000_000);
+        return completed;
+    }
+}
@@ -0,0 +1,117 @@
+package com.uttkarsh.esd_proj.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the startup warm-up and the persisted response cache, bound from app.warmup.*
+ */
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+    
+    /**
+     * When false startup goes straight to ready
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Threads running the warm-up queries in parallel
+     */
+    private int threads = 4;
+    
+    /**
+     * Most recently updated employees read during warm-up
+     */
+    private int hotEmployees = 1000;
+    
+    /**
+     * Employees read per warm-up query
+     */
+    private int batchSize = 100;
+    
+    /**
+     * Time after which startup goes ready without waiting for the remaining warm-up queries
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+    
+    /**
+     * Persist the response cache on shutdown and restore it on the next start
+     */
+    private boolean snapshotEnabled = false;
+    
+    /**
+     * File holding the persisted response cache; replaced atomically on every shutdown
+     */
+    private String snapshotFile = System.getProperty("java.io.tmpdir") + "/esd-proj-response-cache.bin";
+    
+    /**
+     * Snapshots older than this are ignored even if the data looks unchanged
+     */
+    private Duration snapshotMaxAge = Duration.ofHours(24);
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getThreads() {
+        return threads;
+    }
+    
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+    
+    public int getHotEmployees() {
+        return hotEmployees;
+    }
+    
+    public void setHotEmployees(int hotEmployees) {
+        this.hotEmployees = hotEmployees;
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+    
+    public Duration getTimeout() {
+        return timeout;
+    }
+    
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+    
+    public boolean isSnapshotEnabled() {
+        return snapshotEnabled;
+    }
+    
+    public void setSnapshotEnabled(boolean snapshotEnabled) {
+        this.snapshotEnabled = snapshotEnabled;
+    }
+    
+    public String getSnapshotFile() {
+        return snapshotFile;
+    }
+    
+    public void setSnapshotFile(String snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+    
+    public Duration getSnapshotMaxAge() {
+        return snapshotMaxAge;
+    }
+    
+    public void setSnapshotMaxAge(Duration snapshotMaxAge) {
+        this.snapshotMaxAge = snapshotMaxAge;
+    }
+}
@@ -0,0 +1,8 @@
+-- Indexes for the lookups the application performs on every request or login
+
+-- OAuth2 login: UserRepository.findByProviderAndProviderId
+CREATE UNIQUE INDEX uk_users_provider_provider_id ON users (provider, provider_id);
+
+-- Department pages and capacity checks: findByDepartmentId / countByDepartmentId
+-- (also serves the foreign key, so MySQL does not add an implicit FK index)
+CREATE INDEX idx_employees_department_id ON employees (department_id);
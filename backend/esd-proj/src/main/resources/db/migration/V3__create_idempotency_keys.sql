@@ -0,0 +1,17 @@
+-- Responses stored for POST/PUT requests sent with an Idempotency-Key header
+
+CREATE TABLE idempotency_keys (
+    -- SHA-256 of principal + key, so keys are scoped to the user that sent them
+    id VARCHAR(64) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    response_status INT,
+    response_content_type VARCHAR(100),
+    response_body VARCHAR(8000),
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Expired key cleanup: IdempotencyRecordRepository.deleteExpired
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
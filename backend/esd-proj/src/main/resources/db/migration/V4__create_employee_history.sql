@@ -0,0 +1,37 @@
+-- Append-only history of employee versions, written in the same transaction as every
+-- EmployeeService write. A version is valid over [valid_from, valid_to); the current one
+-- has valid_to = 9999-12-31 rather than NULL so as-of lookups stay plain index ranges.
+-- Changes only ever insert a version and close the previous one; deleting an employee
+-- closes its last version. No foreign keys: history outlives employees and departments.
+
+CREATE TABLE employee_history (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    employee_id BIGINT NOT NULL,
+    change_type VARCHAR(16) NOT NULL,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    position VARCHAR(100) NOT NULL,
+    department_id BIGINT NOT NULL,
+    salary DECIMAL(10, 2),
+    hire_date DATE NOT NULL,
+    valid_from DATETIME(6) NOT NULL,
+    valid_to DATETIME(6) NOT NULL,
+    CONSTRAINT pk_employee_history PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Versions of one employee, and the version valid at a given time
+CREATE INDEX idx_employee_history_employee_valid_from ON employee_history (employee_id, valid_from);
+
+-- Department membership at a given time: the optimizer ranges over whichever bound is
+-- more selective, versions started before it for old dates, versions ending after it for
+-- recent ones, so the rows read do not grow with the rest of the department's history
+CREATE INDEX idx_employee_history_department_valid_from ON employee_history (department_id, valid_from);
+CREATE INDEX idx_employee_history_department_valid_to ON employee_history (department_id, valid_to);
+
+-- Existing employees start with their current state, known since their last update
+INSERT INTO employee_history (employee_id, change_type, first_name, last_name, email, position,
+                              department_id, salary, hire_date, valid_from, valid_to)
+SELECT id, 'BASELINE', first_name, last_name, email, position,
+       department_id, salary, hire_date, updated_at, '9999-12-31 00:00:00'
+FROM employees;
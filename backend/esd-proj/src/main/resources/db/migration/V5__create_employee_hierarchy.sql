@@ -0,0 +1,34 @@
+-- Reporting lines: employees.manager_id is the direct manager, employee_hierarchy the
+-- closure of that relation, one row per (ancestor, descendant) pair including each
+-- employee with itself at depth 0. Both are maintained together by EmployeeService, so
+-- "all reports under X" and "headcount under X" are single range reads on the primary key
+-- instead of one query per level.
+-- Indexes are created before the foreign keys they serve, so no implicit FK index is added.
+
+ALTER TABLE employees ADD COLUMN manager_id BIGINT NULL;
+
+-- Direct reports of a manager, re-pointed when the manager is deleted
+CREATE INDEX idx_employees_manager_id ON employees (manager_id);
+
+ALTER TABLE employees ADD CONSTRAINT fk_employees_manager FOREIGN KEY (manager_id) REFERENCES employees (id);
+
+CREATE TABLE employee_hierarchy (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INT NOT NULL,
+    CONSTRAINT pk_employee_hierarchy PRIMARY KEY (ancestor_id, descendant_id)
+) ENGINE=InnoDB;
+
+-- Links of the members of a tree to the managers above it, by depth: moving or removing the
+-- top of a tree only touches rows found through this index
+CREATE INDEX idx_employee_hierarchy_descendant_depth ON employee_hierarchy (descendant_id, depth);
+
+ALTER TABLE employee_hierarchy ADD CONSTRAINT fk_employee_hierarchy_ancestor
+    FOREIGN KEY (ancestor_id) REFERENCES employees (id);
+ALTER TABLE employee_hierarchy ADD CONSTRAINT fk_employee_hierarchy_descendant
+    FOREIGN KEY (descendant_id) REFERENCES employees (id);
+
+-- Existing employees have no manager yet: each is a tree of its own
+INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth)
+SELECT id, id, 0
+FROM employees;
@@ -0,0 +1,10 @@
+-- Single row locked FOR UPDATE by every change to the reporting lines, so the cycle check
+-- and the closure rows it guards are read and written by one transaction at a time,
+-- across all app nodes: EmployeeHierarchyRepository.lockHierarchy
+
+CREATE TABLE employee_hierarchy_lock (
+    id INT NOT NULL,
+    CONSTRAINT pk_employee_hierarchy_lock PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+INSERT INTO employee_hierarchy_lock (id) VALUES (1);
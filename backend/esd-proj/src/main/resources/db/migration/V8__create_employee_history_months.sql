@@ -0,0 +1,41 @@
+-- Department membership at a date in the middle of a long history. The two department
+-- indexes of V4 bound one end of the interval only: whichever the optimizer picks, it reads
+-- every version of the department that started before the date, or every one that ended
+-- after it, and filters the rest out. Halfway through the history that is half of it.
+--
+-- Open and closed versions are now found separately:
+-- - open versions through (department_id, valid_to, valid_from), which reads the
+--   department's current members that had joined by the date, and nothing else
+-- - closed versions through employee_history_months, which lists a closed version under its
+--   department for every month it was valid in. A date reads the rows of its own month:
+--   the versions valid at some point in that month, however long the history behind it is
+-- Rows are written when a version is closed, one per month it spanned.
+
+CREATE TABLE employee_history_months (
+    department_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    history_id BIGINT NOT NULL,
+    CONSTRAINT pk_employee_history_months PRIMARY KEY (department_id, month_start, history_id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_employee_history_department_valid_to_from ON employee_history (department_id, valid_to, valid_from);
+DROP INDEX idx_employee_history_department_valid_from ON employee_history;
+DROP INDEX idx_employee_history_department_valid_to ON employee_history;
+
+-- Versions closed before this migration, spanning up to 1000 months. A month is numbered
+-- from 1970-01; TIMESTAMPDIFF counts whole months, so from a first of the month at
+-- midnight it gives the month a time falls in.
+INSERT INTO employee_history_months (department_id, month_start, history_id)
+SELECT h.department_id,
+       TIMESTAMPADD(MONTH, TIMESTAMPDIFF(MONTH, DATE '1970-01-01', h.valid_from) + n.months, DATE '1970-01-01'),
+       h.id
+FROM employee_history h
+JOIN (SELECT units.d + 10 * tens.d + 100 * hundreds.d AS months
+      FROM (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+            UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) units
+      CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+            UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) tens
+      CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+            UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) hundreds) n
+  ON n.months <= TIMESTAMPDIFF(MONTH, DATE '1970-01-01', h.valid_to) - TIMESTAMPDIFF(MONTH, DATE '1970-01-01', h.valid_from)
+WHERE h.valid_to < '9999-12-31 00:00:00';
@@ -0,0 +1,67 @@
+package com.uttkarsh.esd_proj.avatar;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvatarCacheTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void leastRecentlyServedImageIsEvictedFirst() {
+		AvatarCache cache = new AvatarCache(directory, 250, new SimpleMeterRegistry());
+		CachedAvatar a = cache.put("https://example.com/a", "image/png", new byte[100]);
+		cache.put("https://example.com/b", "image/png", new byte[100]);
+		cache.get("https://example.com/a");
+
+		cache.put("https://example.com/c", "image/jpeg", new byte[100]);
+
+		assertThat(cache.get("https://example.com/a")).isEqualTo(a);
+		assertThat(cache.get("https://example.com/b")).isNull();
+		assertThat(cache.get("https://example.com/c")).isNotNull();
+		assertThat(cache.getTotalBytes()).isEqualTo(200);
+		assertThat(directory.toFile().list()).hasSize(2);
+	}
+
+	@Test
+	void evictDeletesTheFile() {
+		AvatarCache cache = new AvatarCache(directory, 1000, new SimpleMeterRegistry());
+		CachedAvatar avatar = cache.put("https://example.com/a", "image/png", new byte[10]);
+
+		cache.evict("https://example.com/a");
+
+		assertThat(cache.get("https://example.com/a")).isNull();
+		assertThat(Files.exists(avatar.file())).isFalse();
+		assertThat(cache.getTotalBytes()).isZero();
+	}
+
+	@Test
+	void indexIsRebuiltFromDisk() {
+		CachedAvatar avatar = new AvatarCache(directory, 1000, new SimpleMeterRegistry())
+				.put("https://example.com/a", "image/webp", new byte[] {1, 2, 3});
+
+		AvatarCache reopened = new AvatarCache(directory, 1000, new SimpleMeterRegistry());
+
+		assertThat(reopened.get("https://example.com/a")).isEqualTo(avatar);
+		assertThat(reopened.getTotalBytes()).isEqualTo(3);
+	}
+
+	@Test
+	void etagFollowsContent() {
+		AvatarCache cache = new AvatarCache(directory, 1000, new SimpleMeterRegistry());
+		CachedAvatar first = cache.put("https://example.com/a", "image/png", new byte[] {1});
+		CachedAvatar second = cache.put("https://example.com/a", "image/png", new byte[] {2});
+
+		assertThat(second.etag()).isNotEqualTo(first.etag());
+		assertThat(Files.exists(first.file())).isFalse();
+		assertThat(cache.getEntryCount()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,170 @@
+package com.uttkarsh.esd_proj.avatar;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.uttkarsh.esd_proj.entity.User;
+import com.uttkarsh.esd_proj.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AvatarProxyTests {
+
+	private static final byte[] FIRST_PNG = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+	private static final byte[] SECOND_PNG = {(byte) 0x89, 'P', 'N', 'G', 4, 5, 6, 7};
+
+	private static HttpServer upstream;
+	private static final Map<String, AtomicInteger> upstreamCalls = new ConcurrentHashMap<>();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@SpyBean
+	private AvatarService avatarService;
+
+	@BeforeAll
+	static void startUpstream() throws IOException {
+		upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		upstream.createContext("/first.png", exchange -> respond(exchange, "image/png", FIRST_PNG));
+		upstream.createContext("/second.png", exchange -> respond(exchange, "image/png", SECOND_PNG));
+		upstream.createContext("/page.html", exchange -> respond(exchange, "text/html", new byte[] {'<'}));
+		upstream.start();
+	}
+
+	@AfterAll
+	static void stopUpstream() {
+		upstream.stop(0);
+	}
+
+	@Test
+	void avatarIsFetchedOnceAndServedFromDisk() throws Exception {
+		String path = "/first.png?" + System.nanoTime();
+		User user = saveUser(upstreamUrl(path));
+
+		MockHttpServletResponse first = mockMvc.perform(get("/api/users/" + user.getId() + "/avatar").with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", "image/png"))
+				.andExpect(header().string("Cache-Control", "max-age=604800, private"))
+				.andReturn().getResponse();
+		String etag = first.getHeader("ETag");
+		assertThat(first.getContentAsByteArray()).isEqualTo(FIRST_PNG);
+		assertThat(etag).isNotBlank();
+
+		mockMvc.perform(get("/api/users/" + user.getId() + "/avatar").with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", etag));
+		mockMvc.perform(get("/api/users/" + user.getId() + "/avatar")
+						.header("If-None-Match", etag)
+						.with(oauth2Login()))
+				.andExpect(status().isNotModified());
+
+		assertThat(upstreamCalls.get(path).get()).isEqualTo(1);
+	}
+
+	@Test
+	void newPictureUrlIsFetchedAgain() throws Exception {
+		User user = saveUser(upstreamUrl("/first.png?" + System.nanoTime()));
+		mockMvc.perform(get("/api/users/" + user.getId() + "/avatar").with(oauth2Login()))
+				.andExpect(status().isOk());
+
+		user.setPictureUrl(upstreamUrl("/second.png?" + System.nanoTime()));
+		userRepository.save(user);
+
+		byte[] body = mockMvc.perform(get("/api/users/" + user.getId() + "/avatar").with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray();
+		assertThat(body).isEqualTo(SECOND_PNG);
+	}
+
+	@Test
+	void fileDeletedBeforeItIsReadIsFetchedAgain() throws Exception {
+		String path = "/first.png?" + System.nanoTime();
+		User user = saveUser(upstreamUrl(path));
+		mockMvc.perform(get("/api/users/" + user.getId() + "/avatar").with(oauth2Login()))
+				.andExpect(status().isOk());
+		// A concurrent put or eviction removes the file between the lookup and the read
+		doAnswer(invocation -> {
+			CachedAvatar avatar = (CachedAvatar) invocation.callRealMethod();
+			Files.delete(avatar.file());
+			return avatar;
+		}).doCallRealMethod().when(avatarService).getAvatar(user.getId());
+
+		byte[] body = mockMvc.perform(get("/api/users/" + user.getId() + "/avatar").with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray();
+		assertThat(body).isEqualTo(FIRST_PNG);
+		assertThat(upstreamCalls.get(path).get()).isEqualTo(2);
+	}
+
+	@Test
+	void nonImageUpstreamIsABadGateway() throws Exception {
+		User user = saveUser(upstreamUrl("/page.html"));
+
+		mockMvc.perform(get("/api/users/" + user.getId() + "/avatar").with(oauth2Login()))
+				.andExpect(status().isBadGateway());
+	}
+
+	@Test
+	void userWithoutPictureIsNotFound() throws Exception {
+		User user = saveUser(null);
+
+		mockMvc.perform(get("/api/users/" + user.getId() + "/avatar").with(oauth2Login()))
+				.andExpect(status().isNotFound());
+	}
+
+	private User saveUser(String pictureUrl) {
+		String suffix = String.valueOf(System.nanoTime());
+		User user = new User();
+		user.setEmail("avatar." + suffix + "@example.com");
+		user.setName("Avatar User");
+		user.setPictureUrl(pictureUrl);
+		user.setProvider("google");
+		user.setProviderId("avatar-" + suffix);
+		return userRepository.save(user);
+	}
+
+	private static String upstreamUrl(String path) {
+		return "http://127.0.0.1:" + upstream.getAddress().getPort() + path;
+	}
+
+	private static void respond(HttpExchange exchange, String contentType, byte[] body) {
+		upstreamCalls.computeIfAbsent(exchange.getRequestURI().toString(), uri -> new AtomicInteger()).incrementAndGet();
+		try (exchange) {
+			exchange.getResponseHeaders().set("Content-Type", contentType);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.uttkarsh.esd_proj.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.uttkarsh.esd_proj.dto.DepartmentResponse;
+import com.uttkarsh.esd_proj.dto.EmployeeResponse;
+import com.uttkarsh.esd_proj.protobuf.ProtobufListHttpMessageConverter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload size (plain and gzipped) and encode time per row of the list responses as JSON and
+ * as length-delimited protobuf, encoded by the same code the endpoints use.
+ *
+ * mvn test -Pbenchmark -Dtest=BinaryEncodingBenchmark
+ */
+@Tag("benchmark")
+class BinaryEncodingBenchmark {
+
+	private static final int WARMUP_ITERATIONS = 3_000;
+	private static final int ITERATIONS = 3_000;
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.build();
+
+	private final ProtobufListHttpMessageConverter protobuf = new ProtobufListHttpMessageConverter();
+
+	@Test
+	void listEncodings() throws Exception {
+		Type employeeList = new ParameterizedTypeReference<List<EmployeeResponse>>() { }.getType();
+		Type departmentList = new ParameterizedTypeReference<List<DepartmentResponse>>() { }.getType();
+		List<EmployeeResponse> employees = SerializationBenchmark.employees();
+		List<DepartmentResponse> departments = SerializationBenchmark.departments();
+
+		System.out.printf("%n%-22s %10s %12s %12s %12s%n", "case", "ns/row", "bytes/row", "gzip bytes", "total bytes");
+		run("employees, JSON", employees, json(employeeList));
+		run("employees, protobuf", employees, protobuf(employeeList));
+		run("departments, JSON", departments, json(departmentList));
+		run("departments, protobuf", departments, protobuf(departmentList));
+	}
+
+	private Encoder json(Type type) {
+		ObjectWriter writer = objectMapper.writerFor(objectMapper.constructType(type));
+		return writer::writeValue;
+	}
+
+	private Encoder protobuf(Type type) {
+		return (out, rows) -> protobuf.write(rows, type, ProtobufListHttpMessageConverter.APPLICATION_PROTOBUF,
+				new StreamOutputMessage(out));
+	}
+
+	private static void run(String name, List<?> rows, Encoder encoder) throws Exception {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			encoder.encode(OutputStream.nullOutputStream(), rows);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			encoder.encode(OutputStream.nullOutputStream(), rows);
+		}
+		double nanosPerRow = (double) (System.nanoTime() - start) / ITERATIONS / rows.size();
+
+		ByteArrayOutputStream plain = new ByteArrayOutputStream();
+		encoder.encode(plain, rows);
+		ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+			plain.writeTo(gzip);
+		}
+		System.out.printf("%-22s %10.1f %12.1f %12d %12d%n", name, nanosPerRow,
+				(double) plain.size() / rows.size(), gzipped.size(), plain.size());
+	}
+
+	@FunctionalInterface
+	private interface Encoder {
+		void encode(OutputStream out, List<?> rows) throws Exception;
+	}
+
+	private static class StreamOutputMessage implements HttpOutputMessage {
+
+		private final OutputStream body;
+		private final HttpHeaders headers = new HttpHeaders();
+
+		StreamOutputMessage(OutputStream body) {
+			this.body = body;
+		}
+
+		@Override
+		public OutputStream getBody() {
+			return body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+
+	}
+
+}
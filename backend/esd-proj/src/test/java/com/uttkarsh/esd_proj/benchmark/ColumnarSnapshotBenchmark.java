@@ -0,0 +1,146 @@
+package com.uttkarsh.esd_proj.benchmark;
+
+import com.uttkarsh.esd_proj.columnar.ColumnarSnapshotProperties;
+import com.uttkarsh.esd_proj.columnar.EmployeeFilter;
+import com.uttkarsh.esd_proj.columnar.EmployeeSnapshot;
+import com.uttkarsh.esd_proj.columnar.HireInterval;
+import com.uttkarsh.esd_proj.repository.EmployeeAttributes;
+import com.uttkarsh.esd_proj.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregate latency of the columnar snapshot over 1M synthetic employees (200 departments,
+ * 50 positions), sequential and parallel, next to the same aggregates as streams over
+ * the equivalent heap objects. Rows come from a stub repository so only the scans are
+ * measured.
+ *
+ * mvn test -Pbenchmark -Dtest=ColumnarSnapshotBenchmark
+ */
+@Tag("benchmark")
+class ColumnarSnapshotBenchmark {
+
+	private static final int EMPLOYEES = 1_000_000;
+	private static final int DEPARTMENTS = 200;
+	private static final int POSITIONS = 50;
+	private static final int ITERATIONS = 50;
+
+	private record Row(Long id, Long departmentId, String position, BigDecimal salary, LocalDate hireDate)
+			implements EmployeeAttributes {
+
+		public Long getId() {
+			return id;
+		}
+
+		public Long getDepartmentId() {
+			return departmentId;
+		}
+
+		public String getPosition() {
+			return position;
+		}
+
+		public BigDecimal getSalary() {
+			return salary;
+		}
+
+		public LocalDate getHireDate() {
+			return hireDate;
+		}
+	}
+
+	@Test
+	void oneMillionEmployees() {
+		List<Row> rows = rows();
+		ColumnarSnapshotProperties properties = new ColumnarSnapshotProperties();
+		properties.setEnabled(true);
+		properties.setLoadBatchSize(50_000);
+
+		try (EmployeeSnapshot snapshot = new EmployeeSnapshot(repository(rows), properties, new SimpleMeterRegistry())) {
+			long start = System.nanoTime();
+			snapshot.load();
+			long loadMillis = (System.nanoTime() - start) / 1_000_000;
+
+			EmployeeFilter department = new EmployeeFilter(7L, null, null, null);
+			EmployeeFilter hiredSince = new EmployeeFilter(null, "Position 3", LocalDate.of(2015, 1, 1), null);
+
+			System.out.printf("%n%-40s %,14d%n", "employees", EMPLOYEES);
+			System.out.printf("%-40s %,14d%n", "load from repository (ms)", loadMillis);
+			System.out.printf("%n%-40s %14s %14s%n", "aggregate (median ms)", "sequential", "parallel");
+			for (Map.Entry<String, Supplier<Object>> query : Map.<String, Supplier<Object>>of(
+					"count, one department", () -> snapshot.count(department),
+					"positions, all", () -> snapshot.countByPosition(EmployeeFilter.ALL),
+					"salaries by department, all", () -> snapshot.salaryByDepartment(EmployeeFilter.ALL),
+					"hires by month, position + date", () -> snapshot.hires(hiredSince, HireInterval.MONTH)).entrySet()) {
+				properties.setParallelThreshold(Integer.MAX_VALUE);
+				double sequential = medianMillis(query.getValue());
+				properties.setParallelThreshold(0);
+				double parallel = medianMillis(query.getValue());
+				System.out.printf("%-40s %14.2f %14.2f%n", query.getKey(), sequential, parallel);
+			}
+
+			System.out.printf("%n%-40s %14s%n", "heap objects, streams (median ms)", "");
+			System.out.printf("%-40s %14.2f%n", "count, one department", medianMillis(() -> rows.stream()
+					.filter(row -> row.departmentId() == 7L).count()));
+			System.out.printf("%-40s %14.2f%n", "salaries by department, all", medianMillis(() -> rows.stream()
+					.filter(row -> row.salary() != null)
+					.collect(Collectors.groupingBy(Row::departmentId,
+							Collectors.reducing(BigDecimal.ZERO, Row::salary, BigDecimal::add)))));
+		}
+	}
+
+	private static double medianMillis(Supplier<Object> query) {
+		for (int warmup = 0; warmup < ITERATIONS; warmup++) {
+			query.get();
+		}
+		long[] nanos = new long[ITERATIONS];
+		for (int i = 0; i < ITERATIONS; i++) {
+			long start = System.nanoTime();
+			query.get();
+			nanos[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(nanos);
+		return nanos[ITERATIONS / 2] / 1_000_000.0;
+	}
+
+	private static List<Row> rows() {
+		Random random = new Random(42);
+		LocalDate firstHire = LocalDate.of(2000, 1, 1);
+		List<Row> rows = new ArrayList<>(EMPLOYEES);
+		for (long id = 1; id <= EMPLOYEES; id++) {
+			BigDecimal salary = random.nextInt(20) == 0 ? null : BigDecimal.valueOf(3_000_000 + random.nextInt(15_000_000), 2);
+			rows.add(new Row(id, 1L + random.nextInt(DEPARTMENTS), "Position " + random.nextInt(POSITIONS), salary,
+					firstHire.plusDays(random.nextInt(9000))));
+		}
+		return rows;
+	}
+
+	/**
+	 * A repository answering only the snapshot's keyset load query, from the given rows ordered by ID
+	 */
+	private static EmployeeRepository repository(List<Row> rows) {
+		return (EmployeeRepository) Proxy.newProxyInstance(EmployeeRepository.class.getClassLoader(),
+				new Class<?>[] {EmployeeRepository.class}, (proxy, method, args) -> {
+					if (!method.getName().equals("findAttributesAfter")) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					int from = Math.toIntExact((Long) args[0]);
+					int to = Math.min(from + ((Limit) args[1]).max(), rows.size());
+					return from >= to ? List.of() : rows.subList(from, to);
+				});
+	}
+
+}
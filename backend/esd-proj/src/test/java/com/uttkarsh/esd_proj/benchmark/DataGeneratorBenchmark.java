@@ -0,0 +1,53 @@
+package com.uttkarsh.esd_proj.benchmark;
+
+import com.uttkarsh.esd_proj.EsdProjApplication;
+import com.uttkarsh.esd_proj.seed.DataGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Time to generate 1M employees over 200 departments into a fresh embedded database with
+ * the seed profile, for 1 thread and the default 4. Pass -Dseed.employees=N to change the
+ * volume.
+ *
+ * mvn test -Pbenchmark -Dtest=DataGeneratorBenchmark
+ */
+@Tag("benchmark")
+class DataGeneratorBenchmark {
+
+	private static final int DEPARTMENTS = 200;
+
+	@Test
+	void oneMillionEmployees() {
+		int employees = Integer.getInteger("seed.employees", 1_000_000);
+		System.out.printf("%n%-12s %12s %14s%n", "threads", "seconds", "employees/s");
+		for (int threads : new int[] {1, 4}) {
+			double seconds = run(employees, threads);
+			System.out.printf("%-12d %12.1f %,14.0f%n", threads, seconds, employees / seconds);
+		}
+	}
+
+	private static double run(int employees, int threads) {
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(EsdProjApplication.class).profiles("seed");
+		try (ConfigurableApplicationContext context = builder.run(
+				"--server.port=0",
+				"--spring.datasource.url=jdbc:h2:mem:seed_" + threads + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+				"--app.seed.departments=0",
+				"--app.seed.employees=0",
+				"--app.seed.threads=" + threads)) {
+			long start = System.nanoTime();
+			context.getBean(DataGenerator.class).generate(DEPARTMENTS, employees);
+			double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+			Long count = context.getBean(JdbcTemplate.class).queryForObject("SELECT COUNT(*) FROM employees", Long.class);
+			if (count == null || count != employees) {
+				throw new AssertionError("Expected " + employees + " employees, found " + count);
+			}
+			return seconds;
+		}
+	}
+
+}
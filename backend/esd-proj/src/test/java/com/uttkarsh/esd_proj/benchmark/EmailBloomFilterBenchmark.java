@@ -0,0 +1,89 @@
+package com.uttkarsh.esd_proj.benchmark;
+
+import com.uttkarsh.esd_proj.bloom.BloomFilter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Build time, lookup cost, measured false positive rate and memory of the email filter
+ * at 1M emails, next to a HashSet holding the same emails.
+ *
+ * mvn test -Pbenchmark -Dtest=EmailBloomFilterBenchmark
+ */
+@Tag("benchmark")
+class EmailBloomFilterBenchmark {
+
+	private static final int EMAILS = 1_000_000;
+	private static final double TARGET_FPP = 0.01;
+
+	@Test
+	void oneMillionEmails() {
+		String[] members = emails("member", EMAILS);
+		String[] absent = emails("absent", EMAILS);
+
+		for (int warmup = 0; warmup < 2; warmup++) {
+			fill(new BloomFilter(EMAILS, TARGET_FPP), members);
+		}
+
+		long start = System.nanoTime();
+		BloomFilter filter = fill(new BloomFilter(EMAILS, TARGET_FPP), members);
+		double putNanos = (double) (System.nanoTime() - start) / EMAILS;
+
+		start = System.nanoTime();
+		int falsePositives = 0;
+		for (String email : absent) {
+			if (filter.mightContain(email)) {
+				falsePositives++;
+			}
+		}
+		double lookupNanos = (double) (System.nanoTime() - start) / EMAILS;
+
+		for (String email : members) {
+			if (!filter.mightContain(email)) {
+				throw new AssertionError("False negative for " + email);
+			}
+		}
+
+		Runtime runtime = Runtime.getRuntime();
+		System.gc();
+		long before = runtime.totalMemory() - runtime.freeMemory();
+		Set<String> set = new HashSet<>(members.length * 2);
+		for (String email : members) {
+			set.add(email);
+		}
+		System.gc();
+		long setBytes = runtime.totalMemory() - runtime.freeMemory() - before;
+
+		System.out.printf("%n%-36s %,14d%n", "emails", EMAILS);
+		System.out.printf("%-36s %,14d / %d%n", "filter bits / hash functions", filter.getBitSize(), filter.getHashCount());
+		System.out.printf("%-36s %,14d%n", "filter memory (bytes)", filter.getBitSize() / 8);
+		System.out.printf("%-36s %,14d%n", "HashSet memory excl. strings (bytes)", setBytes);
+		System.out.printf("%-36s %14.1f%n", "put (ns/op)", putNanos);
+		System.out.printf("%-36s %14.1f%n", "mightContain, absent (ns/op)", lookupNanos);
+		System.out.printf("%-36s %14.4f%n", "measured false positive rate", (double) falsePositives / EMAILS);
+		System.out.printf("%-36s %14.4f%n", "predicted false positive rate", filter.getExpectedFalsePositiveProbability());
+		System.out.printf("%-36s %14.4f%n", "target false positive rate", TARGET_FPP);
+		set.clear();
+	}
+
+	private static BloomFilter fill(BloomFilter filter, String[] emails) {
+		for (String email : emails) {
+			filter.put(email);
+		}
+		return filter;
+	}
+
+	private static String[] emails(String prefix, int count) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		String[] emails = new String[count];
+		for (int i = 0; i < count; i++) {
+			emails[i] = prefix + "." + Long.toHexString(random.nextLong()) + i + "@example.com";
+		}
+		return emails;
+	}
+
+}
@@ -0,0 +1,115 @@
+package com.uttkarsh.esd_proj.benchmark;
+
+import com.uttkarsh.esd_proj.EsdProjApplication;
+import com.uttkarsh.esd_proj.dto.DepartmentRequest;
+import com.uttkarsh.esd_proj.dto.EmployeeRequest;
+import com.uttkarsh.esd_proj.entity.Employee;
+import com.uttkarsh.esd_proj.repository.EmployeeRepository;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import com.uttkarsh.esd_proj.service.EmployeeService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput of the same workload under the default profile and the prod profile.
+ * Runs against the embedded database unless benchmark.datasource.url (plus
+ * benchmark.datasource.username/password) points at a MySQL instance.
+ *
+ * mvn test -Pbenchmark -Dtest=HibernateProfileBenchmark
+ */
+@Tag("benchmark")
+class HibernateProfileBenchmark {
+
+	private static final int EMPLOYEES = 2_000;
+	private static final int LIST_READS = 20;
+
+	@Test
+	void compareDefaultAndProdProfiles() {
+		Result defaults = run("default");
+		Result prod = run("prod");
+
+		System.out.printf("%n%-28s %12s %12s%n", "operation (ops/s)", "default", "prod");
+		System.out.printf("%-28s %12.0f %12.0f%n", "createEmployee", defaults.creates, prod.creates);
+		System.out.printf("%-28s %12.0f %12.0f%n", "bulk salary update (rows)", defaults.bulkUpdates, prod.bulkUpdates);
+		System.out.printf("%-28s %12.0f %12.0f%n", "getAllEmployees (rows)", defaults.listRows, prod.listRows);
+	}
+
+	private Result run(String profile) {
+		List<String> properties = new ArrayList<>(List.of(
+				"server.port=0",
+				"spring.datasource.url=" + System.getProperty("benchmark.datasource.url",
+						"jdbc:h2:mem:bench_" + profile + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")));
+		if (System.getProperty("benchmark.datasource.url") != null) {
+			properties.add("spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver");
+			properties.add("spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "root"));
+			properties.add("spring.datasource.password=" + System.getProperty("benchmark.datasource.password", ""));
+			properties.add("spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect");
+		}
+
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(EsdProjApplication.class);
+		if ("default".equals(profile)) {
+			// Same settings as the shipped application.properties
+			properties.add("spring.jpa.show-sql=true");
+			properties.add("spring.jpa.properties.hibernate.format_sql=true");
+			properties.add("logging.level.org.springframework.security=DEBUG");
+		} else {
+			builder.profiles(profile);
+		}
+
+		String[] args = properties.stream().map(property -> "--" + property).toArray(String[]::new);
+		try (ConfigurableApplicationContext context = builder.run(args)) {
+			return measure(context);
+		}
+	}
+
+	private Result measure(ConfigurableApplicationContext context) {
+		DepartmentService departmentService = context.getBean(DepartmentService.class);
+		EmployeeService employeeService = context.getBean(EmployeeService.class);
+		EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+		TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+
+		Long departmentId = departmentService
+				.createDepartment(new DepartmentRequest("Benchmark", EMPLOYEES, "Benchmark department"))
+				.id();
+
+		long start = System.nanoTime();
+		for (int i = 0; i < EMPLOYEES; i++) {
+			employeeService.createEmployee(new EmployeeRequest("First" + i, "Last" + i,
+					"employee" + i + "@bench.example.com", "Engineer", departmentId,
+					new BigDecimal("50000.00"), LocalDate.of(2020, 1, 1)));
+		}
+		double creates = EMPLOYEES / seconds(start);
+
+		start = System.nanoTime();
+		transactionTemplate.executeWithoutResult(status -> {
+			for (Employee employee : employeeRepository.findAll()) {
+				employee.setSalary(employee.getSalary().multiply(new BigDecimal("1.05")));
+			}
+		});
+		double bulkUpdates = EMPLOYEES / seconds(start);
+
+		start = System.nanoTime();
+		for (int i = 0; i < LIST_READS; i++) {
+			employeeService.getAllEmployees();
+		}
+		double listRows = (double) EMPLOYEES * LIST_READS / seconds(start);
+
+		return new Result(creates, bulkUpdates, listRows);
+	}
+
+	private static double seconds(long startNanos) {
+		return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+	}
+
+	private record Result(double creates, double bulkUpdates, double listRows) {
+	}
+
+}
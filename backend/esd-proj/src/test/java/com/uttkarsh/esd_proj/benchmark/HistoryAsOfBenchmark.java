@@ -0,0 +1,175 @@
+package com.uttkarsh.esd_proj.benchmark;
+
+import com.uttkarsh.esd_proj.EsdProjApplication;
+import com.uttkarsh.esd_proj.entity.EmployeeHistory;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Department membership as of a date, over 10M history rows written straight into a fresh
+ * file-backed embedded database: 100 departments of 100 employees, whose versions follow
+ * each other from 2010 to 2026 and all but the last of which are closed. With 10M rows every
+ * employee has about 5 versions a month.
+ * <p>
+ * For an early, a middle and a recent date in one department, compares the lookup through
+ * the open versions and the month listing with the interval query over the V4 department
+ * indexes, which are created again for it. Both are timed as plain SQL; the lookup is also
+ * timed through DepartmentService, which adds loading the members as entities. Besides the
+ * median latency it prints the rows the embedded database read for each (H2's scanCount),
+ * which is what grows with the history: the interval query reads the department's versions
+ * on one side of the date, the month listing one month of them. H2 keeps the table cached,
+ * so latencies understate what those rows cost when they have to come from disk.
+ * <p>
+ * Pass -Dhistory.rows=N to change the number of rows.
+ *
+ * mvn test -Pbenchmark -Dtest=HistoryAsOfBenchmark
+ */
+@Tag("benchmark")
+class HistoryAsOfBenchmark {
+
+	private static final int DEPARTMENTS = 100;
+	private static final int EMPLOYEES_PER_DEPARTMENT = 100;
+	private static final LocalDateTime START = LocalDateTime.of(2010, 1, 1, 0, 0);
+	private static final LocalDateTime END = LocalDateTime.of(2026, 1, 1, 0, 0);
+	private static final int BATCH_SIZE = 10_000;
+	private static final int RUNS = 101;
+	private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+	private static final String INTERVAL = "SELECT * FROM employee_history "
+			+ "WHERE department_id = ? AND valid_from <= ? AND valid_to > ?";
+	private static final String OPEN = "SELECT * FROM employee_history "
+			+ "WHERE department_id = ? AND valid_to = ? AND valid_from <= ?";
+	private static final String CLOSED = "SELECT h.* FROM employee_history_months m "
+			+ "JOIN employee_history h ON h.id = m.history_id "
+			+ "WHERE m.department_id = ? AND m.month_start = ? AND h.valid_from <= ? AND h.valid_to > ?";
+
+	@Test
+	void departmentMembersAsOf() throws IOException {
+		int rows = Integer.getInteger("history.rows", 10_000_000);
+		Path database = Path.of("target", "history-benchmark");
+		Files.deleteIfExists(Path.of(database + ".mv.db"));
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(EsdProjApplication.class);
+		try (ConfigurableApplicationContext context = builder.run(
+				"--server.port=0",
+				// Results of repeated queries are not reused, and statements are not logged
+				"--spring.datasource.url=jdbc:h2:file:" + database.toAbsolutePath()
+						+ ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;OPTIMIZE_REUSE_RESULTS=FALSE",
+				"--spring.jpa.show-sql=false")) {
+			JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+			DepartmentService departmentService = context.getBean(DepartmentService.class);
+			seed(jdbcTemplate, rows);
+			jdbcTemplate.execute("CREATE INDEX idx_employee_history_department_valid_from "
+					+ "ON employee_history (department_id, valid_from)");
+			jdbcTemplate.execute("CREATE INDEX idx_employee_history_department_valid_to "
+					+ "ON employee_history (department_id, valid_to)");
+			jdbcTemplate.execute("ANALYZE");
+
+			long departmentId = DEPARTMENTS / 2;
+			System.out.printf("%n%-44s %12s %10s %12s%n", "operation", "median (ms)", "members", "rows read");
+			for (LocalDate date : List.of(LocalDate.of(2011, 3, 15), LocalDate.of(2018, 1, 15), LocalDate.of(2025, 11, 15))) {
+				Timestamp at = Timestamp.valueOf(date.atTime(23, 59, 59));
+				long monthListingRows = rowsRead(jdbcTemplate, OPEN, departmentId, Timestamp.valueOf(EmployeeHistory.OPEN), at)
+						+ rowsRead(jdbcTemplate, CLOSED, departmentId, date.withDayOfMonth(1), at, at);
+				report(date + ", month listing, service",
+						() -> departmentService.getEmployeesAsOf(departmentId, date).size(), monthListingRows);
+				report(date + ", month listing, SQL",
+						() -> jdbcTemplate.queryForList(OPEN, departmentId, Timestamp.valueOf(EmployeeHistory.OPEN), at).size()
+								+ jdbcTemplate.queryForList(CLOSED, departmentId, date.withDayOfMonth(1), at, at).size(),
+						monthListingRows);
+				report(date + ", interval over V4 indexes, SQL",
+						() -> jdbcTemplate.queryForList(INTERVAL, departmentId, at, at).size(),
+						rowsRead(jdbcTemplate, INTERVAL, departmentId, at, at));
+			}
+		}
+	}
+
+	/**
+	 * Employee e of department d has its versions end at evenly spaced times between START and
+	 * END; the last one stays open. Closed versions are listed under the months they span.
+	 */
+	private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+		int employees = DEPARTMENTS * EMPLOYEES_PER_DEPARTMENT;
+		int versionsPerEmployee = Math.max(1, rows / employees);
+		Duration length = Duration.between(START, END).dividedBy(versionsPerEmployee);
+		List<Object[]> versions = new ArrayList<>(BATCH_SIZE);
+		List<Object[]> months = new ArrayList<>();
+		long id = 0;
+		long monthRows = 0;
+		for (int employee = 0; employee < employees; employee++) {
+			long departmentId = employee % DEPARTMENTS;
+			for (int version = 0; version < versionsPerEmployee; version++) {
+				LocalDateTime from = START.plus(length.multipliedBy(version));
+				LocalDateTime to = version == versionsPerEmployee - 1 ? EmployeeHistory.OPEN : from.plus(length);
+				versions.add(new Object[] {++id, employee, "First", "Last", "employee" + employee + "@example.com",
+						"Engineer", departmentId, Timestamp.valueOf(from), Timestamp.valueOf(to)});
+				if (!to.equals(EmployeeHistory.OPEN)) {
+					for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+						months.add(new Object[] {departmentId, month.atDay(1), id});
+					}
+				}
+				if (versions.size() == BATCH_SIZE) {
+					monthRows += flush(jdbcTemplate, versions, months);
+				}
+			}
+		}
+		monthRows += flush(jdbcTemplate, versions, months);
+		System.out.printf("%n%,d history rows, %,d month rows%n", id, monthRows);
+	}
+
+	private static int flush(JdbcTemplate jdbcTemplate, List<Object[]> versions, List<Object[]> months) {
+		jdbcTemplate.batchUpdate("INSERT INTO employee_history (id, employee_id, change_type, first_name, last_name, "
+				+ "email, position, department_id, salary, hire_date, valid_from, valid_to) "
+				+ "VALUES (?, ?, 'UPDATED', ?, ?, ?, ?, ?, NULL, DATE '2010-01-01', ?, ?)", versions);
+		jdbcTemplate.batchUpdate("INSERT INTO employee_history_months (department_id, month_start, history_id) "
+				+ "VALUES (?, ?, ?)", months);
+		int written = months.size();
+		versions.clear();
+		months.clear();
+		return written;
+	}
+
+	/**
+	 * Rows the embedded database read to answer the query, from its EXPLAIN ANALYZE output
+	 */
+	private static long rowsRead(JdbcTemplate jdbcTemplate, String sql, Object... args) {
+		String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN ANALYZE " + sql, String.class, args));
+		long read = 0;
+		Matcher matcher = SCAN_COUNT.matcher(plan);
+		while (matcher.find()) {
+			read += Long.parseLong(matcher.group(1));
+		}
+		return read;
+	}
+
+	private static void report(String operation, LongSupplier run, long rowsRead) {
+		long members = 0;
+		double[] millis = new double[RUNS];
+		for (int i = 0; i < RUNS; i++) {
+			long start = System.nanoTime();
+			members = run.getAsLong();
+			millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+		}
+		Arrays.sort(millis);
+		System.out.printf("%-44s %12.2f %,10d %,12d%n", operation, millis[RUNS / 2], members, rowsRead);
+	}
+
+}
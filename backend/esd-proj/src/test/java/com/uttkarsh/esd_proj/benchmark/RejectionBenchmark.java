@@ -0,0 +1,108 @@
+package com.uttkarsh.esd_proj.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uttkarsh.esd_proj.dto.DepartmentRequest;
+import com.uttkarsh.esd_proj.exception.BusinessValidationException;
+import com.uttkarsh.esd_proj.service.CapacitySnapshotProperties;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import com.uttkarsh.esd_proj.service.EmployeeService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.uttkarsh.esd_proj.support.TestData.employee;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Throughput of hires rejected because the department is full, with and without the
+ * capacity snapshot, next to the cost of throwing a stackless and a regular exception.
+ *
+ * mvn test -Pbenchmark -Dtest=RejectionBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "app.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+class RejectionBenchmark {
+
+	private static final int REQUESTS = 5_000;
+	private static final int THROWS = 1_000_000;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private CapacitySnapshotProperties snapshotProperties;
+
+	@Test
+	void fullDepartmentRejections() throws Exception {
+		Long departmentId = departmentService
+				.createDepartment(new DepartmentRequest("Rejection Benchmark", 1, null)).id();
+		employeeService.createEmployee(employee("hired@example.com", departmentId));
+		byte[] body = objectMapper.writeValueAsBytes(employee("rejected@example.com", departmentId));
+
+		snapshotProperties.setEnabled(false);
+		rejections(body, REQUESTS);
+		double withoutSnapshot = rejections(body, REQUESTS);
+
+		snapshotProperties.setEnabled(true);
+		rejections(body, REQUESTS);
+		double withSnapshot = rejections(body, REQUESTS);
+
+		exceptions(true);
+		double stackless = exceptions(true);
+		exceptions(false);
+		double withStack = exceptions(false);
+
+		System.out.printf("%n%-36s %14.0f%n", "rejections, no snapshot (req/s)", withoutSnapshot);
+		System.out.printf("%-36s %14.0f%n", "rejections, snapshot (req/s)", withSnapshot);
+		System.out.printf("%-36s %14.1f%n", "throw stackless (ns/op)", stackless);
+		System.out.printf("%-36s %14.1f%n", "throw with stack trace (ns/op)", withStack);
+	}
+
+	private double rejections(byte[] body, int requests) throws Exception {
+		long start = System.nanoTime();
+		for (int i = 0; i < requests; i++) {
+			int status = mockMvc.perform(post("/api/employees")
+							.with(oauth2Login())
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(body))
+					.andReturn().getResponse().getStatus();
+			if (status != 422) {
+				throw new AssertionError("Expected 422 but was " + status);
+			}
+		}
+		return requests / ((System.nanoTime() - start) / 1e9);
+	}
+
+	private static double exceptions(boolean stackless) {
+		int caught = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < THROWS; i++) {
+			try {
+				throw stackless ? new BusinessValidationException("full") : new IllegalStateException("full");
+			} catch (RuntimeException ex) {
+				caught += ex.getMessage().length();
+			}
+		}
+		double nanos = (double) (System.nanoTime() - start) / THROWS;
+		if (caught != THROWS * 4) {
+			throw new AssertionError();
+		}
+		return nanos;
+	}
+
+}
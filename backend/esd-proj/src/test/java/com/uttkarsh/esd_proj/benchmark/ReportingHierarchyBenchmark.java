@@ -0,0 +1,134 @@
+package com.uttkarsh.esd_proj.benchmark;
+
+import com.uttkarsh.esd_proj.EsdProjApplication;
+import com.uttkarsh.esd_proj.dto.EmployeeRequest;
+import com.uttkarsh.esd_proj.dto.EmployeeResponse;
+import com.uttkarsh.esd_proj.seed.DataGenerator;
+import com.uttkarsh.esd_proj.service.EmployeeService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Subtree queries on a 100k-employee reporting tree with a fan-out of 8 (7 levels), seeded
+ * into a fresh embedded database:
+ * <ul>
+ *   <li>counts and listings through the closure table, at the root, at a level-2 manager
+ *       (about 4.7k reports) and at a leaf</li>
+ *   <li>the same count by walking manager_id one level per query, for comparison</li>
+ *   <li>moving a level-2 manager with their reports under another manager</li>
+ * </ul>
+ * Pass -Dhierarchy.employees=N to change the tree size.
+ *
+ * mvn test -Pbenchmark -Dtest=ReportingHierarchyBenchmark
+ */
+@Tag("benchmark")
+class ReportingHierarchyBenchmark {
+
+	private static final int FAN_OUT = 8;
+	private static final int RUNS = 21;
+
+	@Test
+	void subtreeQueries() {
+		int employees = Integer.getInteger("hierarchy.employees", 100_000);
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(EsdProjApplication.class).profiles("seed");
+		try (ConfigurableApplicationContext context = builder.run(
+				"--server.port=0",
+				"--spring.datasource.url=jdbc:h2:mem:hierarchy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+				"--app.seed.departments=0",
+				"--app.seed.employees=0")) {
+			JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+			EmployeeService employeeService = context.getBean(EmployeeService.class);
+			long first = context.getBean(DataGenerator.class).generate(20, employees).firstEmployeeId();
+			buildTree(jdbcTemplate, first, employees);
+
+			long root = first;
+			long manager = first + 1 + FAN_OUT;
+			long leaf = first + employees - 1;
+			System.out.printf("%n%-44s %12s %10s%n", "operation", "median (ms)", "rows");
+			report("count, root", () -> employeeService.getReportCount(root).totalReports());
+			report("count, level-2 manager", () -> employeeService.getReportCount(manager).totalReports());
+			report("count, leaf", () -> employeeService.getReportCount(leaf).totalReports());
+			report("count, root, manager_id walk per level", () -> countByLevels(jdbcTemplate, root));
+			report("count, level-2 manager, manager_id walk", () -> countByLevels(jdbcTemplate, manager));
+			report("list, root, direct reports", () -> employeeService.getReports(root, 1).size());
+			report("list, level-2 manager, all reports", () -> employeeService.getReports(manager, null).size());
+			report("list, root, all reports", () -> employeeService.getReports(root, null).size());
+
+			// Alternate the level-2 manager between two level-1 managers
+			long[] managers = {first + 2, first + 1};
+			int[] move = {0};
+			report("move level-2 manager with reports", () -> {
+				EmployeeResponse employee = employeeService.getEmployeeById(manager);
+				employeeService.updateEmployee(manager, new EmployeeRequest(employee.firstName(), employee.lastName(),
+						employee.email(), employee.position(), employee.departmentId(), employee.salary(),
+						employee.hireDate(), managers[move[0]++ % 2]));
+				return employeeService.getReportCount(manager).totalReports();
+			});
+		}
+	}
+
+	/**
+	 * Employee i (0-based) reports to employee (i - 1) / FAN_OUT; writes manager_id and the
+	 * closure rows above depth 0, which the generator already wrote
+	 */
+	private static void buildTree(JdbcTemplate jdbcTemplate, long first, int employees) {
+		List<Object[]> managers = new ArrayList<>();
+		List<Object[]> links = new ArrayList<>();
+		for (int i = 1; i < employees; i++) {
+			managers.add(new Object[] {first + (i - 1) / FAN_OUT, first + i});
+			int depth = 1;
+			for (int ancestor = (i - 1) / FAN_OUT; ; ancestor = (ancestor - 1) / FAN_OUT, depth++) {
+				links.add(new Object[] {first + ancestor, first + i, depth});
+				if (ancestor == 0) {
+					break;
+				}
+			}
+		}
+		jdbcTemplate.batchUpdate("UPDATE employees SET manager_id = ? WHERE id = ?", managers);
+		jdbcTemplate.batchUpdate("INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) VALUES (?, ?, ?)",
+				links);
+		System.out.printf("%nTree of %,d employees, %,d closure rows%n", employees, links.size() + employees);
+	}
+
+	/**
+	 * What the closure table replaces: one query per level of the tree
+	 */
+	private static long countByLevels(JdbcTemplate jdbcTemplate, long managerId) {
+		long count = 0;
+		List<Long> level = List.of(managerId);
+		while (!level.isEmpty()) {
+			List<Long> next = new ArrayList<>();
+			for (int from = 0; from < level.size(); from += 1000) {
+				List<Long> chunk = level.subList(from, Math.min(from + 1000, level.size()));
+				String in = String.join(",", Collections.nCopies(chunk.size(), "?"));
+				next.addAll(jdbcTemplate.queryForList("SELECT id FROM employees WHERE manager_id IN (" + in + ")",
+						Long.class, chunk.toArray()));
+			}
+			count += next.size();
+			level = next;
+		}
+		return count;
+	}
+
+	private static void report(String operation, LongSupplier run) {
+		long rows = 0;
+		double[] millis = new double[RUNS];
+		for (int i = 0; i < RUNS; i++) {
+			long start = System.nanoTime();
+			rows = run.getAsLong();
+			millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+		}
+		Arrays.sort(millis);
+		System.out.printf("%-44s %12.2f %,10d%n", operation, millis[RUNS / 2], rows);
+	}
+
+}
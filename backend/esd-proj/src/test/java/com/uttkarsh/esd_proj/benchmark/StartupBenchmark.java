@@ -0,0 +1,260 @@
+package com.uttkarsh.esd_proj.benchmark;
+
+import com.uttkarsh.esd_proj.EsdProjApplication;
+import com.uttkarsh.esd_proj.support.MockOidcProvider;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.CookieManager;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Time from launching a fresh JVM to the first successful GET /api/departments (after an
+ * OIDC login against a local mock provider) for each startup configuration:
+ * <ul>
+ *   <li>baseline</li>
+ *   <li>lazy: with spring.main.lazy-initialization, which the fast-startup profile leaves off</li>
+ *   <li>aot and aot + lazy: only when target/classes holds the Spring AOT output, i.e. after
+ *       mvn -Pfast-startup -DskipTests package</li>
+ * </ul>
+ * Each of these also runs with AppCDS ("+cds"), using a class data archive recorded for that
+ * configuration by a training run that exits once the context has refreshed, so the effect of
+ * the archive is measured on its own.
+ * Each result is appended to target/startup-benchmark.csv with the current commit so runs can
+ * be compared across changes. AppCDS needs jars on the class path, so the application classes
+ * are packed into target/startup/esd-proj-classes.jar first.
+ *
+ * mvn test -Pbenchmark -Dtest=StartupBenchmark [-Dstartup.runs=5]
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+	private static final Path WORK_DIR = Paths.get("target", "startup");
+	private static final Path RESULTS = Paths.get("target", "startup-benchmark.csv");
+	private static final Duration START_TIMEOUT = Duration.ofMinutes(3);
+
+	private final MockOidcProvider provider = new MockOidcProvider();
+
+	@Test
+	void timeToFirstDepartmentsResponse() throws Exception {
+		int runs = Integer.getInteger("startup.runs", 3);
+		Files.createDirectories(WORK_DIR);
+		List<String> classPath = childClassPath();
+		boolean aot = EsdProjApplication.class.getResource("EsdProjApplication__ApplicationContextInitializer.class") != null;
+
+		Map<String, List<String>> configurations = new LinkedHashMap<>();
+		configurations.put("baseline", List.of());
+		configurations.put("lazy", List.of("-Dspring.main.lazy-initialization=true"));
+		if (aot) {
+			configurations.put("aot", List.of("-Dspring.aot.enabled=true"));
+			configurations.put("aot+lazy", List.of("-Dspring.aot.enabled=true", "-Dspring.main.lazy-initialization=true"));
+		}
+
+		Map<String, List<String>> modes = new LinkedHashMap<>();
+		for (Map.Entry<String, List<String>> configuration : configurations.entrySet()) {
+			Path archive = WORK_DIR.resolve(configuration.getKey() + ".jsa");
+			train(classPath, archive, configuration.getValue());
+			List<String> withArchive = new ArrayList<>(configuration.getValue());
+			withArchive.add("-XX:SharedArchiveFile=" + archive);
+			modes.put(configuration.getKey(), configuration.getValue());
+			modes.put(configuration.getKey() + "+cds", withArchive);
+		}
+
+		String commit = currentCommit();
+		System.out.printf("%n%-16s %12s %12s%n", "mode", "median (ms)", "min (ms)");
+		for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+			long[] millis = new long[runs];
+			for (int run = 0; run < runs; run++) {
+				millis[run] = timeToFirstResponse(classPath, mode.getValue(), mode.getKey() + "-" + run);
+			}
+			Arrays.sort(millis);
+			long median = millis[runs / 2];
+			System.out.printf("%-16s %12d %12d%n", mode.getKey(), median, millis[0]);
+			Files.writeString(RESULTS, String.join(",", Instant.now().toString(), commit, mode.getKey(),
+							String.valueOf(median), String.valueOf(millis[0])) + "\n",
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		}
+		if (!aot) {
+			System.out.println("AOT modes skipped: build with mvn -Pfast-startup -DskipTests package first");
+		}
+		provider.stop();
+	}
+
+	/**
+	 * Record the classes loaded up to the end of context refresh into a dynamic CDS archive
+	 */
+	private void train(List<String> classPath, Path archive, List<String> options) throws Exception {
+		Files.deleteIfExists(archive);
+		List<String> trainingOptions = new ArrayList<>(options);
+		trainingOptions.add("-XX:ArchiveClassesAtExit=" + archive);
+		trainingOptions.add("-Dspring.context.exit=onRefresh");
+		Process process = launch(classPath, trainingOptions, freePort(), archive.getFileName() + "-training");
+		if (!process.waitFor(START_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS) || !Files.exists(archive)) {
+			process.destroyForcibly();
+			throw new IllegalStateException("Training run did not produce " + archive + ", see " + WORK_DIR);
+		}
+	}
+
+	private long timeToFirstResponse(List<String> classPath, List<String> options, String name) throws Exception {
+		int port = freePort();
+		String base = "http://127.0.0.1:" + port;
+		HttpClient client = HttpClient.newBuilder()
+				.cookieHandler(new CookieManager())
+				.followRedirects(HttpClient.Redirect.NEVER)
+				.build();
+
+		long start = System.nanoTime();
+		Process process = launch(classPath, options, port, name);
+		try {
+			HttpResponse<Void> authorization = awaitAuthorizationRedirect(client, base, process);
+			Map<String, String> params = queryParams(authorization.headers().firstValue("Location").orElseThrow());
+			provider.idToken = provider.signIdToken("startup-user", "startup@example.com", "Startup User",
+					"https://example.com/startup.png", params.get("nonce"));
+			HttpResponse<Void> callback = client.send(HttpRequest.newBuilder(URI.create(base
+							+ "/login/oauth2/code/mock?code=startup&state=" + params.get("state"))).build(),
+					HttpResponse.BodyHandlers.discarding());
+			if (callback.statusCode() != 302) {
+				throw new IllegalStateException("Login failed with " + callback.statusCode());
+			}
+			HttpResponse<String> departments = client.send(HttpRequest.newBuilder(URI.create(base + "/api/departments"))
+					.header("Accept", "application/json").build(), HttpResponse.BodyHandlers.ofString());
+			if (departments.statusCode() != 200) {
+				throw new IllegalStateException("/api/departments returned " + departments.statusCode());
+			}
+			return (System.nanoTime() - start) / 1_000_000;
+		} finally {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+			}
+		}
+	}
+
+	private static HttpResponse<Void> awaitAuthorizationRedirect(HttpClient client, String base, Process process)
+			throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/oauth2/authorization/mock")).build();
+		long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+		while (System.nanoTime() < deadline) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + WORK_DIR);
+			}
+			try {
+				HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+				if (response.statusCode() != 302) {
+					throw new IllegalStateException("Authorization request returned " + response.statusCode());
+				}
+				return response;
+			} catch (IOException ex) {
+				// Not listening yet
+			}
+			Thread.sleep(20);
+		}
+		throw new IllegalStateException("Application did not start within " + START_TIMEOUT);
+	}
+
+	private Process launch(List<String> classPath, List<String> options, int port, String name) throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.add("-Xshare:auto");
+		command.addAll(options);
+		command.add("-cp");
+		command.add(String.join(File.pathSeparator, classPath));
+		command.add(EsdProjApplication.class.getName());
+		command.add("--spring.config.additional-location=file:src/test/resources/application.properties");
+		command.add("--server.port=" + port);
+		command.add("--app.avatar.cache-dir=" + WORK_DIR.resolve("avatars"));
+		provider.clientProperties("mock").forEach((key, value) -> command.add("--" + key + "=" + value));
+		return new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(WORK_DIR.resolve(name + ".log").toFile())
+				.start();
+	}
+
+	/**
+	 * The test class path without test classes and devtools, with target/classes packed into a jar
+	 */
+	private static List<String> childClassPath() throws IOException {
+		String testClassPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+		Path classesJar = WORK_DIR.resolve("esd-proj-classes.jar").toAbsolutePath();
+		packClasses(Paths.get("target", "classes"), classesJar);
+
+		List<String> classPath = new ArrayList<>();
+		classPath.add(classesJar.toString());
+		for (String entry : testClassPath.split(File.pathSeparator)) {
+			if (entry.endsWith(".jar") && !entry.contains("spring-boot-devtools") && !entry.contains("surefire")) {
+				classPath.add(entry);
+			}
+		}
+		return classPath;
+	}
+
+	private static void packClasses(Path classes, Path jar) throws IOException {
+		try (OutputStream out = Files.newOutputStream(jar);
+			 JarOutputStream jarOut = new JarOutputStream(out);
+			 Stream<Path> files = Files.walk(classes)) {
+			// Directory entries are needed for classpath scanning (components, Flyway migrations)
+			for (Path path : files.filter(path -> !path.equals(classes)).sorted().collect(Collectors.toList())) {
+				String name = classes.relativize(path).toString().replace(File.separatorChar, '/');
+				if (Files.isDirectory(path)) {
+					jarOut.putNextEntry(new JarEntry(name + "/"));
+				} else {
+					jarOut.putNextEntry(new JarEntry(name));
+					Files.copy(path, jarOut);
+				}
+				jarOut.closeEntry();
+			}
+		}
+	}
+
+	private static Map<String, String> queryParams(String location) {
+		Map<String, String> params = new LinkedHashMap<>();
+		String query = URI.create(location).getRawQuery();
+		for (String pair : query.split("&")) {
+			int equals = pair.indexOf('=');
+			params.put(pair.substring(0, equals), URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+		}
+		return params;
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private static String currentCommit() {
+		try {
+			Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+			String commit = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+			return git.waitFor() == 0 ? commit : "unknown";
+		} catch (IOException | InterruptedException ex) {
+			return "unknown";
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.uttkarsh.esd_proj.bloom;
+
+import com.uttkarsh.esd_proj.exception.BusinessValidationException;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import com.uttkarsh.esd_proj.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.uttkarsh.esd_proj.support.TestData.department;
+import static com.uttkarsh.esd_proj.support.TestData.employee;
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmailBloomFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EmailBloomFilter emailBloomFilter;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void bloomFilterHasNoFalseNegativesAndStaysNearTargetRate() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("member" + i + "@example.com");
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(filter.mightContain("member" + i + "@example.com")).isTrue();
+			if (filter.mightContain("absent" + i + "@example.com")) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives).isLessThan(200);
+		assertThat(filter.getExpectedFalsePositiveProbability()).isLessThan(0.02);
+	}
+
+	@Test
+	void newEmailsSkipTheQueryAndDuplicatesAreStillRejected() {
+		assertThat(emailBloomFilter.isLoaded()).isTrue();
+		String suffix = uniqueSuffix();
+		Long departmentId = departmentService
+				.createDepartment(department("Bloom " + suffix)).id();
+		double skippedBefore = meterRegistry.counter("email.filter.checks", "result", "skipped").count();
+
+		employeeService.createEmployee(employee("bloom." + suffix + "@example.com", departmentId));
+
+		assertThat(meterRegistry.counter("email.filter.checks", "result", "skipped").count())
+				.isEqualTo(skippedBefore + 1);
+		assertThatThrownBy(() -> employeeService.createEmployee(employee("bloom." + suffix + "@example.com", departmentId)))
+				.isInstanceOf(BusinessValidationException.class);
+	}
+
+	@Test
+	void emailWrittenBehindTheFiltersBackIsRejectedByTheUniqueConstraint() throws Exception {
+		String suffix = uniqueSuffix();
+		Long departmentId = departmentService
+				.createDepartment(department("Unseen " + suffix)).id();
+		String email = "unseen." + suffix + "@example.com";
+		// Simulates a write by another instance, which this instance's filter never sees
+		jdbcTemplate.update("INSERT INTO employees (first_name, last_name, email, position, department_id, hire_date, "
+				+ "created_at, updated_at) VALUES ('Other', 'Node', ?, 'Engineer', ?, '2022-01-01', "
+				+ "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", email, departmentId);
+
+		mockMvc.perform(post("/api/employees")
+						.with(oauth2Login())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"firstName": "First", "lastName": "Last", "email": "%s", "position": "Engineer",
+								 "departmentId": %d, "hireDate": "2022-01-01"}
+								""".formatted(email, departmentId)))
+				.andExpect(status().isUnprocessableEntity())
+				.andExpect(jsonPath("$.message").value("An employee with this email already exists"));
+	}
+
+}
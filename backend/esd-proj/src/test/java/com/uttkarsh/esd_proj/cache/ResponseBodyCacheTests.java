@@ -0,0 +1,174 @@
+package com.uttkarsh.esd_proj.cache;
+
+import com.uttkarsh.esd_proj.protobuf.ProtobufListHttpMessageConverter;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import static com.uttkarsh.esd_proj.support.TestData.department;
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ResponseBodyCacheTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ResponseBodyCacheProperties properties;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void hitsAreServedWithoutQueryingUntilAServiceWriteCommits() throws Exception {
+		String suffix = uniqueSuffix();
+		Long departmentId = departmentService
+				.createDepartment(department("Cached " + suffix)).id();
+		String first = departments().getContentAsString();
+		double hitsBefore = hits();
+
+		// Invisible to the cache: written behind the services' backs
+		jdbcTemplate.update("UPDATE departments SET name = ? WHERE id = ?", "Renamed " + suffix, departmentId);
+		String second = departments().getContentAsString();
+
+		assertThat(second).isEqualTo(first).contains("Cached " + suffix);
+		assertThat(hits()).isEqualTo(hitsBefore + 1);
+
+		mockMvc.perform(post("/api/departments")
+						.with(oauth2Login())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"Other " + suffix + "\",\"capacity\":5}"))
+				.andExpect(status().isCreated());
+
+		assertThat(departments().getContentAsString())
+				.contains("Renamed " + suffix)
+				.contains("Other " + suffix);
+	}
+
+	@Test
+	void entriesExpireAfterTheMaxAge() throws Exception {
+		Duration maxAge = properties.getMaxAge();
+		properties.setMaxAge(Duration.ofMillis(200));
+		try {
+			String suffix = uniqueSuffix();
+			Long departmentId = departmentService
+					.createDepartment(department("Aging " + suffix)).id();
+			departments();
+
+			// As another node would: committed without this node seeing an event
+			jdbcTemplate.update("UPDATE departments SET name = ? WHERE id = ?", "Aged " + suffix, departmentId);
+			Thread.sleep(300);
+
+			assertThat(departments().getContentAsString()).contains("Aged " + suffix);
+		} finally {
+			properties.setMaxAge(maxAge);
+		}
+	}
+
+	@Test
+	void gzippedBodyIsServedToClientsThatAcceptIt() throws Exception {
+		DataSize minCompressSize = properties.getMinCompressSize();
+		properties.setMinCompressSize(DataSize.ofBytes(0));
+		try {
+			departmentService.createDepartment(department("Gzip " + uniqueSuffix()));
+			byte[] plain = departments().getContentAsByteArray();
+
+			MockHttpServletResponse gzipped = mockMvc.perform(get("/api/departments")
+							.header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+							.with(oauth2Login()))
+					.andExpect(status().isOk())
+					.andReturn().getResponse();
+
+			assertThat(gzipped.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+			assertThat(gzipped.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+			assertThat(gzipped.getHeaders(HttpHeaders.VARY)).contains("Accept, Accept-Encoding");
+			assertThat(new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray())).readAllBytes())
+					.isEqualTo(plain);
+			assertThat(departments().getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+		} finally {
+			properties.setMinCompressSize(minCompressSize);
+		}
+	}
+
+	@Test
+	void representationsAreCachedPerAcceptHeader() throws Exception {
+		departmentService.createDepartment(department("Accept " + uniqueSuffix()));
+		MediaType protobuf = ProtobufListHttpMessageConverter.APPLICATION_PROTOBUF;
+
+		for (int i = 0; i < 2; i++) {
+			assertThat(perform(get("/api/departments").accept(MediaType.APPLICATION_JSON)).getContentType())
+					.isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+			assertThat(perform(get("/api/departments").accept(protobuf)).getContentType())
+					.isEqualTo(protobuf.toString());
+		}
+	}
+
+	@Test
+	void onlyPlainListRequestsAreCached() throws Exception {
+		double hitsBefore = hits();
+		double missesBefore = misses();
+
+		perform(get("/api/departments").param("ids", "1"));
+		perform(get("/api/departments").param("ids", "1"));
+		mockMvc.perform(get("/api/departments/999999").with(oauth2Login())).andExpect(status().isNotFound());
+
+		assertThat(hits()).isEqualTo(hitsBefore);
+		assertThat(misses()).isEqualTo(missesBefore);
+	}
+
+	@Test
+	void acceptEncodingParsing() {
+		assertThat(ResponseBodyCacheFilter.acceptsGzip("gzip, deflate, br")).isTrue();
+		assertThat(ResponseBodyCacheFilter.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+		assertThat(ResponseBodyCacheFilter.acceptsGzip("*")).isTrue();
+		assertThat(ResponseBodyCacheFilter.acceptsGzip("gzip;q=0")).isFalse();
+		assertThat(ResponseBodyCacheFilter.acceptsGzip("identity")).isFalse();
+		assertThat(ResponseBodyCacheFilter.acceptsGzip(null)).isFalse();
+	}
+
+	private MockHttpServletResponse departments() throws Exception {
+		return perform(get("/api/departments"));
+	}
+
+	private MockHttpServletResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+		return mockMvc.perform(request.with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+	}
+
+	private double hits() {
+		return meterRegistry.counter("response.cache.requests", "result", "hit").count();
+	}
+
+	private double misses() {
+		return meterRegistry.counter("response.cache.requests", "result", "miss").count();
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.uttkarsh.esd_proj.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightGroupTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void concurrentCallsWithSameKeyShareOneExecution() throws Exception {
+		SingleFlightGroup group = new SingleFlightGroup(100, Duration.ZERO, meterRegistry);
+		AtomicInteger executions = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Object>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(() -> {
+					try {
+						return group.execute("department:1", () -> {
+							executions.incrementAndGet();
+							release.await(5, TimeUnit.SECONDS);
+							return "result";
+						});
+					} catch (Throwable ex) {
+						throw new IllegalStateException(ex);
+					}
+				}));
+			}
+
+			while (meterRegistry.counter("singleflight.calls", "result", "joined").count() < 7) {
+				Thread.sleep(5);
+			}
+			release.countDown();
+
+			for (Future<Object> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(executions).hasValue(1);
+	}
+
+	@Test
+	void resultsAreNotReusedWithoutTtl() throws Throwable {
+		SingleFlightGroup group = new SingleFlightGroup(100, Duration.ZERO, meterRegistry);
+		AtomicInteger executions = new AtomicInteger();
+
+		group.execute("key", executions::incrementAndGet);
+		group.execute("key", executions::incrementAndGet);
+
+		assertThat(executions).hasValue(2);
+	}
+
+	@Test
+	void resultsAreReusedWithinTtl() throws Throwable {
+		SingleFlightGroup group = new SingleFlightGroup(100, Duration.ofMinutes(1), meterRegistry);
+		AtomicInteger executions = new AtomicInteger();
+
+		assertThat(group.execute("key", executions::incrementAndGet)).isEqualTo(1);
+		assertThat(group.execute("key", executions::incrementAndGet)).isEqualTo(1);
+
+		group.invalidateAll();
+		assertThat(group.execute("key", executions::incrementAndGet)).isEqualTo(2);
+	}
+
+	@Test
+	void failuresAreNotCached() throws Throwable {
+		SingleFlightGroup group = new SingleFlightGroup(100, Duration.ofMinutes(1), meterRegistry);
+
+		assertThatThrownBy(() -> group.execute("key", () -> {
+			throw new IllegalArgumentException("boom");
+		})).isInstanceOf(IllegalArgumentException.class);
+
+		assertThat(group.execute("key", () -> "recovered")).isEqualTo("recovered");
+	}
+
+	@Test
+	void callsBeyondTheKeyLimitRunUncoalesced() throws Throwable {
+		SingleFlightGroup group = new SingleFlightGroup(1, Duration.ofMinutes(1), meterRegistry);
+
+		group.execute("first", () -> "a");
+		assertThat(group.execute("second", () -> "b")).isEqualTo("b");
+		assertThat(meterRegistry.counter("singleflight.calls", "result", "bypassed").count()).isEqualTo(1.0);
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.uttkarsh.esd_proj.cache;
+
+import com.uttkarsh.esd_proj.dto.EmployeeResponse;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import com.uttkarsh.esd_proj.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static com.uttkarsh.esd_proj.support.TestData.department;
+import static com.uttkarsh.esd_proj.support.TestData.employee;
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Results kept for the result TTL must not outlive a committed write
+ */
+@SpringBootTest(properties = "app.single-flight.result-ttl=10m")
+class SingleFlightInvalidationTests {
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Test
+	void committedWritesDropCachedResults() {
+		String suffix = uniqueSuffix();
+		Long departmentId = departmentService.createDepartment(department("Flight " + suffix)).id();
+		assertThat(departmentService.getDepartmentById(departmentId).employeeCount()).isZero();
+		assertThat(departmentService.getEmployeesByDepartment(departmentId)).isEmpty();
+
+		Long employeeId = employeeService.createEmployee(employee("flight." + suffix + "@example.com", departmentId)).id();
+		assertThat(departmentService.getDepartmentById(departmentId).employeeCount()).isEqualTo(1);
+		assertThat(departmentService.getEmployeesByDepartment(departmentId)).extracting(EmployeeResponse::id)
+				.containsExactly(employeeId);
+
+		departmentService.updateDepartment(departmentId, department("Renamed " + suffix));
+		assertThat(departmentService.getDepartmentById(departmentId).name()).isEqualTo("Renamed " + suffix);
+	}
+
+}
@@ -0,0 +1,152 @@
+package com.uttkarsh.esd_proj.columnar;
+
+import com.uttkarsh.esd_proj.dto.DepartmentSalaryStats;
+import com.uttkarsh.esd_proj.dto.EmployeeRequest;
+import com.uttkarsh.esd_proj.exception.SnapshotUnavailableException;
+import com.uttkarsh.esd_proj.repository.EmployeeRepository;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import com.uttkarsh.esd_proj.service.EmployeeService;
+import com.uttkarsh.esd_proj.support.TestData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.uttkarsh.esd_proj.support.TestData.department;
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.columnar-snapshot.enabled=true")
+@AutoConfigureMockMvc
+class EmployeeSnapshotTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EmployeeSnapshot snapshot;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Test
+	void serviceWritesAreAppliedInTheBackground() throws Exception {
+		String suffix = uniqueSuffix();
+		Long departmentId = departmentService
+				.createDepartment(department("Columnar " + suffix)).id();
+		EmployeeFilter department = new EmployeeFilter(departmentId, null, null, null);
+
+		Long engineerId = employeeService.createEmployee(employee("eng" + suffix, "Engineer", departmentId,
+				new BigDecimal("1000.50"), LocalDate.of(2020, 1, 15))).id();
+		employeeService.createEmployee(employee("mgr" + suffix, "Manager", departmentId,
+				new BigDecimal("3000.00"), LocalDate.of(2021, 6, 1)));
+		employeeService.createEmployee(employee("int" + suffix, "Intern", departmentId,
+				null, LocalDate.of(2021, 6, 20)));
+
+		snapshot.awaitRefresh();
+		assertThat(snapshot.count(department)).isEqualTo(3);
+		assertThat(snapshot.countByPosition(department))
+				.containsExactly(Map.entry("Engineer", 1L), Map.entry("Intern", 1L), Map.entry("Manager", 1L));
+		assertThat(snapshot.salaryByDepartment(department)).containsExactly(new DepartmentSalaryStats(departmentId,
+				3, 2, new BigDecimal("4000.50"), new BigDecimal("2000.25"),
+				new BigDecimal("1000.50"), new BigDecimal("3000.00")));
+		assertThat(snapshot.hires(department, HireInterval.MONTH))
+				.containsExactly(Map.entry("2020-01", 1L), Map.entry("2021-06", 2L));
+
+		employeeService.updateEmployee(engineerId, employee("eng" + suffix, "Manager", departmentId,
+				new BigDecimal("2000.00"), LocalDate.of(2020, 1, 15)));
+		snapshot.awaitRefresh();
+		assertThat(snapshot.countByPosition(department))
+				.containsExactly(Map.entry("Intern", 1L), Map.entry("Manager", 2L));
+
+		employeeService.deleteEmployee(engineerId);
+		snapshot.awaitRefresh();
+		assertThat(snapshot.count(department)).isEqualTo(2);
+		assertThat(snapshot.count(new EmployeeFilter(departmentId, null, LocalDate.of(2021, 6, 10), null)))
+				.isEqualTo(1);
+		assertThat(snapshot.count(new EmployeeFilter(departmentId, "Astronaut", null, null))).isZero();
+	}
+
+	@Test
+	void parallelScansMatchSequentialScans() {
+		ColumnarSnapshotProperties properties = new ColumnarSnapshotProperties();
+		properties.setEnabled(true);
+		properties.setLoadBatchSize(7);
+		properties.setParallelism(3);
+		properties.setOffHeapThreshold(16);
+		try (EmployeeSnapshot scanned = new EmployeeSnapshot(employeeRepository, properties, new SimpleMeterRegistry())) {
+			properties.setParallelThreshold(Integer.MAX_VALUE);
+			scanned.load();
+			Map<String, Long> positions = scanned.countByPosition(EmployeeFilter.ALL);
+			List<DepartmentSalaryStats> salaries = scanned.salaryByDepartment(EmployeeFilter.ALL);
+			Map<String, Long> hires = scanned.hires(EmployeeFilter.ALL, HireInterval.YEAR);
+
+			properties.setParallelThreshold(0);
+			assertThat(scanned.countByPosition(EmployeeFilter.ALL)).isEqualTo(positions);
+			assertThat(scanned.salaryByDepartment(EmployeeFilter.ALL)).isEqualTo(salaries);
+			assertThat(scanned.hires(EmployeeFilter.ALL, HireInterval.YEAR)).isEqualTo(hires);
+			assertThat(scanned.count(EmployeeFilter.ALL)).isEqualTo(employeeRepository.count());
+		}
+	}
+
+	@Test
+	void analyticsEndpointsAnswerFromTheSnapshot() throws Exception {
+		String suffix = uniqueSuffix();
+		Long departmentId = departmentService
+				.createDepartment(department("Analytics " + suffix)).id();
+		employeeService.createEmployee(employee("api" + suffix, "Analyst", departmentId,
+				new BigDecimal("500.00"), LocalDate.of(2019, 3, 3)));
+		snapshot.awaitRefresh();
+
+		mockMvc.perform(get("/api/analytics/employees/count").param("departmentId", departmentId.toString())
+						.with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.count").value(1));
+		mockMvc.perform(get("/api/analytics/employees/hires").param("departmentId", departmentId.toString())
+						.param("hiredFrom", "2019-01-01").param("interval", "YEAR")
+						.with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$['2019']").value(1));
+		mockMvc.perform(get("/api/analytics/employees/salaries").param("departmentId", departmentId.toString())
+						.with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].averageSalary").value(500.0));
+	}
+
+	@Test
+	void queriesAreUnavailableUntilLoaded() {
+		ColumnarSnapshotProperties properties = new ColumnarSnapshotProperties();
+		try (EmployeeSnapshot disabled = new EmployeeSnapshot(employeeRepository, properties, new SimpleMeterRegistry())) {
+			disabled.load();
+			assertThatThrownBy(() -> disabled.count(EmployeeFilter.ALL))
+					.isInstanceOf(SnapshotUnavailableException.class);
+		}
+	}
+
+	private static EmployeeRequest employee(String name, String position, Long departmentId,
+											BigDecimal salary, LocalDate hireDate) {
+		EmployeeRequest request = TestData.employee(name + "@example.com", departmentId);
+		request.setPosition(position);
+		request.setSalary(salary);
+		request.setHireDate(hireDate);
+		return request;
+	}
+}
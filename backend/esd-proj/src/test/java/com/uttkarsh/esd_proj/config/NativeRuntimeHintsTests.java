@@ -0,0 +1,65 @@
+package com.uttkarsh.esd_proj.config;
+
+import com.uttkarsh.esd_proj.dto.DepartmentResponse;
+import com.uttkarsh.esd_proj.dto.EmployeeResponse;
+import com.uttkarsh.esd_proj.dto.UserResponse;
+import com.uttkarsh.esd_proj.entity.Employee;
+import com.uttkarsh.esd_proj.repository.DepartmentHeadcount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.annotation.ReflectiveRuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.data.projection.TargetAware;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeRuntimeHintsTests {
+
+	private final RuntimeHints hints = new RuntimeHints();
+
+	@BeforeEach
+	void registerHints() {
+		new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+	}
+
+	@Test
+	void entitiesAreReflective() {
+		assertThat(RuntimeHintsPredicates.reflection().onType(Employee.class)
+				.withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS))
+				.accepts(hints);
+	}
+
+	@Test
+	void projectionsCanBeProxied() {
+		assertThat(RuntimeHintsPredicates.proxies()
+				.forInterfaces(AopProxyUtils.completeJdkProxyInterfaces(DepartmentHeadcount.class, TargetAware.class)))
+				.accepts(hints);
+	}
+
+	@Test
+	void templatesAndMigrationsAreIncluded() {
+		assertThat(RuntimeHintsPredicates.resource().forResource("templates/index.html")).accepts(hints);
+		assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/V1__create_schema.sql")).accepts(hints);
+	}
+
+	@Test
+	void oauth2LoginStateCanBeStoredInTheSession() {
+		assertThat(RuntimeHintsPredicates.serialization().onType(OAuth2AuthorizationRequest.class)).accepts(hints);
+		assertThat(RuntimeHintsPredicates.serialization().onType(OAuth2AuthenticationToken.class)).accepts(hints);
+	}
+
+	@Test
+	void responseBodiesAreRegisteredForBinding() {
+		new ReflectiveRuntimeHintsRegistrar().registerRuntimeHints(hints, NativeConfig.class);
+
+		for (Class<?> body : new Class<?>[] { EmployeeResponse.class, DepartmentResponse.class, UserResponse.class }) {
+			assertThat(RuntimeHintsPredicates.reflection().onType(body)).accepts(hints);
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.uttkarsh.esd_proj.controller;
+
+import com.uttkarsh.esd_proj.dto.DashboardResponse;
+import com.uttkarsh.esd_proj.dto.DashboardStats;
+import com.uttkarsh.esd_proj.dto.DepartmentRequest;
+import com.uttkarsh.esd_proj.entity.User;
+import com.uttkarsh.esd_proj.repository.UserRepository;
+import com.uttkarsh.esd_proj.service.DashboardProperties;
+import com.uttkarsh.esd_proj.service.DashboardService;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import com.uttkarsh.esd_proj.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DashboardTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void dashboardCombinesUserDepartmentsAndStats() throws Exception {
+		String suffix = uniqueSuffix();
+		String email = "dashboard." + suffix + "@example.com";
+		userRepository.save(new User(email, "Dashboard User", null, "google", "dashboard-" + suffix));
+		departmentService.createDepartment(new DepartmentRequest("Dashboard " + suffix, 7, null));
+
+		mockMvc.perform(get("/api/dashboard")
+						.with(oauth2Login().attributes(attributes -> attributes.put("email", email))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.partial").value(false))
+				.andExpect(jsonPath("$.unavailable").isEmpty())
+				.andExpect(jsonPath("$.user.email").value(email))
+				.andExpect(jsonPath("$.departments[?(@.name == 'Dashboard " + suffix + "')].capacity").value(7))
+				.andExpect(jsonPath("$.stats.departmentCount").isNumber());
+	}
+
+	@Test
+	void slowSectionIsReportedUnavailable() {
+		DepartmentService departments = mock(DepartmentService.class);
+		UserService users = mock(UserService.class);
+		when(users.getUserByEmail("slow@example.com")).thenReturn(Optional.empty());
+		when(departments.getAllDepartments()).thenReturn(List.of());
+		when(departments.getDashboardStats()).thenAnswer(invocation -> {
+			Thread.sleep(2_000);
+			return new DashboardStats(0, 0, 0);
+		});
+
+		DashboardProperties properties = new DashboardProperties();
+		properties.setSubQueryTimeout(Duration.ofMillis(200));
+		DashboardService dashboardService =
+				new DashboardService(departments, users, properties, new SimpleMeterRegistry());
+		try {
+			long start = System.nanoTime();
+			DashboardResponse response = dashboardService.getDashboard("slow@example.com");
+
+			assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+			assertThat(response.isPartial()).isTrue();
+			assertThat(response.getUnavailable()).containsExactly("stats");
+			assertThat(response.getStats()).isNull();
+			assertThat(response.getDepartments()).isEmpty();
+		} finally {
+			dashboardService.destroy();
+		}
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.uttkarsh.esd_proj.controller;
+
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import com.uttkarsh.esd_proj.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.uttkarsh.esd_proj.support.TestData.department;
+import static com.uttkarsh.esd_proj.support.TestData.employee;
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MultiGetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Test
+	void employeesAreReturnedInRequestedOrderWithMissingIds() throws Exception {
+		String suffix = uniqueSuffix();
+		Long departmentId = departmentService
+				.createDepartment(department("Multi " + suffix)).id();
+		Long first = createEmployee("first." + suffix, departmentId);
+		Long second = createEmployee("second." + suffix, departmentId);
+
+		mockMvc.perform(get("/api/employees")
+						.param("ids", second + ",999999," + first + "," + second)
+						.with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items", hasSize(2)))
+				.andExpect(jsonPath("$.items[0].id").value(second))
+				.andExpect(jsonPath("$.items[0].departmentName").value("Multi " + suffix))
+				.andExpect(jsonPath("$.items[1].id").value(first))
+				.andExpect(jsonPath("$.missingIds", hasSize(1)))
+				.andExpect(jsonPath("$.missingIds[0]").value(999999));
+	}
+
+	@Test
+	void departmentsIncludeHeadcount() throws Exception {
+		String suffix = uniqueSuffix();
+		Long empty = departmentService
+				.createDepartment(department("Empty " + suffix)).id();
+		Long staffed = departmentService
+				.createDepartment(department("Staffed " + suffix)).id();
+		createEmployee("staff." + suffix, staffed);
+
+		mockMvc.perform(get("/api/departments")
+						.param("ids", staffed + "," + empty + ",888888")
+						.with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0].id").value(staffed))
+				.andExpect(jsonPath("$.items[0].employeeCount").value(1))
+				.andExpect(jsonPath("$.items[1].id").value(empty))
+				.andExpect(jsonPath("$.items[1].employeeCount").value(0))
+				.andExpect(jsonPath("$.missingIds[0]").value(888888));
+	}
+
+	@Test
+	void tooManyIdsAreRejected() throws Exception {
+		String ids = LongStream.rangeClosed(1, 1001).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+		mockMvc.perform(get("/api/employees").param("ids", ids).with(oauth2Login()))
+				.andExpect(status().isUnprocessableEntity());
+	}
+
+	private Long createEmployee(String emailPrefix, Long departmentId) {
+		return employeeService.createEmployee(employee(emailPrefix + "@example.com", departmentId)).id();
+	}
+
+}
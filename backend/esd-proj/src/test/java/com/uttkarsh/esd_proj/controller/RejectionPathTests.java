@@ -0,0 +1,105 @@
+package com.uttkarsh.esd_proj.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uttkarsh.esd_proj.dto.DepartmentRequest;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import com.uttkarsh.esd_proj.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static com.uttkarsh.esd_proj.support.TestData.employee;
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RejectionPathTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void fullDepartmentIsRejectedFromSnapshotUntilItChanges() throws Exception {
+		String suffix = uniqueSuffix();
+		Long departmentId = departmentService
+				.createDepartment(new DepartmentRequest("Full " + suffix, 1, null)).id();
+		Long hired = employeeService.createEmployee(employee("hired." + suffix + "@example.com", departmentId)).id();
+		double before = snapshotRejections();
+
+		createEmployee("first." + suffix, departmentId)
+				.andExpect(status().isUnprocessableEntity())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+				.andExpect(jsonPath("$.type").value("urn:esd-proj:problem:business-validation-failed"))
+				.andExpect(jsonPath("$.status").value(422))
+				.andExpect(jsonPath("$.message").value("Cannot add employee. Department 'Full " + suffix + "' is at full capacity (1 employees)"));
+		assertThat(snapshotRejections()).isEqualTo(before);
+
+		createEmployee("second." + suffix, departmentId)
+				.andExpect(status().isUnprocessableEntity())
+				.andExpect(jsonPath("$.detail").value("Cannot add employee. Department 'Full " + suffix + "' is at full capacity (1 employees)"));
+		assertThat(snapshotRejections()).isEqualTo(before + 1);
+
+		employeeService.deleteEmployee(hired);
+
+		createEmployee("third." + suffix, departmentId)
+				.andExpect(status().isCreated());
+	}
+
+	@Test
+	void missingResourceIsAProblemResponse() throws Exception {
+		mockMvc.perform(get("/api/employees/999999").with(oauth2Login()))
+				.andExpect(status().isNotFound())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+				.andExpect(jsonPath("$.type").value("urn:esd-proj:problem:resource-not-found"))
+				.andExpect(jsonPath("$.title").value("Resource Not Found"))
+				.andExpect(jsonPath("$.error").value("Resource Not Found"))
+				.andExpect(jsonPath("$.timestamp").exists());
+	}
+
+	@Test
+	void fieldErrorsAreListed() throws Exception {
+		mockMvc.perform(post("/api/employees")
+						.with(oauth2Login())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.type").value("urn:esd-proj:problem:validation-failed"))
+				.andExpect(jsonPath("$.errors.email").exists());
+	}
+
+	private ResultActions createEmployee(String emailPrefix, Long departmentId) throws Exception {
+		return mockMvc.perform(post("/api/employees")
+				.with(oauth2Login())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employee(emailPrefix + "@example.com", departmentId))));
+	}
+
+	private double snapshotRejections() {
+		return meterRegistry.counter("capacity.snapshot.rejections").count();
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.uttkarsh.esd_proj.datasource;
+
+import com.uttkarsh.esd_proj.dto.DepartmentRequest;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import com.uttkarsh.esd_proj.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class WorkloadRoutingTests {
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void serviceMethodsUseTheirWorkloadPool() {
+		long writes = acquisitions("esd-write");
+		long reads = acquisitions("esd-read");
+		long scans = acquisitions("esd-scan");
+
+		Long id = departmentService.createDepartment(new DepartmentRequest("Routing", 5, null)).id();
+		assertThat(acquisitions("esd-write")).isGreaterThan(writes);
+
+		departmentService.getDepartmentById(id);
+		assertThat(acquisitions("esd-read")).isGreaterThan(reads);
+
+		departmentService.getAllDepartments();
+		assertThat(acquisitions("esd-scan")).isGreaterThan(scans);
+	}
+
+	@Test
+	void dashboardUserLookupUsesTheReadPool() {
+		long reads = acquisitions("esd-read");
+
+		userService.getUserByEmail("routing@example.com");
+		assertThat(acquisitions("esd-read")).isGreaterThan(reads);
+	}
+
+	private long acquisitions(String pool) {
+		Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+		return timer == null ? 0 : timer.count();
+	}
+
+}
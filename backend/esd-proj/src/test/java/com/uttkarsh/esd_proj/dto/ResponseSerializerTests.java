@@ -0,0 +1,100 @@
+package com.uttkarsh.esd_proj.dto;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseSerializerTests {
+
+	// Spring Boot's defaults: ISO strings rather than arrays for dates
+	private final ObjectMapper handWritten = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.build();
+
+	/**
+	 * Jackson's own record serializer, as used before the hand-written ones
+	 */
+	private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.mixIn(EmployeeResponse.class, Reflective.class)
+			.mixIn(DepartmentResponse.class, Reflective.class)
+			.build();
+
+	static Stream<LocalDateTime> timestamps() {
+		LocalDateTime base = LocalDateTime.of(2024, 3, 7, 9, 5, 0);
+		return Stream.of(
+				base,
+				base.withNano(500_000_000),
+				base.withNano(123_456_789),
+				base.withNano(1_000),
+				base.withNano(10),
+				LocalDateTime.of(1, 1, 1, 0, 0),
+				LocalDateTime.of(12345, 12, 31, 23, 59, 59),
+				LocalDateTime.of(-5, 6, 15, 12, 30, 1));
+	}
+
+	@ParameterizedTest
+	@MethodSource("timestamps")
+	void employeeMatchesReflectiveOutput(LocalDateTime timestamp) throws Exception {
+		EmployeeResponse employee = new EmployeeResponse(42L, "Ada", "Lovelace \"Countess\"", "ada@example.com",
+				"Engineer", 7L, "Research & Development", 3L, new BigDecimal("123456.70"), timestamp.toLocalDate(),
+				timestamp, timestamp.plusSeconds(1));
+
+		assertSameJson(employee);
+	}
+
+	@ParameterizedTest
+	@MethodSource("timestamps")
+	void departmentMatchesReflectiveOutput(LocalDateTime timestamp) throws Exception {
+		DepartmentResponse department = new DepartmentResponse(7L, "Research", 25, "Über – ünïcode", 3,
+				timestamp, timestamp);
+
+		assertSameJson(department);
+	}
+
+	@ParameterizedTest
+	@MethodSource("timestamps")
+	void nullsAreWritten(LocalDateTime timestamp) throws Exception {
+		assertSameJson(new EmployeeResponse(null, null, null, null, null, null, null, null, null, null, timestamp, null));
+		assertSameJson(new DepartmentResponse(null, null, null, null, null, null, timestamp));
+	}
+
+	@ParameterizedTest
+	@MethodSource("timestamps")
+	void listsMatchReflectiveOutput(LocalDateTime timestamp) throws Exception {
+		DepartmentResponse department = new DepartmentResponse(1L, "A", 1, null, 0, timestamp, timestamp);
+
+		assertSameJson(new MultiGetResponse<>(List.of(department, department), List.of(2L)));
+	}
+
+	@ParameterizedTest
+	@MethodSource("timestamps")
+	void timestampArraysAreLeftToJavaTimeModule(LocalDateTime timestamp) throws Exception {
+		EmployeeResponse employee = new EmployeeResponse(1L, "A", "B", "a@example.com", "Engineer", 2L, "C", null,
+				BigDecimal.TEN, timestamp.toLocalDate(), timestamp, timestamp);
+
+		assertThat(handWritten.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(employee))
+				.isEqualTo(reflective.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(employee));
+	}
+
+	private void assertSameJson(Object value) throws Exception {
+		assertThat(handWritten.writeValueAsString(value)).isEqualTo(reflective.writeValueAsString(value));
+	}
+
+	@JsonSerialize(using = JsonSerializer.None.class)
+	private interface Reflective {
+	}
+
+}
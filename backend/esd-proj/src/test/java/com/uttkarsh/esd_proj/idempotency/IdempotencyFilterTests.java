@@ -0,0 +1,148 @@
+package com.uttkarsh.esd_proj.idempotency;
+
+import com.uttkarsh.esd_proj.entity.IdempotencyRecord;
+import com.uttkarsh.esd_proj.repository.DepartmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private IdempotencyStore store;
+
+	@Autowired
+	private DepartmentRepository departmentRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void retryReplaysTheFirstResponseWithoutCreatingAgain() throws Exception {
+		String key = UUID.randomUUID().toString();
+		String name = "Idempotent " + uniqueSuffix();
+
+		MvcResult first = mockMvc.perform(createDepartment(key, name))
+				.andExpect(status().isCreated())
+				.andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+				.andReturn();
+		MvcResult retry = mockMvc.perform(createDepartment(key, name))
+				.andExpect(status().isCreated())
+				.andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+				.andReturn();
+
+		assertThat(retry.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+		assertThat(departmentRepository.findByName(name)).isPresent();
+		assertThat(departmentRepository.findAll().stream().filter(d -> d.getName().equals(name))).hasSize(1);
+	}
+
+	@Test
+	void reusingAKeyForADifferentRequestIsRejected() throws Exception {
+		String key = UUID.randomUUID().toString();
+
+		mockMvc.perform(createDepartment(key, "First " + uniqueSuffix())).andExpect(status().isCreated());
+		mockMvc.perform(createDepartment(key, "Second " + uniqueSuffix()))
+				.andExpect(status().isUnprocessableEntity())
+				.andExpect(jsonPath("$.message").value("This Idempotency-Key was already used for a different request"));
+	}
+
+	@Test
+	void duplicateArrivingWhileTheFirstIsInFlightGetsConflict() throws Exception {
+		String key = UUID.randomUUID().toString();
+		// oauth2Login() authenticates as "user"; claim the key as a concurrent request would
+		store.begin(IdempotencyFilter.recordId("user", key), "in-flight");
+
+		mockMvc.perform(createDepartment(key, "In flight " + uniqueSuffix()))
+				.andExpect(status().isConflict())
+				.andExpect(header().string("Retry-After", "1"));
+	}
+
+	@Test
+	void claimAbandonedMidRequestIsTakenOver() throws Exception {
+		String key = UUID.randomUUID().toString();
+		String id = IdempotencyFilter.recordId("user", key);
+		// Claimed by a node that stopped before finishing, longer ago than the in-progress timeout
+		store.begin(id, "abandoned");
+		jdbcTemplate.update("UPDATE idempotency_keys SET expires_at = ? WHERE id = ?",
+				Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), id);
+
+		String name = "Taken over " + uniqueSuffix();
+		mockMvc.perform(createDepartment(key, name))
+				.andExpect(status().isCreated())
+				.andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+		assertThat(departmentRepository.findByName(name)).isPresent();
+		// The completed response is kept for the full TTL
+		assertThat(store.find(id)).hasValueSatisfying(record -> {
+			assertThat(record.getStatus()).isEqualTo(IdempotencyRecord.Status.COMPLETED);
+			assertThat(record.getExpiresAt()).isAfter(LocalDateTime.now().plusHours(23));
+		});
+	}
+
+	@Test
+	void lapsedClaimCannotReleaseOrCompleteTheRetryThatTookItOver() {
+		String id = IdempotencyFilter.recordId("user", UUID.randomUUID().toString());
+		// A retry of the same request carries the same hash, so only created_at tells the claims apart
+		IdempotencyStore.Claim lapsed = store.begin(id, "same-request");
+		jdbcTemplate.update("UPDATE idempotency_keys SET expires_at = ? WHERE id = ?",
+				Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), id);
+		store.releaseExpired(id);
+		IdempotencyStore.Claim retry = store.begin(id, "same-request");
+
+		// The request that ran past its lease fails, then another one finishes
+		store.release(lapsed);
+		store.complete(lapsed, 500, "application/json", "{}");
+
+		assertThat(store.find(id)).hasValueSatisfying(record -> {
+			assertThat(record.getStatus()).isEqualTo(IdempotencyRecord.Status.IN_PROGRESS);
+			assertThat(record.getCreatedAt()).isEqualTo(retry.createdAt());
+		});
+
+		store.complete(retry, 201, "application/json", "{}");
+		assertThat(store.find(id)).hasValueSatisfying(record -> {
+			assertThat(record.getStatus()).isEqualTo(IdempotencyRecord.Status.COMPLETED);
+			assertThat(record.getResponseStatus()).isEqualTo(201);
+		});
+	}
+
+	@Test
+	void clientErrorsAreReplayedToo() throws Exception {
+		String key = UUID.randomUUID().toString();
+
+		mockMvc.perform(createDepartment(key, "")).andExpect(status().isBadRequest());
+		mockMvc.perform(createDepartment(key, ""))
+				.andExpect(status().isBadRequest())
+				.andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"));
+	}
+
+	private static RequestBuilder createDepartment(String key, String name) {
+		return post("/api/departments")
+				.with(oauth2Login())
+				.header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\": \"" + name + "\", \"capacity\": 5}");
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.uttkarsh.esd_proj.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The context boots with ddl-auto=validate, so Hibernate only starts if the
+ * migrations alone produce a schema matching the entities.
+ */
+@SpringBootTest
+class SchemaMigrationTests {
+
+	@Autowired
+	private Flyway flyway;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void allMigrationsAreApplied() {
+		assertThat(flyway.info().pending()).isEmpty();
+		assertThat(flyway.info().applied()).isNotEmpty();
+	}
+
+	@Test
+	void performanceIndexesExist() throws Exception {
+		assertThat(indexNames("users")).contains("uk_users_provider_provider_id");
+		assertThat(indexNames("employees")).contains("idx_employees_department_id");
+		assertThat(indexNames("spring_session")).contains("spring_session_ix2");
+		assertThat(indexNames("employee_history")).contains("idx_employee_history_employee_valid_from",
+				"idx_employee_history_department_valid_to_from");
+	}
+
+	@Test
+	void baselinedDatabasesGetTheSessionTables() throws Exception {
+		DataSource baselined = new DriverManagerDataSource(
+				"jdbc:h2:mem:baselined;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		// As created by ddl-auto=update: the entity tables only, without Spring Session's or a Flyway history
+		Flyway.configure().dataSource(baselined).target("1").load().migrate();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(baselined);
+		jdbcTemplate.execute("DROP TABLE spring_session_attributes");
+		jdbcTemplate.execute("DROP TABLE spring_session");
+		jdbcTemplate.execute("DROP TABLE flyway_schema_history");
+
+		Flyway.configure().dataSource(baselined).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+		assertThat(indexNames(baselined, "spring_session")).contains("spring_session_ix2", "spring_session_ix3");
+		assertThat(indexNames(baselined, "spring_session_attributes")).isNotEmpty();
+	}
+
+	@Test
+	void versionsClosedBeforeTheMonthListingAreListedUnderEveryMonthTheySpan() {
+		DataSource upgraded = new DriverManagerDataSource(
+				"jdbc:h2:mem:history-months;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		Flyway.configure().dataSource(upgraded).target("7").load().migrate();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(upgraded);
+		String insert = "INSERT INTO employee_history (id, employee_id, change_type, first_name, last_name, email, position, "
+				+ "department_id, salary, hire_date, valid_from, valid_to) "
+				+ "VALUES (?, 1, 'CREATED', 'First', 'Last', 'first@example.com', 'Engineer', ?, NULL, DATE '2020-01-01', ?, ?)";
+		// Closed in the month after it started, closed in the month it started, and still open
+		jdbcTemplate.update(insert, 1, 10, Timestamp.valueOf("2021-01-31 23:00:00"), Timestamp.valueOf("2021-02-01 08:00:00"));
+		jdbcTemplate.update(insert, 2, 20, Timestamp.valueOf("2021-02-01 08:00:00"), Timestamp.valueOf("2021-02-20 00:00:00"));
+		jdbcTemplate.update(insert, 3, 30, Timestamp.valueOf("2021-02-20 00:00:00"), Timestamp.valueOf("9999-12-31 00:00:00"));
+
+		Flyway.configure().dataSource(upgraded).load().migrate();
+		assertThat(jdbcTemplate.queryForList("SELECT history_id, department_id, month_start FROM employee_history_months "
+				+ "ORDER BY history_id, month_start")).extracting(row -> List.of(row.get("history_id"), row.get("department_id"),
+				row.get("month_start").toString())).containsExactly(
+				List.of(1L, 10L, "2021-01-01"), List.of(1L, 10L, "2021-02-01"), List.of(2L, 20L, "2021-02-01"));
+	}
+
+	private Set<String> indexNames(String table) throws Exception {
+		return indexNames(dataSource, table);
+	}
+
+	private static Set<String> indexNames(DataSource dataSource, String table) throws Exception {
+		Set<String> names = new HashSet<>();
+		try (Connection connection = dataSource.getConnection()) {
+			DatabaseMetaData metaData = connection.getMetaData();
+			try (ResultSet indexes = metaData.getIndexInfo(null, null, table, false, false)) {
+				while (indexes.next()) {
+					String name = indexes.getString("INDEX_NAME");
+					if (name != null) {
+						names.add(name.toLowerCase());
+					}
+				}
+			}
+		}
+		return names;
+	}
+
+}
@@ -0,0 +1,194 @@
+package com.uttkarsh.esd_proj.protobuf;
+
+import com.uttkarsh.esd_proj.dto.DepartmentRequest;
+import com.uttkarsh.esd_proj.dto.EmployeeRequest;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import com.uttkarsh.esd_proj.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.uttkarsh.esd_proj.support.TestData.department;
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProtobufNegotiationTests {
+
+	private static final MediaType PROTOBUF = ProtobufListHttpMessageConverter.APPLICATION_PROTOBUF;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Test
+	void departmentEmployeesAreStreamedAsDelimitedMessages() throws Exception {
+		String suffix = uniqueSuffix();
+		Long departmentId = departmentService
+				.createDepartment(department("Proto " + suffix)).id();
+		Long paid = employeeService.createEmployee(new EmployeeRequest("Ada", "Lovelace", "ada." + suffix + "@example.com",
+				"Engineer", departmentId, new BigDecimal("1000.50"), LocalDate.of(1965, 12, 10))).id();
+		Long unpaid = employeeService.createEmployee(new EmployeeRequest("Grace", "Hopper", "grace." + suffix + "@example.com",
+				"Admiral", departmentId, null, LocalDate.of(2022, 1, 1))).id();
+
+		byte[] body = mockMvc.perform(get("/api/departments/" + departmentId + "/employees")
+						.accept(PROTOBUF)
+						.with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(PROTOBUF))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		List<Map<Integer, Object>> rows = readDelimited(body);
+		assertThat(rows).hasSize(2);
+		Map<Integer, Object> ada = rows.get(0).get(1).equals(paid) ? rows.get(0) : rows.get(1);
+		Map<Integer, Object> grace = ada == rows.get(0) ? rows.get(1) : rows.get(0);
+		assertThat(ada.get(1)).isEqualTo(paid);
+		assertThat(string(ada.get(2))).isEqualTo("Ada");
+		assertThat(string(ada.get(4))).isEqualTo("ada." + suffix + "@example.com");
+		assertThat(ada.get(6)).isEqualTo(departmentId);
+		assertThat(string(ada.get(7))).isEqualTo("Proto " + suffix);
+		assertThat(string(ada.get(8))).isEqualTo("1000.50");
+		// int32 fields are sign-extended varints
+		assertThat(((Long) ada.get(9)).intValue()).isEqualTo((int) LocalDate.of(1965, 12, 10).toEpochDay());
+		assertThat(readMessage((byte[]) ada.get(10))).containsKey(1);
+		assertThat(grace.get(1)).isEqualTo(unpaid);
+		assertThat(grace).doesNotContainKey(8);
+		assertThat(grace.get(9)).isEqualTo(LocalDate.of(2022, 1, 1).toEpochDay());
+	}
+
+	@Test
+	void departmentsCanBeRequestedAsProtobuf() throws Exception {
+		String suffix = uniqueSuffix();
+		Long departmentId = departmentService
+				.createDepartment(new DepartmentRequest("Proto list " + suffix, 7, null)).id();
+
+		byte[] body = mockMvc.perform(get("/api/departments").accept(PROTOBUF).with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(PROTOBUF))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		Map<Integer, Object> department = readDelimited(body).stream()
+				.filter(row -> departmentId.equals(row.get(1)))
+				.findFirst().orElseThrow();
+		assertThat(string(department.get(2))).isEqualTo("Proto list " + suffix);
+		assertThat(department.get(3)).isEqualTo(7L);
+		assertThat(department).doesNotContainKey(4);
+	}
+
+	@Test
+	void jsonRemainsTheDefault() throws Exception {
+		mockMvc.perform(get("/api/employees").with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON));
+		mockMvc.perform(get("/api/employees").accept(MediaType.ALL).with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	void singleResourcesAreNotAvailableAsProtobuf() throws Exception {
+		Long departmentId = departmentService
+				.createDepartment(new DepartmentRequest("Proto single " + uniqueSuffix(), 5, null)).id();
+
+		mockMvc.perform(get("/api/departments/" + departmentId).accept(PROTOBUF).with(oauth2Login()))
+				.andExpect(status().isNotAcceptable());
+	}
+
+	@Test
+	void requestBodiesAreNotReadAsProtobuf() throws Exception {
+		MockHttpInputMessage message = new MockHttpInputMessage(new byte[] {8, 1});
+		assertThatThrownBy(() -> new ProtobufListHttpMessageConverter().read(List.class, null, message))
+				.isInstanceOf(HttpMessageNotReadableException.class);
+
+		mockMvc.perform(post("/api/departments")
+						.with(oauth2Login())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\": "))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.type").value("urn:esd-proj:problem:bad-request"));
+	}
+
+	@Test
+	void schemaIsPublished() throws Exception {
+		mockMvc.perform(get("/api/schema/esd_proj.proto").with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+				.andExpect(content().string(containsString("message Employee {")))
+				.andExpect(content().string(containsString("message Department {")));
+	}
+
+	/**
+	 * Splits a body into its length-delimited messages
+	 */
+	private static List<Map<Integer, Object>> readDelimited(byte[] body) throws Exception {
+		List<Map<Integer, Object>> messages = new ArrayList<>();
+		InputStream in = new ByteArrayInputStream(body);
+		while (in.available() > 0) {
+			messages.add(readMessage(in.readNBytes((int) readVarint(in))));
+		}
+		return messages;
+	}
+
+	/**
+	 * Field number to value: Long for varints, byte[] for length-delimited fields
+	 */
+	private static Map<Integer, Object> readMessage(byte[] message) throws Exception {
+		Map<Integer, Object> fields = new HashMap<>();
+		InputStream in = new ByteArrayInputStream(message);
+		while (in.available() > 0) {
+			long tag = readVarint(in);
+			int field = (int) (tag >>> 3);
+			switch ((int) (tag & 7)) {
+				case 0 -> fields.put(field, readVarint(in));
+				case 2 -> fields.put(field, in.readNBytes((int) readVarint(in)));
+				default -> throw new AssertionError("Unexpected wire type in tag " + tag);
+			}
+		}
+		return fields;
+	}
+
+	private static long readVarint(InputStream in) throws Exception {
+		long value = 0;
+		for (int shift = 0; ; shift += 7) {
+			int b = in.read();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+	}
+
+	private static String string(Object value) {
+		return new String((byte[]) value, StandardCharsets.UTF_8);
+	}
+
+}
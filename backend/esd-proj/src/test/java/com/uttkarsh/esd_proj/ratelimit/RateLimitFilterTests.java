@@ -0,0 +1,165 @@
+package com.uttkarsh.esd_proj.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"app.rate-limit.read.capacity=2",
+		"app.rate-limit.read.refill-per-second=0.01"
+})
+@AutoConfigureMockMvc
+class RateLimitFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void readsBeyondBudgetAreRejectedPerPrincipal() throws Exception {
+		mockMvc.perform(get("/api/departments").with(user("alice@example.com"))).andExpect(status().isOk());
+		mockMvc.perform(get("/api/departments").with(user("alice@example.com"))).andExpect(status().isOk());
+		mockMvc.perform(get("/api/departments").with(user("alice@example.com")))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists("Retry-After"));
+
+		mockMvc.perform(get("/api/departments").with(user("bob@example.com"))).andExpect(status().isOk());
+
+		double rejected = meterRegistry.get("api.requests.rejected")
+				.tag("kind", "read")
+				.tag("reason", "rate_limited")
+				.counter()
+				.count();
+		assertThat(rejected).isEqualTo(1.0);
+	}
+
+	@Test
+	void readsBeyondTheConcurrencyLimitAreShed() throws Exception {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.setMaxConcurrentReads(1);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		RateLimitFilter filter = new RateLimitFilter(properties, objectMapper, registry);
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<MockHttpServletResponse> inFlight = CompletableFuture.supplyAsync(() -> {
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			try {
+				filter.doFilter(read("10.0.0.1"), response, (request, ignored) -> {
+					entered.countDown();
+					try {
+						release.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+				});
+			} catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+			return response;
+		});
+		assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+		MockHttpServletResponse shed = new MockHttpServletResponse();
+		filter.doFilter(read("10.0.0.2"), shed, (request, response) -> {
+			throw new AssertionError("Request should have been shed");
+		});
+		release.countDown();
+
+		assertThat(shed.getStatus()).isEqualTo(503);
+		assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(inFlight.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+		assertThat(registry.get("api.requests.rejected").tag("kind", "read").tag("reason", "overloaded")
+				.counter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void bucketsStayBoundedWhenNoneIsIdle() throws Exception {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.setRead(new RateLimitProperties.Budget(2, 0.01));
+		properties.setMaxTrackedPrincipals(8);
+		RateLimitFilter filter = new RateLimitFilter(properties, objectMapper, new SimpleMeterRegistry());
+
+		for (int client = 0; client < 100; client++) {
+			filter.doFilter(read("10.0.1." + client), new MockHttpServletResponse(), (request, response) -> {
+			});
+			assertThat(filter.trackedBuckets()).isLessThanOrEqualTo(8);
+		}
+	}
+
+	@Test
+	void evictionCopesWithBucketsChangingDuringTheSort() throws Exception {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.setRead(new RateLimitProperties.Budget(1_000_000, 1));
+		properties.setMaxTrackedPrincipals(256);
+		RateLimitFilter filter = new RateLimitFilter(properties, objectMapper, new SimpleMeterRegistry());
+		AtomicBoolean stop = new AtomicBoolean();
+		ExecutorService consumers = Executors.newFixedThreadPool(4);
+		List<Future<?>> running = new ArrayList<>();
+		for (int thread = 0; thread < 4; thread++) {
+			int offset = thread;
+			running.add(consumers.submit(() -> {
+				// Keep taking tokens from the buckets the eviction is sorting
+				for (int i = offset; !stop.get(); i++) {
+					filter.doFilter(read("10.0.2." + i % 256), new MockHttpServletResponse(), (request, response) -> {
+					});
+				}
+				return null;
+			}));
+		}
+
+		try {
+			for (int client = 0; client < 5_000; client++) {
+				filter.doFilter(read("10.0.3." + client), new MockHttpServletResponse(), (request, response) -> {
+				});
+			}
+		} finally {
+			stop.set(true);
+			consumers.shutdown();
+		}
+		for (Future<?> consumer : running) {
+			consumer.get(10, TimeUnit.SECONDS);
+		}
+		assertThat(filter.trackedBuckets()).isLessThanOrEqualTo(256);
+	}
+
+	private static MockHttpServletRequest read(String remoteAddress) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/departments");
+		request.setRemoteAddr(remoteAddress);
+		return request;
+	}
+
+	private static RequestPostProcessor user(String email) {
+		return oauth2Login().attributes(attributes -> attributes.put("email", email));
+	}
+
+}
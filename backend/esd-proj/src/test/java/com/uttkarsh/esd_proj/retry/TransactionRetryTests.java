@@ -0,0 +1,146 @@
+package com.uttkarsh.esd_proj.retry;
+
+import com.uttkarsh.esd_proj.exception.TransactionRetryExhaustedException;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.uttkarsh.esd_proj.support.TestData.department;
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two transactions lock the same two rows in opposite order, so one of them deadlocks or
+ * times out waiting for the other's lock. The retry must let both complete.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:retry;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=300",
+		"app.transaction-retry.max-attempts=5"
+})
+class TransactionRetryTests {
+
+	@Autowired
+	private CrossLockingWriter writer;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void oppositeLockOrderConflictIsRetriedUntilBothCommit() throws Exception {
+		String suffix = uniqueSuffix();
+		Long first = departmentService.createDepartment(department("Lock A " + suffix)).id();
+		Long second = departmentService.createDepartment(department("Lock B " + suffix)).id();
+
+		CyclicBarrier bothHoldOneLock = new CyclicBarrier(2);
+		AtomicInteger attempts = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> forward = executor.submit(() -> writer.bumpBoth(first, second, bothHoldOneLock, attempts));
+			Future<?> backward = executor.submit(() -> writer.bumpBoth(second, first, bothHoldOneLock, attempts));
+			forward.get(10, TimeUnit.SECONDS);
+			backward.get(10, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(attempts.get()).isGreaterThan(2);
+		assertThat(capacityOf(first)).isEqualTo(12);
+		assertThat(capacityOf(second)).isEqualTo(12);
+		assertThat(meterRegistry.counter("transaction.retries",
+				"method", "CrossLockingWriter.bumpBoth", "outcome", "recovered").count()).isGreaterThanOrEqualTo(1);
+	}
+
+	@Test
+	void persistentConflictEndsInRetryExhausted() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThatThrownBy(() -> writer.alwaysConflicts(attempts))
+				.isInstanceOf(TransactionRetryExhaustedException.class)
+				.hasCauseInstanceOf(CannotAcquireLockException.class);
+		assertThat(attempts.get()).isEqualTo(5);
+	}
+
+	@Test
+	void otherFailuresAreNotRetried() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThatThrownBy(() -> writer.failsWith(new IllegalStateException("not a lock problem"), attempts))
+				.isInstanceOf(IllegalStateException.class);
+		assertThat(attempts.get()).isEqualTo(1);
+	}
+
+	private int capacityOf(Long departmentId) {
+		return jdbcTemplate.queryForObject("SELECT capacity FROM departments WHERE id = ?", Integer.class, departmentId);
+	}
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		CrossLockingWriter crossLockingWriter(JdbcTemplate jdbcTemplate) {
+			return new CrossLockingWriter(jdbcTemplate);
+		}
+
+	}
+
+	static class CrossLockingWriter {
+
+		private final JdbcTemplate jdbcTemplate;
+
+		CrossLockingWriter(JdbcTemplate jdbcTemplate) {
+			this.jdbcTemplate = jdbcTemplate;
+		}
+
+		@RetryableTransaction
+		@Transactional
+		public void bumpBoth(Long first, Long second, CyclicBarrier barrier, AtomicInteger attempts) {
+			boolean firstAttempt = attempts.incrementAndGet() <= 2;
+			jdbcTemplate.update("UPDATE departments SET capacity = capacity + 1 WHERE id = ?", first);
+			if (firstAttempt) {
+				try {
+					barrier.await(5, TimeUnit.SECONDS);
+				} catch (Exception ex) {
+					throw new IllegalStateException(ex);
+				}
+			}
+			jdbcTemplate.update("UPDATE departments SET capacity = capacity + 1 WHERE id = ?", second);
+		}
+
+		@RetryableTransaction
+		@Transactional
+		public void alwaysConflicts(AtomicInteger attempts) {
+			attempts.incrementAndGet();
+			throw new CannotAcquireLockException("lock wait timeout");
+		}
+
+		@RetryableTransaction
+		@Transactional
+		public void failsWith(RuntimeException failure, AtomicInteger attempts) {
+			attempts.incrementAndGet();
+			throw failure;
+		}
+
+	}
+
+}
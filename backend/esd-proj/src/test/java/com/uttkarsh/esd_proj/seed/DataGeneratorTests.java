@@ -0,0 +1,117 @@
+package com.uttkarsh.esd_proj.seed;
+
+import com.uttkarsh.esd_proj.columnar.EmployeeFilter;
+import com.uttkarsh.esd_proj.columnar.EmployeeSnapshot;
+import com.uttkarsh.esd_proj.exception.BusinessValidationException;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import com.uttkarsh.esd_proj.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static com.uttkarsh.esd_proj.support.TestData.department;
+import static com.uttkarsh.esd_proj.support.TestData.employee;
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+		"app.seed.departments=0",
+		"app.seed.employees=0",
+		"app.columnar-snapshot.enabled=true"
+})
+@ActiveProfiles("seed")
+class DataGeneratorTests {
+
+	@Autowired
+	private DataGenerator dataGenerator;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EmployeeSnapshot employeeSnapshot;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Test
+	void sameSeedProducesTheSameRows() {
+		SyntheticData first = new SyntheticData(new SeedProperties(), 10, 1000, 1, 1);
+		SyntheticData second = new SyntheticData(new SeedProperties(), 10, 1000, 1, 1);
+		SeedProperties otherSeed = new SeedProperties();
+		otherSeed.setSeed(7);
+		SyntheticData other = new SyntheticData(otherSeed, 10, 1000, 1, 1);
+
+		assertThat(IntStream.range(0, 1000).mapToObj(first::employee))
+				.containsExactlyElementsOf(IntStream.range(0, 1000).mapToObj(second::employee).toList());
+		assertThat(IntStream.range(0, 10).mapToObj(first::department))
+				.containsExactlyElementsOf(IntStream.range(0, 10).mapToObj(second::department).toList());
+		assertThat(IntStream.range(0, 1000).filter(i -> first.employee(i).equals(other.employee(i))).count())
+				.isZero();
+	}
+
+	@Test
+	void departmentSizesAreSkewedAndWithinCapacity() {
+		SyntheticData data = new SyntheticData(new SeedProperties(), 20, 10_000, 1, 1);
+		int[] sizes = new int[20];
+		Set<String> emails = new HashSet<>();
+		for (int i = 0; i < 10_000; i++) {
+			SyntheticData.EmployeeRow employee = data.employee(i);
+			sizes[(int) employee.departmentId() - 1]++;
+			emails.add(employee.email());
+			assertThat(employee.hireDate()).isBetween(LocalDate.of(2005, 1, 1), LocalDate.of(2024, 12, 31));
+		}
+
+		assertThat(emails).hasSize(10_000);
+		assertThat(sizes[0]).isGreaterThan(5 * sizes[19]);
+		for (int i = 0; i < 20; i++) {
+			assertThat(data.department(i).capacity()).isGreaterThanOrEqualTo(sizes[i]);
+		}
+	}
+
+	@Test
+	void generatedRowsAreVisibleToTheApplication() {
+		DataGenerator.SeedResult result = dataGenerator.generate(4, 500);
+		long lastDepartmentId = result.firstDepartmentId() + 3;
+
+		List<Map<String, Object>> departments = jdbcTemplate.queryForList(
+				"SELECT d.id, d.capacity, COUNT(e.id) AS employees FROM departments d "
+						+ "LEFT JOIN employees e ON e.department_id = d.id WHERE d.id BETWEEN ? AND ? GROUP BY d.id, d.capacity",
+				result.firstDepartmentId(), lastDepartmentId);
+		assertThat(departments).hasSize(4);
+		assertThat(departments.stream().mapToLong(row -> ((Number) row.get("employees")).longValue()).sum())
+				.isEqualTo(500);
+		departments.forEach(row -> assertThat(((Number) row.get("employees")).longValue())
+				.isLessThanOrEqualTo(((Number) row.get("capacity")).longValue()));
+
+		assertThat(employeeSnapshot.count(new EmployeeFilter(result.firstDepartmentId(), null, null, null)))
+				.isEqualTo(departments.stream().filter(row -> ((Number) row.get("id")).longValue() == result.firstDepartmentId())
+						.mapToLong(row -> ((Number) row.get("employees")).longValue()).findFirst().orElseThrow());
+
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee_history WHERE employee_id BETWEEN ? AND ? "
+						+ "AND change_type = 'CREATED' AND valid_to = '9999-12-31 00:00:00'", Long.class,
+				result.firstEmployeeId(), result.firstEmployeeId() + 499)).isEqualTo(500);
+
+		// IDs assigned by the database afterwards continue after the generated ones
+		assertThat(departmentService.createDepartment(department("After seed " + uniqueSuffix())).id())
+				.isGreaterThan(lastDepartmentId);
+
+		String generatedEmail = jdbcTemplate.queryForObject("SELECT email FROM employees WHERE id = ?", String.class,
+				result.firstEmployeeId());
+		assertThatThrownBy(() -> employeeService.createEmployee(employee(generatedEmail, result.firstDepartmentId())))
+				.isInstanceOf(BusinessValidationException.class);
+	}
+}
@@ -0,0 +1,183 @@
+package com.uttkarsh.esd_proj.service;
+
+import com.uttkarsh.esd_proj.dto.EmployeeHistoryResponse;
+import com.uttkarsh.esd_proj.dto.EmployeeRequest;
+import com.uttkarsh.esd_proj.entity.EmployeeHistory;
+import com.uttkarsh.esd_proj.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static com.uttkarsh.esd_proj.support.TestData.department;
+import static com.uttkarsh.esd_proj.support.TestData.employee;
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeHistoryTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void everyWriteAddsAVersion() {
+		String suffix = uniqueSuffix();
+		Long from = departmentService.createDepartment(department("History from " + suffix)).id();
+		Long to = departmentService.createDepartment(department("History to " + suffix)).id();
+		Long id = employeeService.createEmployee(request(suffix, from, "100.00")).id();
+		employeeService.updateEmployee(id, request(suffix, from, "120.00"));
+		employeeService.updateEmployee(id, request(suffix, to, "120.00"));
+
+		List<EmployeeHistoryResponse> versions = employeeService.getEmployeeHistory(id);
+		assertThat(versions).extracting(EmployeeHistoryResponse::changeType).containsExactly(
+				EmployeeHistory.ChangeType.CREATED, EmployeeHistory.ChangeType.UPDATED, EmployeeHistory.ChangeType.UPDATED);
+		assertThat(versions).extracting(EmployeeHistoryResponse::salary).containsExactly(
+				new BigDecimal("100.00"), new BigDecimal("120.00"), new BigDecimal("120.00"));
+		// Versions follow each other without gaps, and only the last one is open
+		assertThat(versions.get(0).validTo()).isEqualTo(versions.get(1).validFrom());
+		assertThat(versions.get(1).validTo()).isEqualTo(versions.get(2).validFrom());
+		assertThat(versions.get(2).validTo()).isNull();
+
+		LocalDate today = LocalDate.now();
+		assertThat(employeeService.getEmployeeAsOf(id, today).departmentId()).isEqualTo(to);
+		assertThat(departmentService.getEmployeesAsOf(to, today)).extracting(EmployeeHistoryResponse::employeeId)
+				.containsExactly(id);
+		assertThat(departmentService.getEmployeesAsOf(from, today)).isEmpty();
+		assertThatThrownBy(() -> employeeService.getEmployeeAsOf(id, today.minusDays(1)))
+				.isInstanceOf(ResourceNotFoundException.class);
+
+		employeeService.deleteEmployee(id);
+		assertThat(employeeService.getEmployeeHistory(id)).hasSize(3).allSatisfy(version ->
+				assertThat(version.validTo()).isNotNull());
+		assertThatThrownBy(() -> employeeService.getEmployeeAsOf(id, today))
+				.isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	@Test
+	void departmentMembershipIsAnsweredForPastDates() throws Exception {
+		String suffix = uniqueSuffix();
+		Long departmentId = departmentService
+				.createDepartment(department("History past " + suffix)).id();
+		// Joined on 2020-01-10 with a raise on 2021-06-01, left on 2022-03-15
+		insertVersion(901_001L, departmentId, "50000.00", "2020-01-10 09:00:00", "2021-06-01 00:00:00");
+		insertVersion(901_001L, departmentId, "55000.00", "2021-06-01 00:00:00", "2022-03-15 17:30:00");
+		// Joined on 2021-01-04 and still there
+		insertVersion(901_002L, departmentId, "60000.00", "2021-01-04 09:00:00", "9999-12-31 00:00:00");
+
+		assertThat(departmentService.getEmployeesAsOf(departmentId, LocalDate.of(2020, 1, 9))).isEmpty();
+		assertThat(departmentService.getEmployeesAsOf(departmentId, LocalDate.of(2020, 1, 10)))
+				.extracting(EmployeeHistoryResponse::employeeId).containsExactly(901_001L);
+		assertThat(departmentService.getEmployeesAsOf(departmentId, LocalDate.of(2021, 12, 31)))
+				.extracting(EmployeeHistoryResponse::salary)
+				.containsExactly(new BigDecimal("55000.00"), new BigDecimal("60000.00"));
+		// The end of the day counts, so someone leaving during the day is already gone
+		assertThat(departmentService.getEmployeesAsOf(departmentId, LocalDate.of(2022, 3, 15)))
+				.extracting(EmployeeHistoryResponse::employeeId).containsExactly(901_002L);
+
+		mockMvc.perform(get("/api/departments/{id}/history", departmentId)
+						.param("date", "2021-12-31")
+						.with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(2)))
+				.andExpect(jsonPath("$[0].employeeId").value(901_001))
+				.andExpect(jsonPath("$[1].validTo").value(nullValue()));
+		mockMvc.perform(get("/api/employees/{id}/history", 901_001L)
+						.with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(2)));
+		mockMvc.perform(get("/api/employees/{id}/history", 901_001L)
+						.param("date", "2020-12-31")
+						.with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(1)))
+				.andExpect(jsonPath("$[0].salary").value(50000.00));
+		mockMvc.perform(get("/api/employees/{id}/history", 901_001L)
+						.param("date", "2023-01-01")
+						.with(oauth2Login()))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void closedVersionsAreFoundInEveryMonthTheySpanned() {
+		String suffix = uniqueSuffix();
+		Long from = departmentService.createDepartment(department("History months from " + suffix)).id();
+		Long to = departmentService.createDepartment(department("History months to " + suffix)).id();
+		Long id = employeeService.createEmployee(request(suffix, from, "100.00")).id();
+		LocalDate joined = LocalDate.now().minusMonths(3);
+		jdbcTemplate.update("UPDATE employee_history SET valid_from = ? WHERE employee_id = ?",
+				Timestamp.valueOf(joined.atStartOfDay()), id);
+
+		employeeService.updateEmployee(id, request(suffix, to, "100.00"));
+
+		// Listed under the joining month, the two after it and the current one
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee_history_months WHERE department_id = ?",
+				Integer.class, from)).isEqualTo(4);
+		for (LocalDate date = joined; date.isBefore(LocalDate.now()); date = date.plusDays(10)) {
+			assertThat(departmentService.getEmployeesAsOf(from, date)).extracting(EmployeeHistoryResponse::employeeId)
+					.containsExactly(id);
+			assertThat(departmentService.getEmployeesAsOf(to, date)).isEmpty();
+		}
+		assertThat(departmentService.getEmployeesAsOf(from, joined.minusDays(1))).isEmpty();
+		assertThat(departmentService.getEmployeesAsOf(from, LocalDate.now())).isEmpty();
+		assertThat(departmentService.getEmployeesAsOf(to, LocalDate.now())).extracting(EmployeeHistoryResponse::employeeId)
+				.containsExactly(id);
+	}
+
+	/**
+	 * A version written directly, listed under every month it spans when it is closed, as
+	 * EmployeeService does when it closes one
+	 */
+	private void insertVersion(long employeeId, Long departmentId, String salary, String validFrom, String validTo) {
+		jdbcTemplate.update("INSERT INTO employee_history (employee_id, change_type, first_name, last_name, email, "
+						+ "position, department_id, salary, hire_date, valid_from, valid_to) "
+						+ "VALUES (?, 'CREATED', 'Past', 'Employee', ?, 'Engineer', ?, ?, ?, ?, ?)",
+				employeeId, "past." + employeeId + "@example.com", departmentId, new BigDecimal(salary),
+				LocalDate.of(2020, 1, 10), Timestamp.valueOf(validFrom), Timestamp.valueOf(validTo));
+		LocalDateTime start = Timestamp.valueOf(validFrom).toLocalDateTime();
+		LocalDateTime end = Timestamp.valueOf(validTo).toLocalDateTime();
+		if (end.equals(EmployeeHistory.OPEN)) {
+			return;
+		}
+		Long historyId = jdbcTemplate.queryForObject(
+				"SELECT id FROM employee_history WHERE employee_id = ? AND valid_from = ?",
+				Long.class, employeeId, Timestamp.valueOf(start));
+		for (YearMonth month = YearMonth.from(start); !month.isAfter(YearMonth.from(end)); month = month.plusMonths(1)) {
+			jdbcTemplate.update("INSERT INTO employee_history_months (department_id, month_start, history_id) VALUES (?, ?, ?)",
+					departmentId, month.atDay(1), historyId);
+		}
+	}
+
+	private static EmployeeRequest request(String suffix, Long departmentId, String salary) {
+		EmployeeRequest request = employee("history." + suffix + "@example.com", departmentId);
+		request.setSalary(new BigDecimal(salary));
+		return request;
+	}
+
+}
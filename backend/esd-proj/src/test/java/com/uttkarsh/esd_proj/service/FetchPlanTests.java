@@ -0,0 +1,112 @@
+package com.uttkarsh.esd_proj.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.uttkarsh.esd_proj.support.TestData.department;
+import static com.uttkarsh.esd_proj.support.TestData.employee;
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * With Open-Session-In-View disabled, any lazy association touched after the service
+ * transaction ends fails with LazyInitializationException (a 500 here), and every
+ * service method must load what its DTO needs with a fixed number of queries.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class FetchPlanTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Long departmentId;
+	private Long employeeId;
+	private Long managerId;
+
+	@BeforeEach
+	void createData() {
+		String suffix = uniqueSuffix();
+		for (int d = 0; d < 3; d++) {
+			departmentId = departmentService
+					.createDepartment(department("Fetch " + d + " " + suffix))
+					.id();
+			// The first employee of each department manages the others
+			managerId = null;
+			for (int e = 0; e < 3; e++) {
+				employeeId = employeeService.createEmployee(
+						employee("fetch" + d + e + "." + suffix + "@example.com", departmentId, managerId)).id();
+				if (managerId == null) {
+					managerId = employeeId;
+				}
+			}
+		}
+	}
+
+	@Test
+	void openSessionInViewIsDisabled() {
+		assertThat(applicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+	}
+
+	@Test
+	void endpointsBuildResponsesInsideTheTransaction() throws Exception {
+		mockMvc.perform(get("/api/employees").with(oauth2Login())).andExpect(status().isOk());
+		mockMvc.perform(get("/api/employees/" + employeeId).with(oauth2Login())).andExpect(status().isOk());
+		mockMvc.perform(get("/api/departments").with(oauth2Login())).andExpect(status().isOk());
+		mockMvc.perform(get("/api/departments/" + departmentId).with(oauth2Login())).andExpect(status().isOk());
+		mockMvc.perform(get("/api/departments/" + departmentId + "/employees").with(oauth2Login()))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/employees/" + managerId + "/reports").with(oauth2Login()))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void listQueriesDoNotIssueOneQueryPerRow() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		statistics.clear();
+		employeeService.getAllEmployees();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		statistics.clear();
+		departmentService.getAllDepartments();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+		statistics.clear();
+		departmentService.getEmployeesByDepartment(departmentId);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+		statistics.clear();
+		assertThat(employeeService.getReports(managerId, null)).hasSize(2);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		statistics.clear();
+		employeeService.getReportCount(managerId);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.uttkarsh.esd_proj.service;
+
+import com.uttkarsh.esd_proj.entity.User;
+import com.uttkarsh.esd_proj.repository.UserRepository;
+import com.uttkarsh.esd_proj.support.MockOidcProvider;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OidcLoginTests {
+
+	private static final MockOidcProvider provider = new MockOidcProvider();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@DynamicPropertySource
+	static void mockRegistration(DynamicPropertyRegistry registry) {
+		provider.clientProperties("mock").forEach((name, value) -> registry.add(name, () -> value));
+	}
+
+	@AfterAll
+	static void stopProvider() {
+		provider.stop();
+	}
+
+	@Test
+	void loginUsesIdTokenClaimsWithoutUserinfoCall() throws Exception {
+		String sub = "oidc-" + System.nanoTime();
+
+		login(sub, "first." + sub + "@example.com", "First Name", "https://example.com/first.png");
+		login(sub, "first." + sub + "@example.com", "Renamed", "https://example.com/second.png");
+
+		User user = userRepository.findByProviderAndProviderId("mock", sub).orElseThrow();
+		assertThat(user.getEmail()).isEqualTo("first." + sub + "@example.com");
+		assertThat(user.getName()).isEqualTo("Renamed");
+		assertThat(user.getPictureUrl()).isEqualTo("https://example.com/second.png");
+		assertThat(provider.userinfoCalls.get()).isZero();
+		assertThat(provider.jwksCalls.get()).isEqualTo(1);
+	}
+
+	private void login(String sub, String email, String name, String picture) throws Exception {
+		MockHttpServletResponse authorization = mockMvc.perform(get("/oauth2/authorization/mock"))
+				.andExpect(status().is3xxRedirection())
+				.andReturn().getResponse();
+		Cookie session = authorization.getCookie("JSESSIONID");
+		UriComponents authorize = UriComponentsBuilder.fromUriString(authorization.getRedirectedUrl()).build();
+		String state = decode(authorize.getQueryParams().getFirst("state"));
+		String nonce = decode(authorize.getQueryParams().getFirst("nonce"));
+		assertThat(nonce).isNotNull();
+
+		provider.idToken = provider.signIdToken(sub, email, name, picture, nonce);
+
+		mockMvc.perform(get("/login/oauth2/code/mock")
+						.param("code", "mock-code")
+						.param("state", state)
+						.cookie(session))
+				.andExpect(redirectedUrl("http://localhost:5173/"));
+	}
+
+	private static String decode(String value) {
+		return value == null ? null : URLDecoder.decode(value, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,277 @@
+package com.uttkarsh.esd_proj.service;
+
+import com.uttkarsh.esd_proj.dto.EmployeeRequest;
+import com.uttkarsh.esd_proj.dto.EmployeeResponse;
+import com.uttkarsh.esd_proj.dto.ReportCountResponse;
+import com.uttkarsh.esd_proj.exception.BusinessValidationException;
+import com.uttkarsh.esd_proj.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.uttkarsh.esd_proj.support.TestData.department;
+import static com.uttkarsh.esd_proj.support.TestData.employee;
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Builds the tree
+ * <pre>
+ *   a
+ *   ├── b
+ *   │   └── d
+ *   │       └── e
+ *   └── c
+ * </pre>
+ * and after every change checks employee_hierarchy against the closure recomputed from manager_id.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReportingHierarchyTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private String suffix;
+	private Long departmentId;
+	private Long a;
+	private Long b;
+	private Long c;
+	private Long d;
+	private Long e;
+
+	@BeforeEach
+	void createTree() {
+		suffix = uniqueSuffix();
+		departmentId = departmentService.createDepartment(department("Org " + suffix)).id();
+		a = create("a", null);
+		b = create("b", a);
+		c = create("c", a);
+		d = create("d", b);
+		e = create("e", d);
+	}
+
+	@Test
+	void subtreesAreListedAndCounted() {
+		assertThat(employeeService.getReports(a, null)).extracting(EmployeeResponse::id).containsExactly(b, c, d, e);
+		assertThat(employeeService.getReports(a, 1)).extracting(EmployeeResponse::id).containsExactly(b, c);
+		assertThat(employeeService.getReports(a, 1)).extracting(EmployeeResponse::managerId).containsOnly(a);
+		assertThat(employeeService.getReports(e, null)).isEmpty();
+		assertThat(employeeService.getReportCount(a)).isEqualTo(new ReportCountResponse(a, 2, 4));
+		assertThat(employeeService.getReportCount(e)).isEqualTo(new ReportCountResponse(e, 0, 0));
+		assertClosureMatchesManagers();
+	}
+
+	@Test
+	void reportsMoveWithTheirManager() {
+		move(b, c);
+		assertThat(employeeService.getReports(a, 2)).extracting(EmployeeResponse::id).containsExactly(c, b);
+		assertThat(employeeService.getReportCount(c)).isEqualTo(new ReportCountResponse(c, 1, 3));
+		assertClosureMatchesManagers();
+
+		move(b, null);
+		assertThat(employeeService.getReportCount(a)).isEqualTo(new ReportCountResponse(a, 1, 1));
+		assertThat(employeeService.getReports(b, null)).extracting(EmployeeResponse::id).containsExactly(d, e);
+		assertClosureMatchesManagers();
+	}
+
+	@Test
+	void cyclesAreRejected() {
+		assertThatThrownBy(() -> move(b, e)).isInstanceOf(BusinessValidationException.class);
+		assertThatThrownBy(() -> move(b, b)).isInstanceOf(BusinessValidationException.class);
+		assertThatThrownBy(() -> move(b, 999_999L)).isInstanceOf(ResourceNotFoundException.class);
+		assertThat(employeeService.getReportCount(a)).isEqualTo(new ReportCountResponse(a, 2, 4));
+		assertClosureMatchesManagers();
+	}
+
+	@Test
+	void reportsOfADeletedManagerMoveUp() {
+		employeeService.deleteEmployee(d);
+		assertThat(employeeService.getReports(b, null)).extracting(EmployeeResponse::id).containsExactly(e);
+		assertThat(employeeService.getEmployeeById(e).managerId()).isEqualTo(b);
+		assertThat(employeeService.getReportCount(a)).isEqualTo(new ReportCountResponse(a, 2, 3));
+		assertClosureMatchesManagers();
+
+		employeeService.deleteEmployee(a);
+		assertThat(employeeService.getEmployeeById(b).managerId()).isNull();
+		assertThat(employeeService.getReportCount(b)).isEqualTo(new ReportCountResponse(b, 1, 1));
+		assertClosureMatchesManagers();
+	}
+
+	@Test
+	void endpointsServeReportsAndCounts() throws Exception {
+		mockMvc.perform(get("/api/employees/{id}/reports", a)
+						.param("depth", "1")
+						.with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(2)))
+				.andExpect(jsonPath("$[0].id").value(b))
+				.andExpect(jsonPath("$[0].managerId").value(a));
+		mockMvc.perform(get("/api/employees/{id}/reports/count", a)
+						.with(oauth2Login()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.directReports").value(2))
+				.andExpect(jsonPath("$.totalReports").value(4));
+		mockMvc.perform(get("/api/employees/{id}/reports/count", 999_999L)
+						.with(oauth2Login()))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(get("/api/employees/{id}/reports", a)
+						.param("depth", "0")
+						.with(oauth2Login()))
+				.andExpect(status().isUnprocessableEntity());
+	}
+
+	@Test
+	void concurrentOppositeMovesLeaveNoCycle() throws Exception {
+		Long x = create("x", c);
+		Long y = create("y", c);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for (int round = 0; round < 10; round++) {
+				CyclicBarrier start = new CyclicBarrier(2);
+				List<Future<?>> moves = List.of(
+						executor.submit(() -> {
+							start.await();
+							move(x, y);
+							return null;
+						}),
+						executor.submit(() -> {
+							start.await();
+							move(y, x);
+							return null;
+						}));
+				int rejected = 0;
+				for (Future<?> result : moves) {
+					try {
+						result.get(30, TimeUnit.SECONDS);
+					} catch (ExecutionException failure) {
+						assertThat(failure.getCause()).isInstanceOf(BusinessValidationException.class);
+						rejected++;
+					}
+				}
+				assertThat(rejected).isEqualTo(1);
+				assertClosureMatchesManagers();
+				move(x, c);
+				move(y, c);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void updatesWithoutAManagerKeepTheReportingLine() throws Exception {
+		String body = """
+				{"firstName": "d", "lastName": "Org", "email": "d.%s@example.com", "position": "Lead",
+				 "departmentId": %d, "salary": 1000.00, "hireDate": "2022-01-01"%s}
+				""";
+		mockMvc.perform(put("/api/employees/{id}", d)
+						.with(oauth2Login())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(body.formatted(suffix, departmentId, "")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.position").value("Lead"))
+				.andExpect(jsonPath("$.managerId").value(b));
+		assertThat(employeeService.getReportCount(a)).isEqualTo(new ReportCountResponse(a, 2, 4));
+		assertClosureMatchesManagers();
+
+		// An explicit null takes the employee and their reports out of the tree
+		mockMvc.perform(put("/api/employees/{id}", d)
+						.with(oauth2Login())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(body.formatted(suffix, departmentId, ", \"managerId\": null")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.managerId").value(nullValue()));
+		assertThat(employeeService.getReportCount(a)).isEqualTo(new ReportCountResponse(a, 2, 2));
+		assertClosureMatchesManagers();
+	}
+
+	@Test
+	void editingAfterTheManagerWasDeletedKeepsTheNewReportingLine() throws Exception {
+		// The edit dialog was opened while d still reported to b
+		employeeService.deleteEmployee(b);
+
+		mockMvc.perform(put("/api/employees/{id}", d)
+						.with(oauth2Login())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"firstName": "d", "lastName": "Org", "email": "d.%s@example.com", "position": "Lead",
+								 "departmentId": %d, "salary": 1000.00, "hireDate": "2022-01-01"}
+								""".formatted(suffix, departmentId)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.position").value("Lead"))
+				.andExpect(jsonPath("$.managerId").value(a));
+		assertThat(employeeService.getReportCount(a)).isEqualTo(new ReportCountResponse(a, 2, 3));
+		assertClosureMatchesManagers();
+	}
+
+	private Long create(String name, Long managerId) {
+		return employeeService.createEmployee(employee(name + "." + suffix + "@example.com", departmentId, managerId)).id();
+	}
+
+	private void move(Long employeeId, Long managerId) {
+		EmployeeResponse employee = employeeService.getEmployeeById(employeeId);
+		employeeService.updateEmployee(employeeId, new EmployeeRequest(employee.firstName(), employee.lastName(),
+				employee.email(), employee.position(), employee.departmentId(), employee.salary(), employee.hireDate(),
+				managerId));
+	}
+
+	/**
+	 * employee_hierarchy rows of this test's employees equal the pairs found by walking up manager_id
+	 */
+	private void assertClosureMatchesManagers() {
+		Map<Long, Long> managers = new HashMap<>();
+		jdbcTemplate.query("SELECT id, manager_id FROM employees WHERE department_id = ?",
+				(RowCallbackHandler) row -> managers.put(row.getLong("id"), row.getObject("manager_id", Long.class)),
+				departmentId);
+
+		Set<List<Long>> expected = new HashSet<>();
+		for (Long employee : managers.keySet()) {
+			long depth = 0;
+			for (Long ancestor = employee; ancestor != null; ancestor = managers.get(ancestor)) {
+				expected.add(List.of(ancestor, employee, depth++));
+			}
+		}
+		Set<List<Long>> actual = new HashSet<>(jdbcTemplate.query(
+				"SELECT h.ancestor_id, h.descendant_id, h.depth FROM employee_hierarchy h "
+						+ "JOIN employees e ON e.id = h.descendant_id WHERE e.department_id = ?",
+				(row, rowNum) -> List.of(row.getLong(1), row.getLong(2), row.getLong(3)), departmentId));
+		assertThat(actual).isEqualTo(expected);
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.uttkarsh.esd_proj.session;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JdbcSessionStoreTests {
+
+	@Autowired
+	private JdbcIndexedSessionRepository sessionRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void sessionAttributesRoundTripThroughDatabase() {
+		List<String> attribute = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			attribute.add("authorization-request-" + i);
+		}
+
+		String sessionId = saveSession(sessionRepository, "payload", attribute);
+
+		Session loaded = sessionRepository.findById(sessionId);
+		assertThat(loaded).isNotNull();
+		assertThat((Object) loaded.getAttribute("payload")).isEqualTo(attribute);
+
+		byte[] stored = jdbcTemplate.queryForObject(
+				"SELECT ATTRIBUTE_BYTES FROM SPRING_SESSION_ATTRIBUTES WHERE ATTRIBUTE_NAME = 'payload'",
+				byte[].class);
+		assertThat(stored[0] & 0xFF).isNotEqualTo(0xAC);
+	}
+
+	@Test
+	void expiredSessionsAreRemovedByCleanup() {
+		String sessionId = saveSession(sessionRepository, "user", "someone@example.com");
+
+		jdbcTemplate.update("UPDATE SPRING_SESSION SET EXPIRY_TIME = 0 WHERE SESSION_ID = ?", sessionId);
+		sessionRepository.cleanUpExpiredSessions();
+
+		assertThat(sessionRepository.findById(sessionId)).isNull();
+	}
+
+	private static <S extends Session> String saveSession(SessionRepository<S> repository, String name, Object value) {
+		S session = repository.createSession();
+		session.setAttribute(name, value);
+		repository.save(session);
+		return session.getId();
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.uttkarsh.esd_proj.support;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal OIDC provider: a token endpoint returning the prepared ID token, a JWKS
+ * endpoint, and a userinfo endpoint that only counts calls.
+ */
+public class MockOidcProvider {
+
+	public static final String CLIENT_ID = "mock-client-id";
+
+	public final AtomicInteger jwksCalls = new AtomicInteger();
+	public final AtomicInteger userinfoCalls = new AtomicInteger();
+	public volatile String idToken;
+
+	private final RSAKey key;
+	private final HttpServer server;
+
+	public MockOidcProvider() {
+		try {
+			key = new RSAKeyGenerator(2048).keyID("mock-key").generate();
+			server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		} catch (JOSEException | IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+		server.createContext("/token", exchange -> respond(exchange, 200, """
+				{"access_token":"mock-access-token","token_type":"Bearer","expires_in":3600,\
+				"scope":"openid profile email","id_token":"%s"}""".formatted(idToken)));
+		server.createContext("/jwks", exchange -> {
+			jwksCalls.incrementAndGet();
+			respond(exchange, 200, new JWKSet(key.toPublicJWK()).toString());
+		});
+		server.createContext("/userinfo", exchange -> {
+			userinfoCalls.incrementAndGet();
+			respond(exchange, 500, "{}");
+		});
+		server.start();
+	}
+
+	/**
+	 * Spring Security client properties registering this provider under the given id
+	 */
+	public Map<String, String> clientProperties(String registrationId) {
+		String registration = "spring.security.oauth2.client.registration." + registrationId + ".";
+		String provider = "spring.security.oauth2.client.provider." + registrationId + ".";
+		Map<String, String> properties = new LinkedHashMap<>();
+		properties.put(registration + "client-id", CLIENT_ID);
+		properties.put(registration + "client-secret", "mock-secret");
+		properties.put(registration + "scope", "openid,profile,email");
+		properties.put(registration + "authorization-grant-type", "authorization_code");
+		properties.put(registration + "redirect-uri", "{baseUrl}/login/oauth2/code/{registrationId}");
+		properties.put(provider + "authorization-uri", url("/authorize"));
+		properties.put(provider + "token-uri", url("/token"));
+		properties.put(provider + "jwk-set-uri", url("/jwks"));
+		properties.put(provider + "user-info-uri", url("/userinfo"));
+		properties.put(provider + "user-name-attribute", "sub");
+		return properties;
+	}
+
+	public String url(String path) {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+	}
+
+	public String signIdToken(String sub, String email, String name, String picture, String nonce) throws JOSEException {
+		Instant now = Instant.now();
+		JWTClaimsSet claims = new JWTClaimsSet.Builder()
+				.issuer(url(""))
+				.subject(sub)
+				.audience(CLIENT_ID)
+				.issueTime(Date.from(now))
+				.expirationTime(Date.from(now.plusSeconds(300)))
+				.claim("nonce", nonce)
+				.claim("email", email)
+				.claim("email_verified", true)
+				.claim("name", name)
+				.claim("picture", picture)
+				.build();
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+		jwt.sign(new RSASSASigner(key));
+		return jwt.serialize();
+	}
+
+	public void stop() {
+		server.stop(0);
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) {
+		try (exchange) {
+			exchange.getRequestBody().readAllBytes();
+			byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(status, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.uttkarsh.esd_proj.support;
+
+import com.uttkarsh.esd_proj.dto.DepartmentRequest;
+import com.uttkarsh.esd_proj.dto.EmployeeRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Requests for the departments and employees tests create. Tests share one database, so
+ * names and emails are made unique with {@link #uniqueSuffix()}.
+ */
+public final class TestData {
+
+	public static final int DEPARTMENT_CAPACITY = 10;
+
+	private TestData() {
+	}
+
+	public static String uniqueSuffix() {
+		return String.valueOf(System.nanoTime());
+	}
+
+	/**
+	 * A department with room for {@link #DEPARTMENT_CAPACITY} employees
+	 */
+	public static DepartmentRequest department(String name) {
+		return new DepartmentRequest(name, DEPARTMENT_CAPACITY, null);
+	}
+
+	/**
+	 * An engineer hired on 2022-01-01 with a salary of 1000.00 and no manager
+	 */
+	public static EmployeeRequest employee(String email, Long departmentId) {
+		return new EmployeeRequest("First", "Last", email, "Engineer", departmentId,
+				new BigDecimal("1000.00"), LocalDate.of(2022, 1, 1));
+	}
+
+	/**
+	 * The same engineer reporting to a manager; a null manager is sent explicitly
+	 */
+	public static EmployeeRequest employee(String email, Long departmentId, Long managerId) {
+		EmployeeRequest request = employee(email, departmentId);
+		request.setManagerId(managerId);
+		return request;
+	}
+
+}
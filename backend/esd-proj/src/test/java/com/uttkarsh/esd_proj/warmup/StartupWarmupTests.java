@@ -0,0 +1,127 @@
+package com.uttkarsh.esd_proj.warmup;
+
+import com.uttkarsh.esd_proj.cache.ResponseBodyCache;
+import com.uttkarsh.esd_proj.cache.ResponseBodyCacheProperties;
+import com.uttkarsh.esd_proj.repository.DepartmentRepository;
+import com.uttkarsh.esd_proj.repository.EmployeeRepository;
+import com.uttkarsh.esd_proj.service.DepartmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static com.uttkarsh.esd_proj.support.TestData.department;
+import static com.uttkarsh.esd_proj.support.TestData.uniqueSuffix;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StartupWarmupTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ResponseBodyCache responseBodyCache;
+
+	@Autowired
+	private StartupWarmer startupWarmer;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private DepartmentRepository departmentRepository;
+
+	@TempDir
+	private Path tempDir;
+
+	@Test
+	void savedSnapshotIsRestoredIntoAnEmptyCache() throws Exception {
+		WarmupProperties properties = snapshotProperties();
+		departmentService.createDepartment(department("Snapshot " + uniqueSuffix()));
+		cacheDepartmentList();
+		Map<String, ResponseBodyCache.Entry> saved = responseBodyCache.entriesAt(responseBodyCache.currentVersion());
+
+		assertThat(snapshot(responseBodyCache, properties).save()).isEqualTo(saved.size()).isPositive();
+
+		ResponseBodyCache restarted = emptyCache();
+		assertThat(snapshot(restarted, properties).restore()).isEqualTo(saved.size());
+		saved.forEach((key, entry) -> {
+			ResponseBodyCache.Entry restored = restarted.get(key);
+			assertThat(restored).isNotNull();
+			assertThat(restored.contentType()).isEqualTo(entry.contentType());
+			assertThat(restored.body()).isEqualTo(entry.body());
+			assertThat(restored.gzipBody()).isEqualTo(entry.gzipBody());
+		});
+	}
+
+	@Test
+	void snapshotIsIgnoredOnceTheDataChanged() throws Exception {
+		WarmupProperties properties = snapshotProperties();
+		cacheDepartmentList();
+		assertThat(snapshot(responseBodyCache, properties).save()).isPositive();
+
+		departmentService.createDepartment(department("Stale " + uniqueSuffix()));
+
+		ResponseBodyCache restarted = emptyCache();
+		assertThat(snapshot(restarted, properties).restore()).isEqualTo(-1);
+		assertThat(restarted.entriesAt(restarted.currentVersion())).isEmpty();
+	}
+
+	@Test
+	void corruptOrMissingSnapshotFallsBackToTheDatabase() throws Exception {
+		WarmupProperties properties = snapshotProperties();
+		assertThat(snapshot(emptyCache(), properties).restore()).isEqualTo(-1);
+
+		Files.write(Path.of(properties.getSnapshotFile()), new byte[] {0x45, 0x53, 0x44});
+		assertThat(snapshot(emptyCache(), properties).restore()).isEqualTo(-1);
+	}
+
+	@Test
+	void warmUpRunsTheHotQueriesWhenThereIsNoSnapshot() {
+		assertThat(startupWarmer.warm()).isGreaterThanOrEqualTo(2);
+	}
+
+	@Test
+	void readinessIsReportedWithoutLogin() throws Exception {
+		mockMvc.perform(get("/actuator/health/readiness"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("UP"));
+	}
+
+	private void cacheDepartmentList() throws Exception {
+		mockMvc.perform(get("/api/departments").with(oauth2Login()).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
+	}
+
+	private WarmupProperties snapshotProperties() {
+		WarmupProperties properties = new WarmupProperties();
+		properties.setSnapshotEnabled(true);
+		properties.setSnapshotFile(tempDir.resolve("response-cache.bin").toString());
+		return properties;
+	}
+
+	private ResponseCacheSnapshot snapshot(ResponseBodyCache cache, WarmupProperties properties) {
+		return new ResponseCacheSnapshot(cache, employeeRepository, departmentRepository, properties);
+	}
+
+	private static ResponseBodyCache emptyCache() {
+		return new ResponseBodyCache(new ResponseBodyCacheProperties(), new SimpleMeterRegistry());
+	}
+}
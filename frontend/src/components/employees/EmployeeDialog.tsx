@@ -123,6 +123,7 @@ export function EmployeeDialog({ open, employee, onClose }: EmployeeDialogProps)
       };
 
       if (isEdit) {
+        // managerId is left out: the dialog does not edit the reporting line, so the server keeps it
         await employeeAPI.update(employee.id, payload);
         toast({
           title: 'Success',
@@ -12,6 +12,7 @@ import {
 import { Avatar, AvatarFallback, AvatarImage } from '@/components/ui/avatar';
 import { ModeToggle } from '@/components/mode-toggle';
 import { useAuth } from '@/contexts/AuthContext';
+import { API_BASE_URL } from '@/lib/api/client';
 
 export function Header() {
   const location = useLocation();
@@ -59,7 +60,7 @@ export function Header() {
             <DropdownMenuTrigger asChild>
               <Button variant="ghost" className="relative h-10 w-10 rounded-full">
                 <Avatar className="h-10 w-10">
-                  <AvatarImage src={user?.pictureUrl} alt={user?.name} />
+                  <AvatarImage src={user?.avatarUrl ? `${API_BASE_URL}${user.avatarUrl}` : undefined} alt={user?.name} />
                   <AvatarFallback>
                     {user?.name?.charAt(0).toUpperCase()}
                   </AvatarFallback>
@@ -1,9 +1,11 @@
 import { createContext, useContext, useEffect, useState, type ReactNode } from 'react';
 import { authAPI } from '@/lib/api/auth';
-import { type User } from '@/lib/types';
+import { dashboardAPI } from '@/lib/api/dashboard';
+import { type Dashboard, type User } from '@/lib/types';
 
 interface AuthContextType {
   user: User | null;
+  dashboard: Dashboard | null;
   isAuthenticated: boolean;
   isLoading: boolean;
   checkAuth: () => Promise<void>;
@@ -14,6 +16,7 @@ const AuthContext = createContext<AuthContextType | undefined>(undefined);
 
 export function AuthProvider({ children }: { children: ReactNode }) {
   const [user, setUser] = useState<User | null>(null);
+  const [dashboard, setDashboard] = useState<Dashboard | null>(null);
   const [isAuthenticated, setIsAuthenticated] = useState(false);
   const [isLoading, setIsLoading] = useState(true);
 
@@ -23,15 +26,19 @@ export function AuthProvider({ children }: { children: ReactNode }) {
       setIsAuthenticated(status.authenticated);
       
       if (status.authenticated) {
-        const userData = await authAPI.getCurrentUser();
-        setUser(userData);
+        // One round trip for the user and the data the first page needs
+        const dashboardData = await dashboardAPI.get();
+        setDashboard(dashboardData);
+        setUser(dashboardData.user ?? (await authAPI.getCurrentUser()));
       } else {
         setUser(null);
+        setDashboard(null);
       }
     } catch (error) {
       console.error('Auth check failed:', error);
       setIsAuthenticated(false);
       setUser(null);
+      setDashboard(null);
     } finally {
       setIsLoading(false);
     }
@@ -41,6 +48,7 @@ export function AuthProvider({ children }: { children: ReactNode }) {
     try {
       await authAPI.logout();
       setUser(null);
+      setDashboard(null);
       setIsAuthenticated(false);
       window.location.href = '/';
     } catch (error) {
@@ -56,6 +64,7 @@ export function AuthProvider({ children }: { children: ReactNode }) {
     <AuthContext.Provider
       value={{
         user,
+        dashboard,
         isAuthenticated,
         isLoading,
         checkAuth,
@@ -1,6 +1,6 @@
 // API Client Configuration and Base Functions
 
-const API_BASE_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080';
+export const API_BASE_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080';
 
 export class APIError extends Error {
   constructor(
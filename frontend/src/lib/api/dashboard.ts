@@ -0,0 +1,8 @@
+import { get } from './client';
+import { type Dashboard } from '../types';
+
+export const dashboardAPI = {
+  async get(): Promise<Dashboard> {
+    return get<Dashboard>('/api/dashboard');
+  },
+};
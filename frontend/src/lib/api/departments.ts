@@ -1,5 +1,5 @@
 import { get, post, put, del } from './client';
-import { type Department, type DepartmentRequest, type Employee } from '../types';
+import { type Department, type DepartmentRequest, type Employee, type MultiGetResponse } from '../types';
 
 export const departmentAPI = {
   async getAll(): Promise<Department[]> {
@@ -10,6 +10,10 @@ export const departmentAPI = {
     return get<Department>(`/api/departments/${id}`);
   },
 
+  async getByIds(ids: number[]): Promise<MultiGetResponse<Department>> {
+    return get<MultiGetResponse<Department>>(`/api/departments?ids=${ids.join(',')}`);
+  },
+
   async create(data: DepartmentRequest): Promise<Department> {
     return post<Department>('/api/departments', data);
   },
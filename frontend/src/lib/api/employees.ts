@@ -1,5 +1,5 @@
 import { get, post, put, del } from './client';
-import { type Employee, type EmployeeRequest } from '../types';
+import { type Employee, type EmployeeRequest, type MultiGetResponse } from '../types';
 
 export const employeeAPI = {
   async getAll(): Promise<Employee[]> {
@@ -10,6 +10,10 @@ export const employeeAPI = {
     return get<Employee>(`/api/employees/${id}`);
   },
 
+  async getByIds(ids: number[]): Promise<MultiGetResponse<Employee>> {
+    return get<MultiGetResponse<Employee>>(`/api/employees?ids=${ids.join(',')}`);
+  },
+
   async create(data: EmployeeRequest): Promise<Employee> {
     return post<Employee>('/api/employees', data);
   },
@@ -24,6 +24,7 @@ export interface Employee {
   position: string;
   departmentId: number;
   departmentName: string;
+  managerId: number | null;
   salary: number | null;
   hireDate: string; // YYYY-MM-DD
   createdAt: string;
@@ -38,6 +39,12 @@ export interface EmployeeRequest {
   departmentId: number;
   salary?: number;
   hireDate: string; // YYYY-MM-DD
+  managerId?: number | null; // left out, an update keeps the current manager; null clears it
+}
+
+export interface MultiGetResponse<T> {
+  items: T[];
+  missingIds: number[];
 }
 
 export interface User {
@@ -45,6 +52,7 @@ export interface User {
   email: string;
   name: string;
   pictureUrl: string;
+  avatarUrl: string | null; // locally cached copy of pictureUrl
 }
 
 export interface AuthStatus {
@@ -53,7 +61,27 @@ export interface AuthStatus {
   name?: string;
 }
 
+export interface DashboardStats {
+  departmentCount: number;
+  employeeCount: number;
+  totalCapacity: number;
+  openPositions: number;
+}
+
+// Sections that could not be loaded in time are null and listed in `unavailable`
+export interface Dashboard {
+  user: User | null;
+  departments: Department[] | null;
+  stats: DashboardStats | null;
+  partial: boolean;
+  unavailable: string[];
+}
+
+// RFC 7807 problem details; `error` and `message` mirror `title` and `detail`
 export interface ErrorResponse {
+  type: string;
+  title: string;
+  detail?: string;
   timestamp: string;
   status: number;
   error: string;
@@ -1,14 +1,18 @@
 import { useEffect, useState } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
-import { ArrowLeft, Users, Mail, Briefcase, DollarSign, Calendar } from 'lucide-react';
+import { ArrowLeft, Users, Mail, Briefcase, DollarSign, Calendar, UserCheck } from 'lucide-react';
 import { Button } from '@/components/ui/button';
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from '@/components/ui/card';
 import { Badge } from '@/components/ui/badge';
 import { Skeleton } from '@/components/ui/skeleton';
 import { departmentAPI } from '@/lib/api/departments';
+import { employeeAPI } from '@/lib/api/employees';
 import { type Department, type Employee } from '@/lib/types';
 import { useToast } from '@/hooks/use-toast';
 
+// Largest ID list the multi-get endpoints accept
+const MULTI_GET_MAX_IDS = 1000;
+
 export function DepartmentDetailPage() {
   const { id } = useParams<{ id: string }>();
   const navigate = useNavigate();
@@ -16,6 +20,7 @@ export function DepartmentDetailPage() {
   
   const [department, setDepartment] = useState<Department | null>(null);
   const [employees, setEmployees] = useState<Employee[]>([]);
+  const [managers, setManagers] = useState<Map<number, Employee>>(new Map());
   const [loading, setLoading] = useState(true);
 
   useEffect(() => {
@@ -30,6 +35,7 @@ export function DepartmentDetailPage() {
         ]);
         setDepartment(deptData);
         setEmployees(empData);
+        setManagers(await loadManagers(empData));
       } catch (error: any) {
         toast({
           title: 'Error',
@@ -45,6 +51,28 @@ export function DepartmentDetailPage() {
     loadData();
   }, [id, navigate, toast]);
 
+  // Managers outside the department are fetched in one multi-get; names are optional, so a
+  // failed lookup only leaves them out
+  const loadManagers = async (members: Employee[]) => {
+    const known = new Map(members.map((e) => [e.id, e]));
+    const missing = [
+      ...new Set(
+        members
+          .map((e) => e.managerId)
+          .filter((managerId): managerId is number => managerId !== null && !known.has(managerId))
+      ),
+    ];
+    try {
+      for (let from = 0; from < missing.length; from += MULTI_GET_MAX_IDS) {
+        const { items } = await employeeAPI.getByIds(missing.slice(from, from + MULTI_GET_MAX_IDS));
+        items.forEach((manager) => known.set(manager.id, manager));
+      }
+    } catch {
+      // Shown without manager names
+    }
+    return known;
+  };
+
   const formatSalary = (salary: number | null) => {
     if (!salary) return '—';
     return new Intl.NumberFormat('en-US', {
@@ -156,6 +184,16 @@ export function DepartmentDetailPage() {
                             <Briefcase className="h-4 w-4 text-muted-foreground" />
                             <span className="font-medium">{employee.position}</span>
                           </div>
+
+                          {employee.managerId !== null && managers.has(employee.managerId) && (
+                            <div className="flex items-center gap-2 text-sm text-muted-foreground">
+                              <UserCheck className="h-4 w-4" />
+                              <span>
+                                Reports to {managers.get(employee.managerId)!.firstName}{' '}
+                                {managers.get(employee.managerId)!.lastName}
+                              </span>
+                            </div>
+                          )}
                         </div>
                       </div>
 
@@ -5,23 +5,29 @@ import { Card, CardContent, CardDescription, CardHeader, CardTitle } from '@/com
 import { departmentAPI } from '@/lib/api/departments';
 import { type Department } from '@/lib/types';
 import { useToast } from '@/hooks/use-toast';
+import { useAuth } from '@/contexts/AuthContext';
 import { DepartmentTable } from '@/components/departments/DepartmentTable';
 import { DepartmentDialog } from '@/components/departments/DepartmentDialog';
 import { DeleteDialog } from '@/components/departments/DeleteDialog';
 import { Skeleton } from '@/components/ui/skeleton';
 
 export function DepartmentsPage() {
-  const [departments, setDepartments] = useState<Department[]>([]);
-  const [loading, setLoading] = useState(true);
+  const { dashboard } = useAuth();
+  // First paint uses the departments loaded with the dashboard, when available, while the
+  // current list is fetched in the background: the dashboard is only loaded at sign-in
+  const [departments, setDepartments] = useState<Department[]>(dashboard?.departments ?? []);
+  const [loading, setLoading] = useState(!dashboard?.departments);
   const [dialogOpen, setDialogOpen] = useState(false);
   const [deleteDialogOpen, setDeleteDialogOpen] = useState(false);
   const [editingDepartment, setEditingDepartment] = useState<Department | null>(null);
   const [deletingDepartment, setDeletingDepartment] = useState<Department | null>(null);
   const { toast } = useToast();
 
-  const loadDepartments = async () => {
+  const loadDepartments = async (background = false) => {
     try {
-      setLoading(true);
+      if (!background) {
+        setLoading(true);
+      }
       const data = await departmentAPI.getAll();
       setDepartments(data);
     } catch (error: any) {
@@ -36,7 +42,7 @@ export function DepartmentsPage() {
   };
 
   useEffect(() => {
-    loadDepartments();
+    loadDepartments(!!dashboard?.departments);
   }, []);
 
   const handleCreate = () => {